@@ -2,9 +2,12 @@ package com.kett.TicketSystem.authentication.application;
 
 import com.kett.TicketSystem.authentication.application.dto.AuthenticationPostDto;
 import com.kett.TicketSystem.authentication.domain.AuthenticationDomainService;
+import com.kett.TicketSystem.authentication.domain.AuthenticationTokens;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class AuthenticationApplicationService {
     private final AuthenticationDomainService authenticationDomainService;
@@ -15,8 +18,16 @@ public class AuthenticationApplicationService {
     }
 
     // authentication
-    public String authenticateUser(AuthenticationPostDto authenticationPostDto) {
+    public AuthenticationTokens authenticateUser(AuthenticationPostDto authenticationPostDto, String clientAddress) {
         return authenticationDomainService
-                .authenticateUser(authenticationPostDto.getEmail(), authenticationPostDto.getPassword());
+                .authenticateUser(authenticationPostDto.getEmail(), authenticationPostDto.getPassword(), clientAddress);
+    }
+
+    public Optional<AuthenticationTokens> refreshAuthentication(String refreshToken) {
+        return authenticationDomainService.refreshAuthentication(refreshToken);
+    }
+
+    public void revokeAuthentication(String refreshToken) {
+        authenticationDomainService.revokeAuthentication(refreshToken);
     }
 }
@@ -1,17 +1,28 @@
 package com.kett.TicketSystem.authentication.application;
 
 import com.kett.TicketSystem.authentication.application.dto.AuthenticationPostDto;
+import com.kett.TicketSystem.authentication.domain.AuthenticationDomainService;
+import com.kett.TicketSystem.authentication.domain.AuthenticationTokens;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Optional;
+
 
 @RestController
 @Transactional
 @CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
 @RequestMapping("/authentications")
 public class AuthenticationController {
+    public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+
     private final AuthenticationApplicationService authenticationApplicationService;
 
     @Autowired
@@ -19,9 +30,56 @@ public class AuthenticationController {
         this.authenticationApplicationService = authenticationApplicationService;
     }
 
+    // the body stays the bare access token, the refresh token is only handed out as an http only cookie
     @PostMapping
-    public ResponseEntity<?> authenticateUser(@RequestBody AuthenticationPostDto authenticationPostDto) {
-        String jwtValue = authenticationApplicationService.authenticateUser(authenticationPostDto);
-        return ResponseEntity.ok(jwtValue);
+    public ResponseEntity<?> authenticateUser(@RequestBody AuthenticationPostDto authenticationPostDto, HttpServletRequest request) {
+        AuthenticationTokens authenticationTokens =
+                authenticationApplicationService.authenticateUser(authenticationPostDto, request.getRemoteAddr());
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(authenticationTokens.getRefreshToken(), AuthenticationDomainService.REFRESH_TOKEN_LIFETIME, request).toString())
+                .body(authenticationTokens.getAccessToken());
+    }
+
+    // committed even when refused, so a reused refresh token still revokes its family
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshAuthentication(@CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken, HttpServletRequest request) {
+        if (refreshToken == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        Optional<AuthenticationTokens> authenticationTokens = authenticationApplicationService.refreshAuthentication(refreshToken);
+        if (authenticationTokens.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO, request).toString())
+                    .build();
+        }
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(authenticationTokens.get().getRefreshToken(), AuthenticationDomainService.REFRESH_TOKEN_LIFETIME, request).toString())
+                .body(authenticationTokens.get().getAccessToken());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> revokeAuthentication(@CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken, HttpServletRequest request) {
+        if (refreshToken != null) {
+            authenticationApplicationService.revokeAuthentication(refreshToken);
+        }
+        return ResponseEntity
+                .status(HttpStatus.NO_CONTENT)
+                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie("", Duration.ZERO, request).toString())
+                .build();
+    }
+
+    // only sent back to the authentication endpoints, never to the rest of the api
+    private static ResponseCookie refreshTokenCookie(String value, Duration maxAge, HttpServletRequest request) {
+        return ResponseCookie
+                .from(REFRESH_TOKEN_COOKIE, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Strict")
+                .path("/authentications")
+                .maxAge(maxAge)
+                .build();
     }
 }
@@ -0,0 +1,144 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// resolved principals by email, so an authenticated request does not load the user and its memberships again.
+// entries are dropped when the user or one of its memberships changes, the ttl only bounds what an unnoticed change could cost
+@Component
+public class AuthenticatedUserCache {
+    public static final int MAX_CACHED_USERS = 4096;
+    public static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    // access ordered, so the least recently used user is evicted first
+    private final Map<String, CachedUser> cachedUserByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+            if (size() > MAX_CACHED_USERS) {
+                emailByUserId.remove(eldest.getValue().authenticatedUser().getUserId(), eldest.getKey());
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<UUID, String> emailByUserId = new HashMap<>();
+
+    // bumped on every invalidation, loads that overlap an invalidation are not cached
+    private long modificationCount = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public AuthenticatedUser getAuthenticatedUser(String email, Supplier<AuthenticatedUser> loader) {
+        long expectedModificationCount;
+        synchronized (this) {
+            CachedUser cachedUser = cachedUserByEmail.get(email);
+            if (cachedUser != null) {
+                if (cachedUser.expirationNanos() - System.nanoTime() > 0) {
+                    hitCount.incrementAndGet();
+                    return cachedUser.authenticatedUser();
+                }
+                remove(email);
+                expirationCount.incrementAndGet();
+            }
+            expectedModificationCount = modificationCount;
+        }
+
+        missCount.incrementAndGet();
+        AuthenticatedUser loadedUser = loader.get();
+        // the principal only authorizes requests, the password hash does not need to stay in memory
+        loadedUser.eraseCredentials();
+        synchronized (this) {
+            if (modificationCount == expectedModificationCount) {
+                remove(email);
+                cachedUserByEmail.put(email, new CachedUser(loadedUser, System.nanoTime() + TIME_TO_LIVE.toNanos()));
+                emailByUserId.put(loadedUser.getUserId(), email);
+            }
+        }
+        return loadedUser;
+    }
+
+    // drops the user right away and once more after the surrounding transaction committed,
+    // so a load that read the old state while the change was in flight does not stay cached
+    public void invalidateUser(UUID userId) {
+        invalidationCount.incrementAndGet();
+        Runnable invalidation = () -> {
+            synchronized (this) {
+                modificationCount++;
+                String email = emailByUserId.get(userId);
+                if (email != null) {
+                    remove(email);
+                }
+            }
+        };
+        invalidation.run();
+        afterCommit(invalidation);
+    }
+
+    public Long getHitCount() {
+        return hitCount.get();
+    }
+
+    public Long getMissCount() {
+        return missCount.get();
+    }
+
+    public Double getHitRate() {
+        long hits = hitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public Long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public Long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    public Long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    public synchronized Integer getSize() {
+        return cachedUserByEmail.size();
+    }
+
+    // callers hold the monitor
+    private void remove(String email) {
+        CachedUser removedUser = cachedUserByEmail.remove(email);
+        if (removedUser != null) {
+            emailByUserId.remove(removedUser.authenticatedUser().getUserId(), email);
+        }
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    private record CachedUser(AuthenticatedUser authenticatedUser, long expirationNanos) {
+    }
+}
@@ -1,41 +1,174 @@
 package com.kett.TicketSystem.authentication.domain;
 
 import com.kett.TicketSystem.authentication.domain.events.UserAuthenticatedEvent;
+import com.kett.TicketSystem.authentication.domain.exceptions.TooManyLoginAttemptsException;
 import com.kett.TicketSystem.authentication.domain.jwt.JwtTokenProvider;
+import com.kett.TicketSystem.authentication.repository.RefreshTokenRepository;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
+import com.kett.TicketSystem.user.domain.UserDomainService;
+import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
+import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
 @Service
 @Transactional
 public class AuthenticationDomainService {
+    public static final Duration REFRESH_TOKEN_LIFETIME = Duration.ofDays(14);
+    public static final int REFRESH_TOKEN_BYTES = 32;
+    public static final long REFRESH_TOKEN_PURGE_INTERVAL_MILLIS = 60 * 60 * 1000;
+
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final ApplicationEventPublisher eventPublisher;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final AuthorityRevocationTable authorityRevocationTable;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserDomainService userDomainService;
+    private final SecureRandom secureRandom = new SecureRandom();
 
     @Autowired
     public AuthenticationDomainService(
             AuthenticationManager authenticationManager,
             JwtTokenProvider jwtTokenProvider,
-            ApplicationEventPublisher eventPublisher
+            ApplicationEventPublisher eventPublisher,
+            AuthenticatedUserCache authenticatedUserCache,
+            AuthorityRevocationTable authorityRevocationTable,
+            LoginThrottle loginThrottle,
+            RefreshTokenRepository refreshTokenRepository,
+            UserDomainService userDomainService
     ) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
         this.eventPublisher = eventPublisher;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.authorityRevocationTable = authorityRevocationTable;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userDomainService = userDomainService;
     }
 
 
-    public String authenticateUser(String email, String password) {
+    public AuthenticationTokens authenticateUser(String email, String password, String clientAddress) throws TooManyLoginAttemptsException {
+        // before anything is loaded or hashed
+        loginThrottle.checkLoginAttempt(email, clientAddress);
+
+        // taken before the roles are loaded, a change committed in between revokes the token
+        long authorityVersion = authorityRevocationTable.nextAuthorityVersion();
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
-        String jwtToken = jwtTokenProvider.generateToken(authentication);
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) authentication.getPrincipal();
+        String accessToken = jwtTokenProvider.generateToken(authenticatedUser, authorityVersion);
+        String refreshToken = this.issueRefreshToken(authenticatedUser.getUserId(), UUID.randomUUID());
         eventPublisher.publishEvent(new UserAuthenticatedEvent(EmailAddress.fromString(email)));
-        return jwtToken;
+        return new AuthenticationTokens(accessToken, refreshToken);
+    }
+
+    // empty if the refresh token is unknown, expired or was already rotated.
+    // a rotated token presented again was copied, its whole family is revoked so neither copy stays usable
+    public Optional<AuthenticationTokens> refreshAuthentication(String refreshToken) {
+        long authorityVersion = authorityRevocationTable.nextAuthorityVersion();
+        Optional<RefreshToken> storedRefreshToken = refreshTokenRepository.findForUpdateByTokenDigest(TokenDigests.sha256(refreshToken));
+        if (storedRefreshToken.isEmpty() || storedRefreshToken.get().isExpired()) {
+            return Optional.empty();
+        }
+        if (storedRefreshToken.get().isRotated()) {
+            refreshTokenRepository.deleteRefreshTokensByFamilyId(storedRefreshToken.get().getFamilyId());
+            return Optional.empty();
+        }
+
+        storedRefreshToken.get().rotate();
+        refreshTokenRepository.save(storedRefreshToken.get());
+        UUID userId = storedRefreshToken.get().getUserId();
+        AuthenticatedUser authenticatedUser =
+                userDomainService.loadUserByUsername(userDomainService.getUserById(userId).getEmail().toString());
+        String accessToken = jwtTokenProvider.generateToken(authenticatedUser, authorityVersion);
+        String rotatedRefreshToken = this.issueRefreshToken(userId, storedRefreshToken.get().getFamilyId());
+        return Optional.of(new AuthenticationTokens(accessToken, rotatedRefreshToken));
+    }
+
+    // logs out the device the refresh token belongs to, its current access token expires on its own
+    public void revokeAuthentication(String refreshToken) {
+        refreshTokenRepository
+                .findForUpdateByTokenDigest(TokenDigests.sha256(refreshToken))
+                .ifPresent(storedRefreshToken ->
+                        refreshTokenRepository.deleteRefreshTokensByFamilyId(storedRefreshToken.getFamilyId())
+                );
+    }
+
+    private String issueRefreshToken(UUID userId, UUID familyId) {
+        byte[] tokenBytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        refreshTokenRepository.save(
+                new RefreshToken(
+                        TokenDigests.sha256(refreshToken),
+                        userId,
+                        familyId,
+                        LocalDateTime.now().plus(REFRESH_TOKEN_LIFETIME)
+                )
+        );
+        return refreshToken;
+    }
+
+    // rotated tokens are only kept for reuse detection until they expire
+    @Scheduled(fixedRate = REFRESH_TOKEN_PURGE_INTERVAL_MILLIS)
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpiredRefreshTokens(LocalDateTime.now());
+    }
+
+
+    // event listeners
+    // synchronous, so a changed user is neither served from the cache nor from its token by the next request
+
+    @EventListener
+    public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
+        this.invalidateAuthorities(userPatchedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        this.invalidateAuthorities(userDeletedEvent.getUserId());
+        refreshTokenRepository.deleteRefreshTokensByUserId(userDeletedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleMembershipAcceptedEvent(MembershipAcceptedEvent membershipAcceptedEvent) {
+        this.invalidateAuthorities(membershipAcceptedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleMembershipRoleUpdatedEvent(MembershipRoleUpdatedEvent membershipRoleUpdatedEvent) {
+        this.invalidateAuthorities(membershipRoleUpdatedEvent.getUserId());
+    }
+
+    @EventListener
+    public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
+        this.invalidateAuthorities(membershipDeletedEvent.getUserId());
+    }
+
+    private void invalidateAuthorities(UUID userId) {
+        authenticatedUserCache.invalidateUser(userId);
+        authorityRevocationTable.revokeAuthorities(userId);
     }
 }
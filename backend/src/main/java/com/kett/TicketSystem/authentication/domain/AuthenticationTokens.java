@@ -0,0 +1,12 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the short-lived access token goes to the client, the refresh token into an http-only cookie
+@Getter
+@AllArgsConstructor
+public class AuthenticationTokens {
+    private final String accessToken;
+    private final String refreshToken;
+}
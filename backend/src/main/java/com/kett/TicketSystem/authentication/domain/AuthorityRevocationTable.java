@@ -0,0 +1,72 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.authentication.domain.jwt.JwtTokenProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// decides whether the roles embedded in a token are still current.
+// a token carries the authority version that was current before its roles were loaded,
+// every change to a user's authorities stamps the user with a newer version and revokes the tokens issued before.
+// in memory and per instance: tokens issued before this instance started are treated as revoked, since the changes made
+// in between are unknown. with more than one instance changes are only seen right away by the instance that made them,
+// the others pick them up once the short-lived access tokens are refreshed
+@Component
+public class AuthorityRevocationTable {
+    public static final long PURGE_INTERVAL_MILLIS = 60 * 60 * 1000;
+
+    // strictly increasing, close to the epoch millis so stamps can be aged out by the token lifetime
+    private final AtomicLong authorityVersionClock = new AtomicLong();
+    private final ConcurrentHashMap<UUID, Long> revokedVersionByUserId = new ConcurrentHashMap<>();
+    private final long startVersion = nextAuthorityVersion();
+
+    private final AtomicLong revocationCount = new AtomicLong();
+
+    public long nextAuthorityVersion() {
+        return authorityVersionClock.updateAndGet(last -> Math.max(System.currentTimeMillis(), last + 1));
+    }
+
+    public boolean isRevoked(UUID userId, long authorityVersion) {
+        if (authorityVersion < startVersion) {
+            return true;
+        }
+        Long revokedVersion = revokedVersionByUserId.get(userId);
+        return revokedVersion != null && revokedVersion > authorityVersion;
+    }
+
+    // stamps the user right away and once more after the surrounding transaction committed,
+    // so a token whose roles were loaded while the change was in flight is revoked as well
+    public void revokeAuthorities(UUID userId) {
+        revocationCount.incrementAndGet();
+        Runnable revocation = () -> revokedVersionByUserId.put(userId, nextAuthorityVersion());
+        revocation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocation.run();
+                }
+            });
+        }
+    }
+
+    // every token issued before an expired stamp has expired itself
+    @Scheduled(fixedRate = PURGE_INTERVAL_MILLIS)
+    public void purgeExpiredRevocations() {
+        long oldestLiveVersion = System.currentTimeMillis() - JwtTokenProvider.TOKEN_LIFETIME.toMillis();
+        revokedVersionByUserId.values().removeIf(revokedVersion -> revokedVersion < oldestLiveVersion);
+    }
+
+    public Long getRevocationCount() {
+        return revocationCount.get();
+    }
+
+    public Integer getSize() {
+        return revokedVersionByUserId.size();
+    }
+}
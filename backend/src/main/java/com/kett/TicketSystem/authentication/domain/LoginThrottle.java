@@ -0,0 +1,93 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.authentication.domain.exceptions.TooManyLoginAttemptsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// token buckets for login attempts, per account and per client address, checked before any password is hashed.
+// the buckets are striped: keys are hashed onto a fixed number of slots, so spraying accounts or addresses cannot grow
+// the memory, at worst keys sharing a slot share their budget
+@Component
+public class LoginThrottle {
+    public static final int STRIPES = 4096;
+
+    private final TokenBuckets accountBuckets;
+    private final TokenBuckets addressBuckets;
+
+    private final AtomicLong rejectedAccountAttemptCount = new AtomicLong();
+    private final AtomicLong rejectedAddressAttemptCount = new AtomicLong();
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${authentication.login-throttle.attempts-per-account-per-minute:5}") int attemptsPerAccountPerMinute,
+            @Value("${authentication.login-throttle.attempts-per-address-per-minute:30}") int attemptsPerAddressPerMinute
+    ) {
+        this.accountBuckets = new TokenBuckets(attemptsPerAccountPerMinute);
+        this.addressBuckets = new TokenBuckets(attemptsPerAddressPerMinute);
+    }
+
+    public void checkLoginAttempt(String email, String clientAddress) throws TooManyLoginAttemptsException {
+        if (!addressBuckets.tryAcquire(clientAddress)) {
+            rejectedAddressAttemptCount.incrementAndGet();
+            throw new TooManyLoginAttemptsException("too many login attempts from this address, try again later");
+        }
+        if (!accountBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            rejectedAccountAttemptCount.incrementAndGet();
+            throw new TooManyLoginAttemptsException("too many login attempts for this account, try again later");
+        }
+    }
+
+    public Long getRejectedAccountAttemptCount() {
+        return rejectedAccountAttemptCount.get();
+    }
+
+    public Long getRejectedAddressAttemptCount() {
+        return rejectedAddressAttemptCount.get();
+    }
+
+    // each slot is a single long, the time at which its bucket is full again (generic cell rate algorithm).
+    // an attempt moves that time one refill interval ahead and is allowed while it stays within the capacity,
+    // the update is a compare and set, so no attempt ever waits for a lock
+    private static class TokenBuckets {
+        private final AtomicLongArray fullAtNanos = new AtomicLongArray(STRIPES);
+        private final long refillIntervalNanos;
+        private final long capacityNanos;
+
+        private TokenBuckets(int attemptsPerMinute) {
+            this.refillIntervalNanos = TimeUnit.MINUTES.toNanos(1) / attemptsPerMinute;
+            this.capacityNanos = refillIntervalNanos * attemptsPerMinute;
+
+            // nanoTime has no fixed origin, every bucket starts out full at this instant
+            long now = System.nanoTime();
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                fullAtNanos.set(stripe, now);
+            }
+        }
+
+        private boolean tryAcquire(String key) {
+            int stripe = spread(key.hashCode()) & (STRIPES - 1);
+            while (true) {
+                long now = System.nanoTime();
+                long fullAt = fullAtNanos.get(stripe);
+                long nextFullAt = (fullAt - now < 0 ? now : fullAt) + refillIntervalNanos;
+                if (nextFullAt - now > capacityNanos) {
+                    return false;
+                }
+                if (fullAtNanos.compareAndSet(stripe, fullAt, nextFullAt)) {
+                    return true;
+                }
+            }
+        }
+
+        // mixes the high bits into the low ones the mask keeps, like HashMap does
+        private static int spread(int hashCode) {
+            return hashCode ^ (hashCode >>> 16);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// backs hasPermission(...) in @PreAuthorize:
+//   hasPermission(projectId, 'MEMBER') -> accepted member or admin of the project
+//   hasPermission(projectId, 'ADMIN')  -> accepted admin of the project
+//   hasPermission(userId, 'USER')      -> the authenticated user itself
+// the roles are resolved once per authentication, a check neither builds an authority string nor scans the authorities
+@Component
+public class ProjectPermissionEvaluator implements PermissionEvaluator {
+    public static final String MEMBER_PERMISSION = "MEMBER";
+    public static final String ADMIN_PERMISSION = "ADMIN";
+    public static final String USER_PERMISSION = "USER";
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser)
+                || !(targetDomainObject instanceof UUID targetId)) {
+            return false;
+        }
+
+        if (USER_PERMISSION.equals(permission)) {
+            return authenticatedUser.getUserId().equals(targetId);
+        }
+        Role role = authenticatedUser.getRoleInProject(targetId);
+        if (role == null) {
+            return false;
+        }
+        if (ADMIN_PERMISSION.equals(permission)) {
+            return role == Role.ADMIN;
+        }
+        return MEMBER_PERMISSION.equals(permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return hasPermission(authentication, targetId, permission);
+    }
+}
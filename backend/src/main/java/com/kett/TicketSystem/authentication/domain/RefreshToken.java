@@ -0,0 +1,58 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// only the sha-256 digest of a refresh token is stored, it doubles as the primary key.
+// every login starts a family, a refresh replaces the token by a new one of the same family.
+// rotated tokens are kept until they expire, presenting one again revokes its whole family
+@Entity
+@Table(indexes = {
+        @Index(columnList = "userId"),
+        @Index(columnList = "familyId")
+})
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RefreshToken {
+    @Id
+    @Getter
+    @Column(length = 64)
+    private String tokenDigest;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID userId;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID familyId;
+
+    @Getter
+    @Column(nullable = false)
+    private LocalDateTime expirationTime;
+
+    @Column(nullable = false)
+    private Boolean rotated = false;
+
+    public Boolean isRotated() {
+        return rotated;
+    }
+
+    public Boolean isExpired() {
+        return !expirationTime.isAfter(LocalDateTime.now());
+    }
+
+    public void rotate() {
+        this.rotated = true;
+    }
+
+    public RefreshToken(String tokenDigest, UUID userId, UUID familyId, LocalDateTime expirationTime) {
+        this.tokenDigest = tokenDigest;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.expirationTime = expirationTime;
+    }
+}
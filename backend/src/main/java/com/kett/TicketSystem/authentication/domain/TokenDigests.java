@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// bearer tokens are looked up by their sha-256 digest, so they are neither stored nor kept in memory as they are
+public final class TokenDigests {
+    private TokenDigests() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform has to support sha-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
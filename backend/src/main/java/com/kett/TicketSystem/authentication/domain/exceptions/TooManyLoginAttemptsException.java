@@ -0,0 +1,7 @@
+package com.kett.TicketSystem.authentication.domain.exceptions;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message);
+    }
+}
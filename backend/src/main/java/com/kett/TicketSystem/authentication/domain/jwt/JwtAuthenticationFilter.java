@@ -1,10 +1,14 @@
 package com.kett.TicketSystem.authentication.domain.jwt;
 
+import com.kett.TicketSystem.authentication.domain.AuthenticatedUserCache;
+import com.kett.TicketSystem.authentication.domain.AuthorityRevocationTable;
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
 import com.kett.TicketSystem.user.domain.UserDomainService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,6 +18,8 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,6 +29,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDomainService userDomainService;
 
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Autowired
+    private AuthorityRevocationTable authorityRevocationTable;
+
+    @Value("${authentication.principal-source:database}")
+    private PrincipalSource principalSource;
+
+    private final AtomicLong tokenPrincipalCount = new AtomicLong();
+    private final AtomicLong databasePrincipalCount = new AtomicLong();
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -31,11 +49,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String jwt = getJwtFromRequest(request);
 
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            String email = jwtTokenProvider.getEmailFromToken(jwt);
-            UserDetails userDetails = userDomainService.loadUserByUsername(email);
+        Optional<Claims> claims = StringUtils.hasText(jwt) ? jwtTokenProvider.verifyToken(jwt) : Optional.empty();
+        if (claims.isPresent()) {
+            AuthenticatedUser authenticatedUser = resolveAuthenticatedUser(claims.get());
             UsernamePasswordAuthenticationToken authenticationToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities());
 
             authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -43,6 +61,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser resolveAuthenticatedUser(Claims claims) {
+        if (principalSource == PrincipalSource.TOKEN) {
+            Optional<AuthenticatedUser> tokenUser = jwtTokenProvider.getAuthenticatedUserFromClaims(claims);
+            if (tokenUser.isPresent() && !authorityRevocationTable.isRevoked(
+                    tokenUser.get().getUserId(),
+                    jwtTokenProvider.getAuthorityVersionFromClaims(claims))
+            ) {
+                tokenPrincipalCount.incrementAndGet();
+                return tokenUser.get();
+            }
+        }
+
+        databasePrincipalCount.incrementAndGet();
+        String email = claims.getSubject();
+        return authenticatedUserCache.getAuthenticatedUser(email, () -> userDomainService.loadUserByUsername(email));
+    }
+
+    public Long getTokenPrincipalCount() {
+        return tokenPrincipalCount.get();
+    }
+
+    public Long getDatabasePrincipalCount() {
+        return databasePrincipalCount.get();
+    }
+
     private String getJwtFromRequest(HttpServletRequest httpServletRequest) {
         String bearerToken = httpServletRequest.getHeader("Authorization");
 
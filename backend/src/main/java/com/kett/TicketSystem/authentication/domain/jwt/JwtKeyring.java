@@ -0,0 +1,192 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// the hs256 keys tokens are signed with, each one named by the kid in the token header.
+// with authentication.jwt.keyring-file set, every instance reads and rotates the same file, so a token signed
+// by one instance verifies on all of them and survives restarts. without it the keys only live in this instance.
+// a new key is published ACTIVATION_DELAY before it signs, so every instance knows it before the first token arrives,
+// and the key it replaces keeps verifying until the last token it signed has expired
+@Component
+public class JwtKeyring {
+    public static final Duration ROTATION_INTERVAL = Duration.ofDays(7);
+    public static final Duration ACTIVATION_DELAY = Duration.ofMinutes(5);
+    public static final long RELOAD_INTERVAL_MILLIS = 60 * 1000;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY =
+            EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+
+    private final Logger logger = LoggerFactory.getLogger(JwtKeyring.class);
+
+    private final Path keyringFile;
+
+    // replaced as a whole, readers never see a ring that is half rotated
+    private volatile Keyring keyring = Keyring.of(List.of());
+
+    @Autowired
+    public JwtKeyring(@Value("${authentication.jwt.keyring-file:}") String keyringFile) {
+        this.keyringFile = keyringFile.isBlank() ? null : Path.of(keyringFile);
+        this.rotate();
+    }
+
+    // the newest key that is already active
+    public JwtKey getSigningKey() {
+        Instant now = Instant.now();
+        return keyring
+                .keys()
+                .stream()
+                .filter(jwtKey -> !jwtKey.activeFrom().isAfter(now))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("the jwt keyring holds no active key"));
+    }
+
+    // null if the key is unknown or retired
+    public SecretKey getVerificationKey(String keyId) {
+        JwtKey jwtKey = keyring.keyById().get(keyId);
+        return jwtKey == null ? null : jwtKey.secretKey();
+    }
+
+    // also picks up keys that another instance added to the shared file
+    @Scheduled(fixedRate = RELOAD_INTERVAL_MILLIS, initialDelay = RELOAD_INTERVAL_MILLIS)
+    public void reloadAndRotate() {
+        try {
+            this.rotate();
+        } catch (UncheckedIOException e) {
+            logger.error("could not rotate the jwt keyring, keeping the keys loaded before", e);
+        }
+    }
+
+    private synchronized void rotate() {
+        if (keyringFile == null) {
+            keyring = Keyring.of(rotated(keyring.keys(), Instant.now()));
+            return;
+        }
+
+        // the lock file serializes rotations of instances sharing the keyring
+        Path lockFile = keyringFile.resolveSibling(keyringFile.getFileName() + ".lock");
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            List<JwtKey> storedKeys = Files.exists(keyringFile) ? read(keyringFile) : List.of();
+            List<JwtKey> rotatedKeys = rotated(storedKeys, Instant.now());
+            if (!keyIdsOf(rotatedKeys).equals(keyIdsOf(storedKeys))) {
+                write(keyringFile, rotatedKeys);
+            }
+            keyring = Keyring.of(rotatedKeys);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not load the jwt keyring from " + keyringFile, e);
+        }
+    }
+
+    // adds a key once the newest one is due and drops keys that cannot have signed a live token
+    private static List<JwtKey> rotated(List<JwtKey> keys, Instant now) {
+        List<JwtKey> newestFirst = new ArrayList<>(keys);
+        newestFirst.sort(Comparator.comparing(JwtKey::activeFrom).reversed());
+
+        if (newestFirst.isEmpty()) {
+            newestFirst.add(JwtKey.generate(now));
+        } else if (!newestFirst.get(0).activeFrom().plus(ROTATION_INTERVAL).isAfter(now)) {
+            newestFirst.add(0, JwtKey.generate(now.plus(ACTIVATION_DELAY)));
+        }
+
+        // a key signs until its successor is active, its last token expires a token lifetime later
+        List<JwtKey> liveKeys = new ArrayList<>();
+        Instant successorActiveFrom = null;
+        for (JwtKey jwtKey : newestFirst) {
+            if (successorActiveFrom != null && successorActiveFrom.plus(JwtTokenProvider.TOKEN_LIFETIME).isBefore(now)) {
+                break;
+            }
+            liveKeys.add(jwtKey);
+            if (!jwtKey.activeFrom().isAfter(now)) {
+                successorActiveFrom = jwtKey.activeFrom();
+            }
+        }
+        return liveKeys;
+    }
+
+    private static List<String> keyIdsOf(List<JwtKey> keys) {
+        return keys.stream().map(JwtKey::keyId).sorted().toList();
+    }
+
+    // one key per line: "<kid> <active from, epoch seconds> <base64 encoded secret>", lines starting with # are skipped
+    private static List<JwtKey> read(Path file) throws IOException {
+        List<JwtKey> keys = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmedLine.split("\\s+");
+            if (fields.length != 3) {
+                throw new IOException("malformed line in jwt keyring " + file + ": expected <kid> <active from> <secret>");
+            }
+            keys.add(new JwtKey(
+                    fields[0],
+                    Instant.ofEpochSecond(Long.parseLong(fields[1])),
+                    Keys.hmacShaKeyFor(Base64.getDecoder().decode(fields[2]))
+            ));
+        }
+        return keys;
+    }
+
+    // written next to the keyring and moved over it, readers see the old or the new file but never a partial one
+    private static void write(Path file, List<JwtKey> keys) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# <kid> <active from, epoch seconds> <base64 encoded secret>, rotated automatically");
+        keys.forEach(jwtKey -> lines.add(
+                jwtKey.keyId() + " " +
+                jwtKey.activeFrom().getEpochSecond() + " " +
+                Base64.getEncoder().encodeToString(jwtKey.secretKey().getEncoded())
+        ));
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temporaryFile);
+        try {
+            Files.createFile(temporaryFile, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } catch (UnsupportedOperationException e) {
+            // not a posix file system, the directory has to be protected instead
+            Files.createFile(temporaryFile);
+        }
+        Files.write(temporaryFile, lines, StandardCharsets.US_ASCII);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public record JwtKey(String keyId, Instant activeFrom, SecretKey secretKey) {
+        private static JwtKey generate(Instant activeFrom) {
+            return new JwtKey(UUID.randomUUID().toString(), activeFrom, Keys.secretKeyFor(SignatureAlgorithm.HS256));
+        }
+    }
+
+    // keys newest first, and by kid for the verification
+    private record Keyring(List<JwtKey> keys, Map<String, JwtKey> keyById) {
+        private static Keyring of(List<JwtKey> keys) {
+            List<JwtKey> newestFirst = new ArrayList<>(keys);
+            newestFirst.sort(Comparator.comparing(JwtKey::activeFrom).reversed());
+            return new Keyring(
+                    List.copyOf(newestFirst),
+                    newestFirst.stream().collect(Collectors.toUnmodifiableMap(JwtKey::keyId, Function.identity()))
+            );
+        }
+    }
+}
@@ -1,62 +1,144 @@
 package com.kett.TicketSystem.authentication.domain.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Date;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
-    private final Key jwtKey;
+    // short, the roles a token carries are never older than this, and neither is a revoked refresh token's last access token
+    public static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
 
-    public JwtTokenProvider() {
-        this.jwtKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    // tokens of users in more projects stay small and leave the roles to the database
+    public static final int MAX_EMBEDDED_PROJECT_ROLES = 64;
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String AUTHORITY_VERSION_CLAIM = "ver";
+    public static final String PROJECT_ROLES_CLAIM = "prj";
+
+    private final JwtKeyring jwtKeyring;
+
+    // immutable and thread safe, built once instead of for every token. the key is picked by the kid of each token
+    private final JwtParser jwtParser;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    public JwtTokenProvider(JwtKeyring jwtKeyring, VerifiedTokenCache verifiedTokenCache) {
+        this.jwtKeyring = jwtKeyring;
+        this.jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        SecretKey verificationKey = header.getKeyId() == null ? null : jwtKeyring.getVerificationKey(header.getKeyId());
+                        if (verificationKey == null) {
+                            throw new SignatureException("unknown or retired key id: " + header.getKeyId());
+                        }
+                        return verificationKey;
+                    }
+                })
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
-    public String generateToken(String email) {
+    // authorityVersion has to be taken before the authorities of the user were loaded
+    public String generateToken(Authentication authentication, long authorityVersion) {
+        return generateToken((AuthenticatedUser) authentication.getPrincipal(), authorityVersion);
+    }
+
+    public String generateToken(AuthenticatedUser authenticatedUser, long authorityVersion) {
         Instant now = Instant.now();
-        Instant expiration = Instant.now().plus(1, ChronoUnit.DAYS);
+        Instant expiration = now.plus(TOKEN_LIFETIME);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, authenticatedUser.getUserId().toString());
+        claims.put(AUTHORITY_VERSION_CLAIM, authorityVersion);
+        if (authenticatedUser.getRoleByProjectId().size() <= MAX_EMBEDDED_PROJECT_ROLES) {
+            claims.put(PROJECT_ROLES_CLAIM, encodeProjectRoles(authenticatedUser.getRoleByProjectId()));
+        }
 
+        JwtKeyring.JwtKey signingKey = jwtKeyring.getSigningKey();
         return Jwts
                 .builder()
-                .setSubject(email)
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                .setClaims(claims)
+                .setSubject(authenticatedUser.getUsername())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiration))
-                .signWith(jwtKey).compact();
+                .signWith(signingKey.secretKey(), SignatureAlgorithm.HS256).compact();
     }
 
-    public String generateToken(Authentication authentication) {
-        // This is User as specified by the Spring Framework.
-        User user = (User) authentication.getPrincipal();
-        return generateToken(user.getUsername());
+    // verifies the token once, everything else is read from the returned claims. empty if the token is invalid or expired
+    public Optional<Claims> verifyToken(String token) {
+        try {
+            return Optional.of(verifiedTokenCache.getVerifiedClaims(token, this::parseClaims));
+        } catch (JwtException e) {
+            return Optional.empty();
+        }
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(jwtKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // empty if the token does not carry its project roles, the caller has to load them
+    public Optional<AuthenticatedUser> getAuthenticatedUserFromClaims(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String projectRoles = claims.get(PROJECT_ROLES_CLAIM, String.class);
+        if (userId == null || projectRoles == null || claims.get(AUTHORITY_VERSION_CLAIM) == null) {
+            return Optional.empty();
+        }
+
+        Map<UUID, Role> roleByProjectId = decodeProjectRoles(projectRoles);
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_USER_" + userId));
+        roleByProjectId.forEach((projectId, role) ->
+                grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_PROJECT_" + role + "_" + projectId))
+        );
 
-        return claims.getSubject();
+        return Optional.of(
+                new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), "", grantedAuthorities, roleByProjectId)
+        );
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(jwtKey).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+    public long getAuthorityVersionFromClaims(Claims claims) {
+        return claims.get(AUTHORITY_VERSION_CLAIM, Long.class);
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    // "<projectId>:<A|M>,..." keeps the claim compact
+    private static String encodeProjectRoles(Map<UUID, Role> roleByProjectId) {
+        return roleByProjectId
+                .entrySet()
+                .stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue().toString().charAt(0))
+                .collect(Collectors.joining(","));
+    }
+
+    private static Map<UUID, Role> decodeProjectRoles(String projectRoles) {
+        Map<UUID, Role> roleByProjectId = new HashMap<>();
+        if (projectRoles.isEmpty()) {
+            return roleByProjectId;
+        }
+        for (String projectRole : projectRoles.split(",")) {
+            int separator = projectRole.indexOf(':');
+            UUID projectId = UUID.fromString(projectRole.substring(0, separator));
+            Role role = projectRole.charAt(separator + 1) == 'A' ? Role.ADMIN : Role.MEMBER;
+            roleByProjectId.put(projectId, role);
         }
+        return roleByProjectId;
     }
 }
@@ -0,0 +1,9 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+// where JwtAuthenticationFilter takes the roles of an authenticated request from
+public enum PrincipalSource {
+    // loaded from the database, served from the AuthenticatedUserCache
+    DATABASE,
+    // embedded in the token, the database is only asked when the roles were revoked since
+    TOKEN
+}
@@ -0,0 +1,90 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import com.kett.TicketSystem.authentication.domain.TokenDigests;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// claims of tokens whose signature was already verified, so a client sending the same token again skips the hmac and json parsing.
+// keyed by the sha-256 digest of the whole token, the bearer tokens themselves are not kept in memory.
+// an entry lives until its token expires, a size of 0 disables the cache
+@Component
+public class VerifiedTokenCache {
+    private final int maxCachedTokens;
+
+    // access ordered, so the least recently used token is evicted first
+    private final Map<String, Claims> claimsByTokenDigest;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${authentication.verified-token-cache-size:1024}") int maxCachedTokens) {
+        this.maxCachedTokens = maxCachedTokens;
+        this.claimsByTokenDigest = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                if (size() > VerifiedTokenCache.this.maxCachedTokens) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // the verifier throws for invalid tokens, nothing is cached for them
+    public Claims getVerifiedClaims(String token, Function<String, Claims> verifier) {
+        if (maxCachedTokens <= 0) {
+            return verifier.apply(token);
+        }
+
+        String tokenDigest = TokenDigests.sha256(token);
+        synchronized (this) {
+            Claims claims = claimsByTokenDigest.get(tokenDigest);
+            if (claims != null) {
+                if (!isExpired(claims)) {
+                    hitCount.incrementAndGet();
+                    return claims;
+                }
+                claimsByTokenDigest.remove(tokenDigest);
+            }
+        }
+
+        missCount.incrementAndGet();
+        Claims verifiedClaims = verifier.apply(token);
+        if (verifiedClaims.getExpiration() != null) {
+            synchronized (this) {
+                claimsByTokenDigest.put(tokenDigest, verifiedClaims);
+            }
+        }
+        return verifiedClaims;
+    }
+
+    public Long getHitCount() {
+        return hitCount.get();
+    }
+
+    public Long getMissCount() {
+        return missCount.get();
+    }
+
+    public Long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public synchronized Integer getSize() {
+        return claimsByTokenDigest.size();
+    }
+
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+}
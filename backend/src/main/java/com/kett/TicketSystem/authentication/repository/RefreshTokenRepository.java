@@ -0,0 +1,34 @@
+package com.kett.TicketSystem.authentication.repository;
+
+import com.kett.TicketSystem.authentication.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+    // concurrent refreshes with the same token are serialized, only the first one rotates it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findForUpdateByTokenDigest(String tokenDigest);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteRefreshTokensByFamilyId(@Param("familyId") UUID familyId);
+
+    // runs inside the deletion of the user, the persistence context of the other listeners is left alone
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteRefreshTokensByUserId(@Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RefreshToken r where r.expirationTime < :now")
+    int deleteExpiredRefreshTokens(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,195 @@
+package com.kett.TicketSystem.common;
+
+import com.kett.TicketSystem.common.exceptions.PasswordHashingOverloadedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// runs the hashing of a slow delegate (bcrypt) on a small pool of its own. a burst of logins occupies at most that many
+// cores, work beyond the bounded queue is rejected right away instead of tying up every request thread
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int threads;
+    private final int queueCapacity;
+    private final Duration timeout;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.delegate = delegate;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.hashingExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // hashes a whole batch on the pool without crowding out logins: at most as many of its passwords as there are threads
+    // are queued or hashed at a time. a password that could not be hashed gets the reason instead of a hash
+    public List<EncodedPassword> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore hashingSlots = new Semaphore(threads);
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> failures = new ArrayList<>(rawPasswords.size());
+        String remainingFailure = null;
+
+        for (CharSequence rawPassword : rawPasswords) {
+            if (remainingFailure != null) {
+                futures.add(null);
+                failures.add(remainingFailure);
+                continue;
+            }
+
+            try {
+                if (!hashingSlots.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    // the pool is busy with other work, the rest of the batch would wait just as long
+                    timedOutCount.incrementAndGet();
+                    remainingFailure = "hashing the password took too long, try again later";
+                    futures.add(null);
+                    failures.add(remainingFailure);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(future -> {
+                    if (future != null) {
+                        future.cancel(true);
+                    }
+                });
+                Thread.currentThread().interrupt();
+                throw new PasswordHashingOverloadedException("interrupted while hashing the passwords");
+            }
+
+            try {
+                futures.add(hashingExecutor.submit(() -> {
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        hashingSlots.release();
+                    }
+                }));
+                failures.add(null);
+            } catch (RejectedExecutionException e) {
+                hashingSlots.release();
+                rejectedCount.incrementAndGet();
+                futures.add(null);
+                failures.add("too many passwords are being hashed right now, try again later");
+            }
+        }
+
+        List<EncodedPassword> encodedPasswords = new ArrayList<>(rawPasswords.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Future<String> future = futures.get(i);
+            if (future == null) {
+                encodedPasswords.add(new EncodedPassword(null, failures.get(i)));
+                continue;
+            }
+            try {
+                encodedPasswords.add(new EncodedPassword(this.await(future), null));
+            } catch (PasswordHashingOverloadedException | IllegalArgumentException e) {
+                encodedPasswords.add(new EncodedPassword(null, e.getMessage()));
+            }
+        }
+        return encodedPasswords;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // picked up as the destroy method of the bean
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    public Integer getQueueDepth() {
+        return hashingExecutor.getQueue().size();
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Integer getActiveCount() {
+        return hashingExecutor.getActiveCount();
+    }
+
+    public Long getCompletedCount() {
+        return hashingExecutor.getCompletedTaskCount();
+    }
+
+    public Long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public Long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    private <T> T hash(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new PasswordHashingOverloadedException("too many passwords are being hashed right now, try again later");
+        }
+        return this.await(future);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOutCount.incrementAndGet();
+            throw new PasswordHashingOverloadedException("hashing the password took too long, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("interrupted while hashing the password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record EncodedPassword(String encodedPassword, String failure) {
+        public boolean isEncoded() {
+            return encodedPassword != null;
+        }
+    }
+}
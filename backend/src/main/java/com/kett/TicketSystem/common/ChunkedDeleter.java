@@ -0,0 +1,59 @@
+package com.kett.TicketSystem.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// deletes rows in bounded chunks that are committed one by one, so purging a large aggregate
+// neither holds its locks for the whole run nor loads all of it into one persistence context
+@Component
+public class ChunkedDeleter {
+    public static final int CHUNK_SIZE = 500;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ChunkedDeleter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // for small deletes that have to be visible before the chunks are purged, e.g. the replica that admits new children
+    public void deleteAtOnce(Runnable deleter) {
+        transactionTemplate.executeWithoutResult(status -> deleter.run());
+    }
+
+    public <T> long deleteInChunks(Function<Pageable, List<T>> chunkLoader, Consumer<List<T>> chunkDeleter) {
+        return deleteInChunks(chunkLoader, chunkDeleter, chunk -> {});
+    }
+
+    // the loader always reads the first page, the previous chunk is gone by then
+    public <T> long deleteInChunks(
+            Function<Pageable, List<T>> chunkLoader,
+            Consumer<List<T>> chunkDeleter,
+            Consumer<List<T>> afterChunkCommitted
+    ) {
+        Pageable firstChunk = PageRequest.of(0, CHUNK_SIZE);
+        long deletedCount = 0;
+        while (true) {
+            List<T> chunk = transactionTemplate.execute(status -> {
+                List<T> loadedChunk = chunkLoader.apply(firstChunk);
+                if (!loadedChunk.isEmpty()) {
+                    chunkDeleter.accept(loadedChunk);
+                }
+                return loadedChunk;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                return deletedCount;
+            }
+            deletedCount += chunk.size();
+            afterChunkCommitted.accept(chunk);
+        }
+    }
+}
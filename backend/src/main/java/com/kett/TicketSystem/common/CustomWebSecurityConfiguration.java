@@ -13,10 +13,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true)
@@ -52,9 +53,15 @@ public class CustomWebSecurityConfiguration {
         return http.build();
     }
 
+    // bcrypt runs on a pool of its own, a login storm cannot take every request thread
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                64,
+                Duration.ofSeconds(5)
+        );
     }
 
     @Bean
@@ -8,20 +8,34 @@ import com.kett.TicketSystem.notification.domain.Notification;
 import com.kett.TicketSystem.phase.application.dto.PhasePostDto;
 import com.kett.TicketSystem.phase.application.dto.PhaseResponseDto;
 import com.kett.TicketSystem.phase.domain.Phase;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportCheckpointResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportErrorResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
-import com.kett.TicketSystem.project.application.dto.ProjectPostDto;
-import com.kett.TicketSystem.project.application.dto.ProjectResponseDto;
+import com.kett.TicketSystem.project.application.dto.*;
 import com.kett.TicketSystem.project.domain.Project;
+import com.kett.TicketSystem.project.domain.ProjectBoard;
+import com.kett.TicketSystem.project.domain.ProjectDeletionJob;
 import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketImportCheckpoint;
+import com.kett.TicketSystem.ticket.domain.TicketImportResult;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
+import com.kett.TicketSystem.user.application.dto.UserBatchErrorResponseDto;
+import com.kett.TicketSystem.user.application.dto.UserBatchPostDto;
+import com.kett.TicketSystem.user.application.dto.UserBatchResponseDto;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.application.dto.UserResponseDto;
 import com.kett.TicketSystem.user.domain.User;
+import com.kett.TicketSystem.user.domain.UserBatchEntry;
+import com.kett.TicketSystem.user.domain.UserBatchResult;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Component
 public class DtoMapper {
@@ -34,6 +48,7 @@ public class DtoMapper {
             mapper.map(Membership::getUserId, MembershipResponseDto::setUserId);
             mapper.map(Membership::getRole, MembershipResponseDto::setRole);
             mapper.map(Membership::getState, MembershipResponseDto::setState);
+            mapper.map(Membership::getVersion, MembershipResponseDto::setVersion);
         });
         modelMapper.typeMap(Notification.class, NotificationResponseDto.class).addMappings(mapper -> {
            mapper.map(Notification::getId, NotificationResponseDto::setId);
@@ -55,12 +70,14 @@ public class DtoMapper {
                 return (nextPhase == null) ? null : nextPhase.getId();
             }, PhaseResponseDto::setNextPhaseId);
             mapper.map(Phase::getTicketCount, PhaseResponseDto::setTicketCount);
+            mapper.map(Phase::getVersion, PhaseResponseDto::setVersion);
         });
         modelMapper.typeMap(Project.class, ProjectResponseDto.class).addMappings(mapper -> {
             mapper.map(Project::getId, ProjectResponseDto::setId);
             mapper.map(Project::getName, ProjectResponseDto::setName);
             mapper.map(Project::getDescription, ProjectResponseDto::setDescription);
             mapper.map(Project::getCreationTime, ProjectResponseDto::setCreationTime);
+            mapper.map(Project::getVersion, ProjectResponseDto::setVersion);
         });
         modelMapper.typeMap(Ticket.class, TicketResponseDto.class).addMappings(mapper -> {
             mapper.map(Ticket::getId, TicketResponseDto::setId);
@@ -71,6 +88,7 @@ public class DtoMapper {
             mapper.map(Ticket::getPhaseId, TicketResponseDto:: setPhaseId);
             mapper.map(Ticket::getProjectId, TicketResponseDto::setProjectId);
             mapper.map(Ticket::getAssigneeIds, TicketResponseDto::setAssigneeIds);
+            mapper.map(Ticket::getVersion, TicketResponseDto::setVersion);
         });
         modelMapper.typeMap(User.class, UserResponseDto.class).addMappings(mapper -> {
             mapper.map(User::getId, UserResponseDto::setId);
@@ -145,6 +163,59 @@ public class DtoMapper {
         return modelMapper.map(project, ProjectResponseDto.class);
     }
 
+    public ProjectDeletionJobResponseDto mapProjectDeletionJobToProjectDeletionJobResponseDto(ProjectDeletionJob projectDeletionJob) {
+        return new ProjectDeletionJobResponseDto(
+                projectDeletionJob.getProjectId(),
+                projectDeletionJob.getPurgedMembershipCount(),
+                projectDeletionJob.getPurgedPhaseCount(),
+                projectDeletionJob.getPurgedTicketCount(),
+                projectDeletionJob.getPurgedBoardRowCount(),
+                projectDeletionJob.isCompleted(),
+                projectDeletionJob.getCreationTime(),
+                projectDeletionJob.getCompletionTime()
+        );
+    }
+
+    public ProjectBoardResponseDto mapProjectBoardToProjectBoardResponseDto(ProjectBoard projectBoard) {
+        Map<UUID, List<BoardTicketResponseDto>> ticketsByPhaseId = new HashMap<>();
+        projectBoard
+                .getTicketById()
+                .values()
+                .stream()
+                .sorted(Comparator
+                        .comparing(ProjectBoard.BoardTicket::getCreationTime)
+                        .thenComparing(ProjectBoard.BoardTicket::getId)
+                )
+                .forEach(ticket -> ticketsByPhaseId
+                        .computeIfAbsent(ticket.getPhaseId(), phaseId -> new ArrayList<>())
+                        .add(new BoardTicketResponseDto(
+                                ticket.getId(),
+                                ticket.getTitle(),
+                                ticket.getDueTime(),
+                                ticket
+                                        .getAssigneeIds()
+                                        .stream()
+                                        .map(assigneeId -> projectBoard.getAssigneeById().get(assigneeId))
+                                        .filter(Objects::nonNull)
+                                        .map(assignee -> new BoardAssigneeResponseDto(assignee.getId(), assignee.getName(), assignee.getEmail()))
+                                        .toList()
+                        ))
+                );
+
+        return new ProjectBoardResponseDto(
+                projectBoard.getProjectId(),
+                projectBoard
+                        .getPhases()
+                        .stream()
+                        .map(phase -> new BoardPhaseResponseDto(
+                                phase.getId(),
+                                phase.getName(),
+                                ticketsByPhaseId.getOrDefault(phase.getId(), new ArrayList<>())
+                        ))
+                        .toList()
+        );
+    }
+
     public Project mapProjectPostDtoToProject(ProjectPostDto projectPostDto) {
         return new Project(projectPostDto.getName(), projectPostDto.getDescription());
     }
@@ -163,6 +234,56 @@ public class DtoMapper {
                 .toList();
     }
 
+    public TicketPageResponseDto mapTicketPageToTicketPageResponseDto(TicketPage ticketPage) {
+        return new TicketPageResponseDto(
+                mapTicketListToTicketResponseDtoList(ticketPage.getTickets()),
+                ticketPage.getNextCursor().map(TicketCursor::toString).orElse(null)
+        );
+    }
+
+    public TicketImportResponseDto mapTicketImportResultToTicketImportResponseDto(TicketImportResult ticketImportResult) {
+        return new TicketImportResponseDto(
+                ticketImportResult.getImportId(),
+                ticketImportResult.getProjectId(),
+                ticketImportResult.getProcessedRowCount(),
+                ticketImportResult.getSkippedRowCount(),
+                ticketImportResult.getImportedTicketCount(),
+                ticketImportResult.getFailedRowCount(),
+                ticketImportResult
+                        .getErrors()
+                        .stream()
+                        .map(rowError -> new TicketImportErrorResponseDto(rowError.getRowNumber(), rowError.getMessage()))
+                        .toList()
+        );
+    }
+
+    public TicketImportCheckpointResponseDto mapTicketImportCheckpointToTicketImportCheckpointResponseDto(TicketImportCheckpoint checkpoint) {
+        return new TicketImportCheckpointResponseDto(
+                checkpoint.getImportId(),
+                checkpoint.getProjectId(),
+                checkpoint.getProcessedRowCount(),
+                checkpoint.getImportedTicketCount(),
+                checkpoint.getFailedRowCount(),
+                checkpoint.getCompleted(),
+                checkpoint.getLastUpdateTime()
+        );
+    }
+
+    public List<Ticket> mapTicketBatchPostDtoToTicketList(TicketBatchPostDto ticketBatchPostDto) {
+        return ticketBatchPostDto
+                .getTickets()
+                .stream()
+                .map(ticketBatchEntryDto -> new Ticket(
+                        ticketBatchEntryDto.getTitle(),
+                        ticketBatchEntryDto.getDescription(),
+                        ticketBatchEntryDto.getDueTime(),
+                        ticketBatchPostDto.getProjectId(),
+                        null,
+                        ticketBatchEntryDto.getAssigneeIds()
+                ))
+                .toList();
+    }
+
     public Ticket mapTicketPostDtoToTicket(TicketPostDto ticketPostDto, UUID phaseId) {
         return new Ticket(
                 ticketPostDto.getTitle(),
@@ -188,4 +309,35 @@ public class DtoMapper {
                 userPostDto.getPassword()
         );
     }
+
+    public List<UserBatchEntry> mapUserBatchPostDtoToUserBatchEntryList(UserBatchPostDto userBatchPostDto) {
+        return userBatchPostDto
+                .getUsers()
+                .stream()
+                .map(userPostDto -> new UserBatchEntry(
+                        userPostDto.getName(),
+                        userPostDto.getEmail(),
+                        userPostDto.getPassword()
+                ))
+                .toList();
+    }
+
+    public UserBatchResponseDto mapUserBatchResultToUserBatchResponseDto(UserBatchResult userBatchResult) {
+        return new UserBatchResponseDto(
+                userBatchResult.getCreatedUserCount(),
+                userBatchResult.getFailedUserCount(),
+                userBatchResult.getElapsedMillis(),
+                userBatchResult.getUsersPerSecond(),
+                userBatchResult
+                        .getCreatedUsers()
+                        .stream()
+                        .map(this::mapUserToUserResponseDto)
+                        .toList(),
+                userBatchResult
+                        .getErrors()
+                        .stream()
+                        .map(entryError -> new UserBatchErrorResponseDto(entryError.getIndex(), entryError.getEmail(), entryError.getMessage()))
+                        .toList()
+        );
+    }
 }
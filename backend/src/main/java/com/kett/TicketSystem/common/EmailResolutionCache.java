@@ -0,0 +1,167 @@
+package com.kett.TicketSystem.common;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
+import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
+import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// resolved user ids by normalized email, shared by every module that turns the email of a caller into its user id.
+// each module loads with its own query on a miss. entries are dropped when a user is created, patched or deleted,
+// the ttl bounds what a replica that had not caught up yet could leave behind
+@Component
+public class EmailResolutionCache {
+    public static final int MAX_CACHED_EMAILS = 4096;
+    public static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    // access ordered, so the least recently used email is evicted first
+    private final Map<String, CachedUserId> cachedUserIdByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUserId> eldest) {
+            if (size() > MAX_CACHED_EMAILS) {
+                emailByUserId.remove(eldest.getValue().userId(), eldest.getKey());
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<UUID, String> emailByUserId = new HashMap<>();
+
+    // bumped on every invalidation, loads that overlap an invalidation are not cached
+    private long modificationCount = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    // a failing loader throws before anything is stored, the next call tries again
+    public UUID getUserId(EmailAddress emailAddress, Supplier<UUID> loader) {
+        String email = emailAddress.getNormalizedAddress();
+        long expectedModificationCount;
+        synchronized (this) {
+            CachedUserId cachedUserId = cachedUserIdByEmail.get(email);
+            if (cachedUserId != null) {
+                if (cachedUserId.expirationNanos() - System.nanoTime() > 0) {
+                    hitCount.incrementAndGet();
+                    return cachedUserId.userId();
+                }
+                remove(email);
+            }
+            expectedModificationCount = modificationCount;
+        }
+
+        missCount.incrementAndGet();
+        UUID loadedUserId = loader.get();
+        synchronized (this) {
+            if (modificationCount == expectedModificationCount) {
+                remove(email);
+                String previousEmail = emailByUserId.get(loadedUserId);
+                if (previousEmail != null) {
+                    remove(previousEmail);
+                }
+                cachedUserIdByEmail.put(email, new CachedUserId(loadedUserId, System.nanoTime() + TIME_TO_LIVE.toNanos()));
+                emailByUserId.put(loadedUserId, email);
+            }
+        }
+        return loadedUserId;
+    }
+
+    // drops the user and the email right away and once more after the surrounding transaction committed,
+    // so a load that read the old state while the change was in flight does not stay cached
+    public void invalidate(UUID userId, EmailAddress emailAddress) {
+        invalidationCount.incrementAndGet();
+        Runnable invalidation = () -> {
+            synchronized (this) {
+                modificationCount++;
+                String email = emailByUserId.get(userId);
+                if (email != null) {
+                    remove(email);
+                }
+                if (emailAddress != null) {
+                    remove(emailAddress.getNormalizedAddress());
+                }
+            }
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    // a new user may take an email that still resolves to its previous owner
+    @EventListener
+    public void handleUserCreatedEvent(UserCreatedEvent userCreatedEvent) {
+        this.invalidate(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress());
+    }
+
+    @EventListener
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        usersCreatedEvent.getEmailAddressByUserId().forEach(this::invalidate);
+    }
+
+    @EventListener
+    public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
+        this.invalidate(userPatchedEvent.getUserId(), userPatchedEvent.getEmailAddress());
+    }
+
+    @EventListener
+    public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        this.invalidate(userDeletedEvent.getUserId(), userDeletedEvent.getEmailAddress());
+    }
+
+    public Long getHitCount() {
+        return hitCount.get();
+    }
+
+    public Long getMissCount() {
+        return missCount.get();
+    }
+
+    public Double getHitRate() {
+        long hits = hitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public Long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public Long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    public synchronized Integer getSize() {
+        return cachedUserIdByEmail.size();
+    }
+
+    // callers hold the monitor
+    private void remove(String email) {
+        CachedUserId removedUserId = cachedUserIdByEmail.remove(email);
+        if (removedUserId != null) {
+            emailByUserId.remove(removedUserId.userId(), email);
+        }
+    }
+
+    private record CachedUserId(UUID userId, long expirationNanos) {
+    }
+}
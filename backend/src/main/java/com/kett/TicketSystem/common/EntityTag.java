@@ -0,0 +1,31 @@
+package com.kett.TicketSystem.common;
+
+import com.kett.TicketSystem.common.exceptions.VersionMismatchException;
+
+// strong entity tags derived from the @Version column of an entity
+public final class EntityTag {
+    private static final String ANY = "*";
+
+    private EntityTag() {
+    }
+
+    public static String fromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match uses the strong comparison, so weak tags never match
+    public static void checkIfMatch(String ifMatch, Long currentVersion) throws VersionMismatchException {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+
+        String currentTag = fromVersion(currentVersion);
+        for (String candidate : ifMatch.split(",")) {
+            String trimmedCandidate = candidate.trim();
+            if (trimmedCandidate.equals(ANY) || trimmedCandidate.equals(currentTag)) {
+                return;
+            }
+        }
+        throw new VersionMismatchException("If-Match " + ifMatch + " does not match the current version " + currentTag);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kett.TicketSystem.common;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// memoizes lookups for the duration of one request, so the SpEL of @PreAuthorize and the guarded method
+// share the aggregate they load instead of each querying it again
+@Component
+public class RequestLookupCache {
+    private static final String ATTRIBUTE_NAME = RequestLookupCache.class.getName();
+
+    // outside of a request (e.g. in event listeners) nothing is memoized
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(String lookup, Object key, Supplier<T> loader) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return loader.get();
+        }
+
+        Map<LookupKey, Object> valueByKey =
+                (Map<LookupKey, Object>) requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (valueByKey == null) {
+            valueByKey = new HashMap<>();
+            requestAttributes.setAttribute(ATTRIBUTE_NAME, valueByKey, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        LookupKey lookupKey = new LookupKey(lookup, key);
+        T value = (T) valueByKey.get(lookupKey);
+        if (value == null) {
+            // a failing loader throws before anything is stored, the next call tries again
+            value = loader.get();
+            valueByKey.put(lookupKey, value);
+        }
+        return value;
+    }
+
+    private record LookupKey(String lookup, Object key) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.kett.TicketSystem.common;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SpringSchedulingConfiguration {
+
+}
@@ -0,0 +1,126 @@
+package com.kett.TicketSystem.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+
+// backfills columns and replica tables that were added after their data already existed. every step only touches
+// what was written before the addition, so running them again on every startup is cheap and harmless
+@Slf4j
+@Component
+public class StartupMigration {
+    // entity name -> path of its EmailAddress
+    private static final Map<String, String> EMAIL_PATHS = Map.of(
+            "User", "email",
+            "UserDataOfTicket", "userEmail",
+            "UserDataOfProject", "userEmail",
+            "UserDataOfMembership", "userEmail",
+            "UserDataOfNotification", "userEmail"
+    );
+
+    public static final int SEED_CHUNK_SIZE = 500;
+
+    // replica -> the query reading its rows from the table of the owning module
+    private static final Map<String, String> BOARD_REPLICA_SOURCES = Map.of(
+            "PhaseDataOfProject",
+            "select new com.kett.TicketSystem.project.domain.consumedData.PhaseDataOfProject(p.id, p.projectId, p.name, pp.id) " +
+                    "from Phase p left join p.previousPhase pp order by p.id",
+            "TicketDataOfProject",
+            "select new com.kett.TicketSystem.project.domain.consumedData.TicketDataOfProject(t.id, t.projectId, t.phaseId, t.title, t.dueTime, t.creationTime) " +
+                    "from Ticket t order by t.id",
+            "AssignmentDataOfProject",
+            "select new com.kett.TicketSystem.project.domain.consumedData.AssignmentDataOfProject(a.ticket.id, a.projectId, a.assigneeId) " +
+                    "from TicketAssignment a order by a.id"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public StartupMigration(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> EMAIL_PATHS.forEach(this::normalizeEmails));
+        transactionTemplate.executeWithoutResult(status -> {
+            BOARD_REPLICA_SOURCES.forEach(this::seedReplica);
+            fillUserNamesOfProject();
+        });
+        transactionTemplate.executeWithoutResult(status -> fillTicketCreationTimesOfAssignments());
+    }
+
+    private void normalizeEmails(String entityName, String emailPath) {
+        String email = "e." + emailPath;
+        int updatedCount = entityManager
+                .createQuery("update " + entityName + " e " +
+                        "set " + email + ".normalizedAddress = lower(concat(" + email + ".localPart, '@', " + email + ".domain)) " +
+                        "where " + email + ".normalizedAddress is null")
+                .executeUpdate();
+        if (updatedCount > 0) {
+            log.info("normalized {} email addresses of {}", updatedCount, entityName);
+        }
+    }
+
+    // a replica that is still empty was added after its source already had rows
+    private void seedReplica(String replicaName, String sourceQuery) {
+        Long replicatedCount = entityManager
+                .createQuery("select count(r) from " + replicaName + " r", Long.class)
+                .getSingleResult();
+        if (replicatedCount > 0) {
+            return;
+        }
+
+        int seededCount = 0;
+        while (true) {
+            List<?> rows = entityManager
+                    .createQuery(sourceQuery)
+                    .setFirstResult(seededCount)
+                    .setMaxResults(SEED_CHUNK_SIZE)
+                    .getResultList();
+            rows.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+            seededCount += rows.size();
+            if (rows.size() < SEED_CHUNK_SIZE) {
+                break;
+            }
+        }
+        if (seededCount > 0) {
+            log.info("seeded {} rows of {}", seededCount, replicaName);
+        }
+    }
+
+    private void fillUserNamesOfProject() {
+        int updatedCount = entityManager
+                .createQuery("update UserDataOfProject d set d.userName = (select u.name from User u where u.id = d.userId) " +
+                        "where d.userName is null")
+                .executeUpdate();
+        if (updatedCount > 0) {
+            log.info("filled in {} user names of UserDataOfProject", updatedCount);
+        }
+    }
+
+    private void fillTicketCreationTimesOfAssignments() {
+        int updatedCount = entityManager
+                .createQuery("update TicketAssignment a set a.ticketCreationTime = " +
+                        "(select t.creationTime from Ticket t where t.id = a.ticket.id) " +
+                        "where a.ticketCreationTime is null")
+                .executeUpdate();
+        if (updatedCount > 0) {
+            log.info("filled in {} ticket creation times of TicketAssignment", updatedCount);
+        }
+    }
+}
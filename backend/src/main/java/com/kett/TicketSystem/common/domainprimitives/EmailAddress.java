@@ -3,7 +3,9 @@ package com.kett.TicketSystem.common.domainprimitives;
 import lombok.*;
 import org.apache.commons.validator.routines.EmailValidator;
 
+import javax.persistence.Column;
 import javax.persistence.Embeddable;
+import java.util.Locale;
 
 @Getter
 @Setter(AccessLevel.PROTECTED)
@@ -14,6 +16,12 @@ public class EmailAddress {
     private String localPart;
     private String domain;
 
+    // lower cased, the only column emails are looked up by. derived from the parts, so it takes no part in equality
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    @Column(length = 320)
+    private String normalizedAddress;
+
     protected EmailAddress(String localPart, String domain) {
         if (localPart == null || localPart.isEmpty()) {
             throw  new EmailAddressException("localPart must not be null or empty");
@@ -24,6 +32,7 @@ public class EmailAddress {
 
         this.localPart = localPart;
         this.domain = domain;
+        this.normalizedAddress = normalize(localPart + "@" + domain);
     }
 
     public static EmailAddress fromString(String eMailAddressCandidate) {
@@ -38,6 +47,10 @@ public class EmailAddress {
         return new EmailAddress(addressParts[0], addressParts[1]);
     }
 
+    public static String normalize(String eMailAddress) {
+        return eMailAddress.trim().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public String toString() {
         return localPart + "@" + domain;
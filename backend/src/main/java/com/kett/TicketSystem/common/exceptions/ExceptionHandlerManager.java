@@ -1,5 +1,6 @@
 package com.kett.TicketSystem.common.exceptions;
 
+import com.kett.TicketSystem.authentication.domain.exceptions.TooManyLoginAttemptsException;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddressException;
 import com.kett.TicketSystem.membership.domain.exceptions.*;
 import com.kett.TicketSystem.notification.domain.exceptions.NoNotificationFoundException;
@@ -9,8 +10,10 @@ import com.kett.TicketSystem.phase.domain.exceptions.NoPhaseFoundException;
 import com.kett.TicketSystem.phase.domain.exceptions.NoPhaseInProjectException;
 import com.kett.TicketSystem.phase.domain.exceptions.PhaseException;
 import com.kett.TicketSystem.phase.domain.exceptions.PhaseIsNotEmptyException;
+import com.kett.TicketSystem.project.domain.exceptions.NoProjectDeletionJobFoundException;
 import com.kett.TicketSystem.project.domain.exceptions.ProjectException;
 import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketFoundException;
+import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketImportFoundException;
 import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
 import com.kett.TicketSystem.user.domain.exceptions.EmailAlreadyInUseException;
 import com.kett.TicketSystem.user.domain.exceptions.UserException;
@@ -18,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -46,8 +50,10 @@ public class ExceptionHandlerManager extends ResponseEntityExceptionHandler {
             NoMembershipFoundException.class,
             NoNotificationFoundException.class,
             NoPhaseFoundException.class,
+            NoProjectDeletionJobFoundException.class,
             NoProjectFoundException.class,
             NoTicketFoundException.class,
+            NoTicketImportFoundException.class,
             NoUserFoundException.class
     })
     public ResponseEntity<String> handleNotFoundException(RuntimeException runtimeException) {
@@ -64,13 +70,38 @@ public class ExceptionHandlerManager extends ResponseEntityExceptionHandler {
             LastPhaseException.class,
             InvalidProjectMembersException.class,
             EmailAlreadyInUseException.class,
-            UnrelatedPhaseException.class
+            UnrelatedPhaseException.class,
+            ObjectOptimisticLockingFailureException.class
     })
     public ResponseEntity<String> handleConflictException(RuntimeException runtimeException) {
         logger.warn("exception -> " + runtimeException.getClass().getSimpleName() + ": " + runtimeException.getMessage());
         return new ResponseEntity<>(runtimeException.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(value = {
+            VersionMismatchException.class
+    })
+    public ResponseEntity<String> handlePreconditionFailedException(RuntimeException runtimeException) {
+        logger.warn("exception -> " + runtimeException.getClass().getSimpleName() + ": " + runtimeException.getMessage());
+        return new ResponseEntity<>(runtimeException.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(value = {
+            TooManyLoginAttemptsException.class
+    })
+    public ResponseEntity<String> handleTooManyRequestsException(RuntimeException runtimeException) {
+        logger.warn("exception -> " + runtimeException.getClass().getSimpleName() + ": " + runtimeException.getMessage());
+        return new ResponseEntity<>(runtimeException.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(value = {
+            PasswordHashingOverloadedException.class
+    })
+    public ResponseEntity<String> handleServiceUnavailableException(RuntimeException runtimeException) {
+        logger.warn("exception -> " + runtimeException.getClass().getSimpleName() + ": " + runtimeException.getMessage());
+        return new ResponseEntity<>(runtimeException.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(value = {
             ImpossibleException.class
     })
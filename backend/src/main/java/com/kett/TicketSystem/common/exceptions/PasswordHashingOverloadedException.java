@@ -0,0 +1,7 @@
+package com.kett.TicketSystem.common.exceptions;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.kett.TicketSystem.common.exceptions;
+
+public class VersionMismatchException extends RuntimeException {
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+}
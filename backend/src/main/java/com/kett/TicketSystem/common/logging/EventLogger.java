@@ -4,17 +4,24 @@ import com.kett.TicketSystem.authentication.domain.events.UserAuthenticatedEvent
 import com.kett.TicketSystem.membership.domain.events.LastProjectMemberDeletedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipsPurgedEvent;
 import com.kett.TicketSystem.membership.domain.events.UnacceptedProjectMembershipCreatedEvent;
 import com.kett.TicketSystem.phase.domain.events.PhaseCreatedEvent;
 import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseNameUpdatedEvent;
 import com.kett.TicketSystem.phase.domain.events.PhasePositionUpdatedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhasesPurgedEvent;
+import com.kett.TicketSystem.project.domain.events.BoardPurgedEvent;
 import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectsCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
 import com.kett.TicketSystem.ticket.domain.events.*;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
@@ -53,6 +60,16 @@ public class EventLogger {
         );
     }
     @EventListener
+    public void handleMembershipRoleUpdatedEvent(MembershipRoleUpdatedEvent membershipRoleUpdatedEvent) {
+        logger.trace(
+                "membership role updated -> " +
+                        "membershipId:" + membershipRoleUpdatedEvent.getMembershipId() +
+                        ", userId:" + membershipRoleUpdatedEvent.getUserId() +
+                        ", projectId:" + membershipRoleUpdatedEvent.getProjectId() +
+                        ", role:" + membershipRoleUpdatedEvent.getRole()
+        );
+    }
+    @EventListener
     public void handleLastProjectMemberDeletedEvents(LastProjectMemberDeletedEvent lastProjectMemberDeletedEvent) {
         logger.trace(
                 "last membership deleted -> " +
@@ -70,6 +87,14 @@ public class EventLogger {
                         ", projectId:" + unacceptedProjectMembershipCreatedEvent.getProjectId()
         );
     }
+    @EventListener
+    public void handleMembershipsPurgedEvent(MembershipsPurgedEvent membershipsPurgedEvent) {
+        logger.trace(
+                "memberships purged -> " +
+                        "projectId:" + membershipsPurgedEvent.getProjectId() +
+                        ", purgedMembershipCount:" + membershipsPurgedEvent.getPurgedMembershipCount()
+        );
+    }
 
     // phase
     @EventListener
@@ -98,6 +123,23 @@ public class EventLogger {
                         ", projectId:" + phasePositionUpdatedEvent.getProjectId()
         );
     }
+    @EventListener
+    public void handlePhaseNameUpdatedEvent(PhaseNameUpdatedEvent phaseNameUpdatedEvent) {
+        logger.trace(
+                "phase name updated -> " +
+                        "phaseId:" + phaseNameUpdatedEvent.getPhaseId() +
+                        ", projectId:" + phaseNameUpdatedEvent.getProjectId() +
+                        ", name:" + phaseNameUpdatedEvent.getName()
+        );
+    }
+    @EventListener
+    public void handlePhasesPurgedEvent(PhasesPurgedEvent phasesPurgedEvent) {
+        logger.trace(
+                "phases purged -> " +
+                        "projectId:" + phasesPurgedEvent.getProjectId() +
+                        ", purgedPhaseCount:" + phasesPurgedEvent.getPurgedPhaseCount()
+        );
+    }
 
     // project
     @EventListener
@@ -117,12 +159,27 @@ public class EventLogger {
         );
     }
     @EventListener
+    public void handleDefaultProjectsCreatedEvent(DefaultProjectsCreatedEvent defaultProjectsCreatedEvent) {
+        logger.trace(
+                "default projects created -> " +
+                        "userIdByProjectId:" + defaultProjectsCreatedEvent.getUserIdByProjectId()
+        );
+    }
+    @EventListener
     public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
         logger.trace(
                 "project deleted -> " +
                         "projectId:" + projectDeletedEvent.getProjectId()
         );
     }
+    @EventListener
+    public void handleBoardPurgedEvent(BoardPurgedEvent boardPurgedEvent) {
+        logger.trace(
+                "board purged -> " +
+                        "projectId:" + boardPurgedEvent.getProjectId() +
+                        ", purgedBoardRowCount:" + boardPurgedEvent.getPurgedBoardRowCount()
+        );
+    }
 
 
     // ticket
@@ -172,6 +229,61 @@ public class EventLogger {
                         ", projectId:" + ticketPhaseUpdatedEvent.getProjectId()
         );
     }
+    @EventListener
+    public void handleTicketPatchedEvent(TicketPatchedEvent ticketPatchedEvent) {
+        logger.trace(
+                "ticket patched -> " +
+                        "ticketId:" + ticketPatchedEvent.getTicketId() +
+                        ", projectId:" + ticketPatchedEvent.getProjectId() +
+                        ", title:" + ticketPatchedEvent.getTitle() +
+                        ", dueTime:" + ticketPatchedEvent.getDueTime()
+        );
+    }
+    @EventListener
+    public void handleTicketOverdueEvent(TicketOverdueEvent ticketOverdueEvent) {
+        logger.trace(
+                "ticket overdue -> " +
+                        "ticketId:" + ticketOverdueEvent.getTicketId() +
+                        ", projectId:" + ticketOverdueEvent.getProjectId() +
+                        ", dueTime:" + ticketOverdueEvent.getDueTime() +
+                        ", assigneeIds:" + ticketOverdueEvent.getAssigneeIds()
+        );
+    }
+    @EventListener
+    public void handleTicketsCreatedEvent(TicketsCreatedEvent ticketsCreatedEvent) {
+        logger.trace(
+                "tickets created -> " +
+                        "ticketIds:" + ticketsCreatedEvent.getTicketIds() +
+                        ", userId:" + ticketsCreatedEvent.getUserId() +
+                        ", projectId:" + ticketsCreatedEvent.getProjectId() +
+                        ", phaseId:" + ticketsCreatedEvent.getPhaseId()
+        );
+    }
+    @EventListener
+    public void handleTicketsPhaseUpdatedEvent(TicketsPhaseUpdatedEvent ticketsPhaseUpdatedEvent) {
+        logger.trace(
+                "tickets phase updated -> " +
+                        "ticketIdsByOldPhaseId:" + ticketsPhaseUpdatedEvent.getTicketIdsByOldPhaseId() +
+                        ", newPhaseId:" + ticketsPhaseUpdatedEvent.getNewPhaseId() +
+                        ", projectId:" + ticketsPhaseUpdatedEvent.getProjectId()
+        );
+    }
+    @EventListener
+    public void handleTicketsAssignedEvent(TicketsAssignedEvent ticketsAssignedEvent) {
+        logger.trace(
+                "tickets assigned -> " +
+                        "assigneeIdsByTicketId:" + ticketsAssignedEvent.getAssigneeIdsByTicketId() +
+                        ", projectId:" + ticketsAssignedEvent.getProjectId()
+        );
+    }
+    @EventListener
+    public void handleTicketsPurgedEvent(TicketsPurgedEvent ticketsPurgedEvent) {
+        logger.trace(
+                "tickets purged -> " +
+                        "projectId:" + ticketsPurgedEvent.getProjectId() +
+                        ", purgedTicketCount:" + ticketsPurgedEvent.getPurgedTicketCount()
+        );
+    }
 
     // user
     @EventListener
@@ -184,6 +296,13 @@ public class EventLogger {
         );
     }
     @EventListener
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        logger.trace(
+                "users created -> " +
+                        "emailAddressByUserId:" + usersCreatedEvent.getEmailAddressByUserId()
+        );
+    }
+    @EventListener
     public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
         logger.trace(
                 "user deleted -> " +
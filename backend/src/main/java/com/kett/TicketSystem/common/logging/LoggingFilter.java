@@ -5,12 +5,29 @@ import org.springframework.stereotype.Component;
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class LoggingFilter implements Filter {
+    // bodies of these types can be arbitrarily large and are read incrementally, so they are never buffered
+    private static final List<String> STREAMED_CONTENT_TYPES = List.of("application/x-ndjson", "text/csv");
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (isStreamed(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
         HttpServletRequest wrappedRequest = new InterceptorRequestWrapper((HttpServletRequest) request);
         chain.doFilter(wrappedRequest, response);
     }
+
+    private Boolean isStreamed(ServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String mediaType = contentType.split(";", 2)[0].trim();
+        return STREAMED_CONTENT_TYPES.stream().anyMatch(mediaType::equalsIgnoreCase);
+    }
 }
@@ -0,0 +1,12 @@
+package com.kett.TicketSystem.common.projection;
+
+import java.util.Map;
+import java.util.Set;
+
+// a replica table kept up to date by a ProjectionQueue.
+// called with the latest value of every changed key, keys whose latest change was a deletion are in deletedKeys.
+// runs in one transaction per batch and is never called concurrently for the same projection
+@FunctionalInterface
+public interface Projection<K, V> {
+    void apply(Map<K, V> upsertedValueByKey, Set<K> deletedKeys);
+}
@@ -0,0 +1,243 @@
+package com.kett.TicketSystem.common.projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// pending changes of one projection, applied in batches by a single thread of its own.
+// a change replaces the pending change of the same key, so a burst of updates to one row costs one write.
+// batches are applied one after another and a key is in at most one of them at a time, so the changes of a key
+// are applied in the order they were enqueued. nothing is written until the first change arrives
+public class ProjectionQueue<K, V> {
+    public static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    public static final int MAX_ATTEMPTS = 5;
+
+    private final Logger logger;
+    private final String name;
+    private final Projection<K, V> projection;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService applyingExecutor;
+
+    // insertion ordered, a coalesced change keeps the position and enqueue time of the first one it replaced,
+    // so the first entry is always the oldest
+    private LinkedHashMap<K, PendingChange<V>> pendingChangeByKey = new LinkedHashMap<>();
+    private boolean drainScheduled = false;
+    private long inFlightSinceNanos = -1;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong appliedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile long lastAppliedLagNanos = 0;
+
+    ProjectionQueue(String name, Projection<K, V> projection, TransactionTemplate transactionTemplate, int maxBatchSize) {
+        this.logger = LoggerFactory.getLogger(ProjectionQueue.class.getName() + "." + name);
+        this.name = name;
+        this.projection = projection;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.applyingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "projection-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void upsert(K key, V value) {
+        enqueue(key, new PendingChange<>(value, false, System.nanoTime(), 0));
+    }
+
+    public void delete(K key) {
+        enqueue(key, new PendingChange<>(null, true, System.nanoTime(), 0));
+    }
+
+    private void enqueue(K key, PendingChange<V> change) {
+        enqueuedCount.incrementAndGet();
+        synchronized (this) {
+            PendingChange<V> pendingChange = pendingChangeByKey.get(key);
+            if (pendingChange != null) {
+                coalescedCount.incrementAndGet();
+                change = new PendingChange<>(change.value(), change.deletion(), pendingChange.enqueuedNanos(), 0);
+            }
+            pendingChangeByKey.put(key, change);
+            if (!drainScheduled) {
+                drainScheduled = true;
+                try {
+                    applyingExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // shutting down, what is still pending is lost like the events of any other listener
+                    droppedCount.addAndGet(pendingChangeByKey.size());
+                    pendingChangeByKey.clear();
+                    drainScheduled = false;
+                }
+            }
+        }
+    }
+
+    // changes that arrive while a batch is applied pile up and go into the next one
+    private void drain() {
+        while (true) {
+            LinkedHashMap<K, PendingChange<V>> batch = new LinkedHashMap<>();
+            synchronized (this) {
+                Iterator<Map.Entry<K, PendingChange<V>>> pendingChanges = pendingChangeByKey.entrySet().iterator();
+                while (pendingChanges.hasNext() && batch.size() < maxBatchSize) {
+                    Map.Entry<K, PendingChange<V>> pendingChange = pendingChanges.next();
+                    batch.put(pendingChange.getKey(), pendingChange.getValue());
+                    pendingChanges.remove();
+                }
+                if (batch.isEmpty()) {
+                    drainScheduled = false;
+                    return;
+                }
+                inFlightSinceNanos = batch.values().iterator().next().enqueuedNanos();
+            }
+
+            if (!apply(batch)) {
+                // drainScheduled stays set, nothing else schedules a drain until the retry ran
+                applyingExecutor.schedule(this::drain, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            }
+        }
+    }
+
+    private boolean apply(LinkedHashMap<K, PendingChange<V>> batch) {
+        boolean applied = applySplittingOnFailure(batch);
+        synchronized (this) {
+            inFlightSinceNanos = -1;
+        }
+        return applied;
+    }
+
+    // a failed batch is split in halves until the failing keys are isolated, the other changes are committed right away.
+    // only the isolated changes are retried, so one bad row costs about 2 * log2(batch size) transactions and not the batch
+    private boolean applySplittingOnFailure(LinkedHashMap<K, PendingChange<V>> batch) {
+        if (tryApply(batch)) {
+            return true;
+        }
+        if (batch.size() == 1) {
+            requeue(batch);
+            return false;
+        }
+
+        LinkedHashMap<K, PendingChange<V>> firstHalf = new LinkedHashMap<>();
+        LinkedHashMap<K, PendingChange<V>> secondHalf = new LinkedHashMap<>();
+        int halfSize = batch.size() / 2;
+        batch.forEach((key, change) -> (firstHalf.size() < halfSize ? firstHalf : secondHalf).put(key, change));
+        boolean firstHalfApplied = applySplittingOnFailure(firstHalf);
+        boolean secondHalfApplied = applySplittingOnFailure(secondHalf);
+        return firstHalfApplied && secondHalfApplied;
+    }
+
+    private boolean tryApply(LinkedHashMap<K, PendingChange<V>> batch) {
+        Map<K, V> upsertedValueByKey = new LinkedHashMap<>();
+        Set<K> deletedKeys = new LinkedHashSet<>();
+        batch.forEach((key, change) -> {
+            if (change.deletion()) {
+                deletedKeys.add(key);
+            } else {
+                upsertedValueByKey.put(key, change.value());
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> projection.apply(upsertedValueByKey, deletedKeys));
+        } catch (RuntimeException e) {
+            failedBatchCount.incrementAndGet();
+            if (batch.size() == 1) {
+                logger.error("could not apply the change of " + batch.keySet().iterator().next() + " to projection " + name, e);
+            } else {
+                logger.warn("could not apply a batch of " + batch.size() + " changes to projection " + name + ", splitting it: " + e.getMessage());
+            }
+            return false;
+        }
+
+        long oldestEnqueuedNanos = batch.values().iterator().next().enqueuedNanos();
+        lastAppliedLagNanos = System.nanoTime() - oldestEnqueuedNanos;
+        appliedCount.addAndGet(batch.size());
+        batchCount.incrementAndGet();
+        return true;
+    }
+
+    // the failed changes go back in front, unless a newer change of the same key arrived in the meantime
+    private synchronized void requeue(LinkedHashMap<K, PendingChange<V>> batch) {
+        LinkedHashMap<K, PendingChange<V>> requeuedChangeByKey = new LinkedHashMap<>();
+        batch.forEach((key, change) -> {
+            if (pendingChangeByKey.containsKey(key)) {
+                return;
+            }
+            if (change.attempts() + 1 >= MAX_ATTEMPTS) {
+                droppedCount.incrementAndGet();
+                logger.error("dropped the change of " + key + " in projection " + name + " after " + MAX_ATTEMPTS + " attempts");
+                return;
+            }
+            requeuedChangeByKey.put(key, new PendingChange<>(change.value(), change.deletion(), change.enqueuedNanos(), change.attempts() + 1));
+        });
+        requeuedChangeByKey.putAll(pendingChangeByKey);
+        pendingChangeByKey = requeuedChangeByKey;
+    }
+
+    void shutdown() {
+        applyingExecutor.shutdownNow();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // how long the oldest change that is not applied yet has been waiting, 0 if the projection is up to date
+    public synchronized Long getLagMillis() {
+        long oldestNanos = inFlightSinceNanos;
+        if (!pendingChangeByKey.isEmpty()) {
+            long oldestPendingNanos = pendingChangeByKey.values().iterator().next().enqueuedNanos();
+            oldestNanos = oldestNanos == -1 ? oldestPendingNanos : Math.min(oldestNanos, oldestPendingNanos);
+        }
+        return oldestNanos == -1 ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestNanos);
+    }
+
+    // from the enqueueing of the oldest change of the last batch until that batch was committed
+    public Long getLastAppliedLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastAppliedLagNanos);
+    }
+
+    public synchronized Integer getPendingCount() {
+        return pendingChangeByKey.size();
+    }
+
+    public Long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public Long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public Long getAppliedCount() {
+        return appliedCount.get();
+    }
+
+    public Long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public Long getFailedBatchCount() {
+        return failedBatchCount.get();
+    }
+
+    public Long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private record PendingChange<V>(V value, boolean deletion, long enqueuedNanos, int attempts) {
+    }
+}
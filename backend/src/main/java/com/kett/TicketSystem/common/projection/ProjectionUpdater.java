@@ -0,0 +1,44 @@
+package com.kett.TicketSystem.common.projection;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// the modules register their replica tables here instead of writing them from one transaction per event.
+// every projection gets a queue of its own, so a slow or failing projection does not hold back the others
+@Component
+public class ProjectionUpdater implements DisposableBean {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, ProjectionQueue<?, ?>> projectionQueueByName = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProjectionUpdater(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <K, V> ProjectionQueue<K, V> register(String name, Projection<K, V> projection) {
+        ProjectionQueue<K, V> projectionQueue = new ProjectionQueue<>(name, projection, transactionTemplate, MAX_BATCH_SIZE);
+        if (projectionQueueByName.putIfAbsent(name, projectionQueue) != null) {
+            projectionQueue.shutdown();
+            throw new IllegalStateException("a projection named " + name + " is already registered");
+        }
+        return projectionQueue;
+    }
+
+    public Map<String, ProjectionQueue<?, ?>> getProjectionQueues() {
+        return Collections.unmodifiableMap(projectionQueueByName);
+    }
+
+    @Override
+    public void destroy() {
+        projectionQueueByName.values().forEach(ProjectionQueue::shutdown);
+    }
+}
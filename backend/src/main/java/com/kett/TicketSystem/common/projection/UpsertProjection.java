@@ -0,0 +1,63 @@
+package com.kett.TicketSystem.common.projection;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// the usual replica with one row per key: deleted keys are removed in bulk, the rows of the upserted keys are
+// loaded with one query, existing rows are updated in place, missing ones are created and all of them saved together
+public class UpsertProjection<K, V, R> implements Projection<K, V> {
+    private final Function<Collection<K>, List<R>> finder;
+    private final Function<R, K> keyOfRow;
+    private final BiConsumer<R, V> updater;
+    private final BiFunction<K, V, R> factory;
+    private final Function<List<R>, List<R>> saveAll;
+    private final Consumer<Set<K>> deleteAll;
+
+    public UpsertProjection(
+            Function<Collection<K>, List<R>> finder,
+            Function<R, K> keyOfRow,
+            BiConsumer<R, V> updater,
+            BiFunction<K, V, R> factory,
+            Function<List<R>, List<R>> saveAll,
+            Consumer<Set<K>> deleteAll
+    ) {
+        this.finder = finder;
+        this.keyOfRow = keyOfRow;
+        this.updater = updater;
+        this.factory = factory;
+        this.saveAll = saveAll;
+        this.deleteAll = deleteAll;
+    }
+
+    @Override
+    public void apply(Map<K, V> upsertedValueByKey, Set<K> deletedKeys) {
+        upsert(upsertedValueByKey, deletedKeys);
+    }
+
+    // returns the saved rows, for projections that have to follow up on them
+    public List<R> upsert(Map<K, V> upsertedValueByKey, Set<K> deletedKeys) {
+        if (!deletedKeys.isEmpty()) {
+            deleteAll.accept(deletedKeys);
+        }
+        if (upsertedValueByKey.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<R> rows = new ArrayList<>(finder.apply(upsertedValueByKey.keySet()));
+        Set<K> replicatedKeys = new HashSet<>();
+        rows.forEach(row -> {
+            K key = keyOfRow.apply(row);
+            updater.accept(row, upsertedValueByKey.get(key));
+            replicatedKeys.add(key);
+        });
+        upsertedValueByKey.forEach((key, value) -> {
+            if (!replicatedKeys.contains(key)) {
+                rows.add(factory.apply(key, value));
+            }
+        });
+        return saveAll.apply(rows);
+    }
+}
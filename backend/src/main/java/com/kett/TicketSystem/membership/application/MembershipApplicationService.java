@@ -2,6 +2,8 @@
 package com.kett.TicketSystem.membership.application;
 
 import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.common.EntityTag;
+import com.kett.TicketSystem.common.RequestLookupCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.membership.application.dto.MembershipPostDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPutRoleDto;
@@ -20,42 +22,67 @@ import java.util.UUID;
 public class MembershipApplicationService {
     private final MembershipDomainService membershipDomainService;
     private final DtoMapper dtoMapper;
+    private final RequestLookupCache requestLookupCache;
 
     @Autowired
-    public MembershipApplicationService(MembershipDomainService membershipDomainService, DtoMapper dtoMapper) {
+    public MembershipApplicationService(
+            MembershipDomainService membershipDomainService,
+            DtoMapper dtoMapper,
+            RequestLookupCache requestLookupCache
+    ) {
         this.membershipDomainService = membershipDomainService;
         this.dtoMapper = dtoMapper;
+        this.requestLookupCache = requestLookupCache;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id))," +
-            "'ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
+    // lookups for @PreAuthorize, memoized per request so the guarded method reuses what the check loaded
+
+    public UUID getProjectIdByMembershipId(UUID id) {
+        return this.getMembership(id).getProjectId();
+    }
+
+    public UUID getUserIdByMembershipId(UUID id) {
+        return this.getMembership(id).getUserId();
+    }
+
+    public UUID getUserIdByUserEmailAddress(EmailAddress email) {
+        return requestLookupCache.computeIfAbsent(
+                "userIdByEmailAddress",
+                email,
+                () -> membershipDomainService.getUserIdByUserEmailAddress(email)
+        );
+    }
+
+    private Membership getMembership(UUID id) {
+        return requestLookupCache.computeIfAbsent("membershipById", id, () -> membershipDomainService.getMembershipById(id));
+    }
+
+    @PreAuthorize("hasPermission(@membershipApplicationService.getProjectIdByMembershipId(#id), 'ADMIN') " +
+            "or hasPermission(@membershipApplicationService.getUserIdByMembershipId(#id), 'USER')")
     public MembershipResponseDto getMembershipById(UUID id) {
-        Membership membership = membershipDomainService.getMembershipById(id);
+        Membership membership = this.getMembership(id);
         return dtoMapper.mapMembershipToMembershipResponseDto(membership);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#userId))")
+    @PreAuthorize("hasPermission(#userId, 'USER')")
     public List<MembershipResponseDto> getMembershipsByUserId(UUID userId) {
         List<Membership> memberships = membershipDomainService.getMembershipsByUserId(userId);
         return dtoMapper.mapMembershipListToMembershipResponseDtoList(memberships);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@membershipDomainService.getUserIdByUserEmailAddress(#email)))")
+    @PreAuthorize("hasPermission(@membershipApplicationService.getUserIdByUserEmailAddress(#email), 'USER')")
     public List<MembershipResponseDto> getMembershipsByEmail(EmailAddress email) {
         List<Membership> memberships = membershipDomainService.getMembershipsByUserEmail(email);
         return dtoMapper.mapMembershipListToMembershipResponseDtoList(memberships);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
     public List<MembershipResponseDto> getMembershipsByProjectId(UUID projectId) {
         List<Membership> memberships = membershipDomainService.getMembershipsByProjectId(projectId);
         return dtoMapper.mapMembershipListToMembershipResponseDtoList(memberships);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#membershipPostDto.projectId))")
+    @PreAuthorize("hasPermission(#membershipPostDto.projectId, 'ADMIN')")
     public MembershipResponseDto addMembership(MembershipPostDto membershipPostDto) {
         Membership membership = membershipDomainService.addNewMembership(
                 dtoMapper.mapMembershipPostDtoToMembership(membershipPostDto)
@@ -63,19 +90,20 @@ public class MembershipApplicationService {
         return dtoMapper.mapMembershipToMembershipResponseDto(membership);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
-    public void updateMembershipState(UUID id, MembershipPutStateDto membershipPutStateDto) {
+    @PreAuthorize("hasPermission(@membershipApplicationService.getUserIdByMembershipId(#id), 'USER')")
+    public void updateMembershipState(UUID id, MembershipPutStateDto membershipPutStateDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, this.getMembership(id).getVersion());
         membershipDomainService.updateMemberShipState(id, membershipPutStateDto.getState());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id)))")
-    public void updateMembershipRole(UUID id, MembershipPutRoleDto membershipPutRoleDto) {
+    @PreAuthorize("hasPermission(@membershipApplicationService.getProjectIdByMembershipId(#id), 'ADMIN')")
+    public void updateMembershipRole(UUID id, MembershipPutRoleDto membershipPutRoleDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, this.getMembership(id).getVersion());
         membershipDomainService.updateMembershipRole(id, membershipPutRoleDto.getRole());
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@membershipDomainService.getProjectIdByMembershipId(#id))," +
-            "'ROLE_USER_'.concat(@membershipDomainService.getUserIdByMembershipId(#id)))")
+    @PreAuthorize("hasPermission(@membershipApplicationService.getProjectIdByMembershipId(#id), 'ADMIN') " +
+            "or hasPermission(@membershipApplicationService.getUserIdByMembershipId(#id), 'USER')")
     public void deleteMembershipById(UUID id) {
         membershipDomainService.deleteMembershipById(id);
     }
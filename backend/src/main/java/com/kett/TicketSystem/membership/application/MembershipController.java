@@ -1,5 +1,6 @@
 package com.kett.TicketSystem.membership.application;
 
+import com.kett.TicketSystem.common.EntityTag;
 import com.kett.TicketSystem.common.exceptions.NoParametersException;
 import com.kett.TicketSystem.common.exceptions.TooManyParametersException;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
@@ -8,6 +9,7 @@ import com.kett.TicketSystem.membership.application.dto.MembershipPutStateDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPostDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipResponseDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,7 +22,7 @@ import java.util.UUID;
 
 @RestController
 @Transactional
-@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true", exposedHeaders = {HttpHeaders.ETAG})
 @RequestMapping("/memberships")
 public class MembershipController {
     private final MembershipApplicationService membershipApplicationService;
@@ -34,7 +36,10 @@ public class MembershipController {
     @GetMapping("/{id}")
     public ResponseEntity<MembershipResponseDto> getMembershipById(@PathVariable UUID id) {
         MembershipResponseDto membershipResponseDto = membershipApplicationService.getMembershipById(id);
-        return new ResponseEntity<>(membershipResponseDto, HttpStatus.OK);
+        return ResponseEntity
+                .ok()
+                .eTag(EntityTag.fromVersion(membershipResponseDto.getVersion()))
+                .body(membershipResponseDto);
     }
 
     @GetMapping
@@ -79,14 +84,14 @@ public class MembershipController {
     }
 
     @PutMapping("/{id}/state")
-    public ResponseEntity<?> updateMembershipState(@PathVariable UUID id, @RequestBody MembershipPutStateDto membershipPutStateDto) {
-        membershipApplicationService.updateMembershipState(id, membershipPutStateDto);
+    public ResponseEntity<?> updateMembershipState(@PathVariable UUID id, @RequestBody MembershipPutStateDto membershipPutStateDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        membershipApplicationService.updateMembershipState(id, membershipPutStateDto, ifMatch);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @PutMapping("/{id}/role")
-    public ResponseEntity<?> updateMembershipRole(@PathVariable UUID id, @RequestBody MembershipPutRoleDto membershipPutRoleDto) {
-        membershipApplicationService.updateMembershipRole(id, membershipPutRoleDto);
+    public ResponseEntity<?> updateMembershipRole(@PathVariable UUID id, @RequestBody MembershipPutRoleDto membershipPutRoleDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        membershipApplicationService.updateMembershipRole(id, membershipPutRoleDto, ifMatch);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
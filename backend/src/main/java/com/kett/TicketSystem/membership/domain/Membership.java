@@ -19,6 +19,11 @@ public class Membership implements GrantedAuthority {
     @Column(length = 16)
     private UUID id;
 
+    @Version
+    @Getter
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @Getter
     @Column(length = 16)
     private UUID projectId;
@@ -1,11 +1,18 @@
 package com.kett.TicketSystem.membership.domain;
 
+import com.kett.TicketSystem.common.ChunkedDeleter;
+import com.kett.TicketSystem.common.EmailResolutionCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.common.projection.ProjectionQueue;
+import com.kett.TicketSystem.common.projection.ProjectionUpdater;
+import com.kett.TicketSystem.common.projection.UpsertProjection;
 import com.kett.TicketSystem.membership.domain.consumedData.ProjectDataOfMembership;
 import com.kett.TicketSystem.membership.domain.consumedData.UserDataOfMembership;
 import com.kett.TicketSystem.membership.domain.events.LastProjectMemberDeletedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
 import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipRoleUpdatedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipsPurgedEvent;
 import com.kett.TicketSystem.membership.domain.events.UnacceptedProjectMembershipCreatedEvent;
 import com.kett.TicketSystem.membership.domain.exceptions.AlreadyLastAdminException;
 import com.kett.TicketSystem.membership.domain.exceptions.MembershipAlreadyExistsException;
@@ -15,6 +22,7 @@ import com.kett.TicketSystem.common.exceptions.ImpossibleException;
 import com.kett.TicketSystem.membership.repository.ProjectDataOfMembershipRepository;
 import com.kett.TicketSystem.membership.repository.UserDataOfMembershipRepository;
 import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectsCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
 import com.kett.TicketSystem.common.exceptions.NoProjectFoundException;
@@ -22,13 +30,16 @@ import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.common.exceptions.NoUserFoundException;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.*;
 
@@ -39,18 +50,38 @@ public class MembershipDomainService {
     private final ApplicationEventPublisher eventPublisher;
     private final UserDataOfMembershipRepository userDataOfMembershipRepository;
     private final ProjectDataOfMembershipRepository projectDataOfMembershipRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final EmailResolutionCache emailResolutionCache;
+    private final ProjectionQueue<UUID, EmailAddress> userDataProjection;
 
     @Autowired
     public MembershipDomainService(
             MembershipRepository membershipRepository,
             ApplicationEventPublisher eventPublisher,
             UserDataOfMembershipRepository userDataOfMembershipRepository,
-            ProjectDataOfMembershipRepository projectDataOfMembershipRepository
+            ProjectDataOfMembershipRepository projectDataOfMembershipRepository,
+            ChunkedDeleter chunkedDeleter,
+            EmailResolutionCache emailResolutionCache,
+            ProjectionUpdater projectionUpdater
     ) {
         this.membershipRepository = membershipRepository;
         this.eventPublisher = eventPublisher;
         this.userDataOfMembershipRepository = userDataOfMembershipRepository;
         this.projectDataOfMembershipRepository = projectDataOfMembershipRepository;
+        this.chunkedDeleter = chunkedDeleter;
+        this.emailResolutionCache = emailResolutionCache;
+        // the replica of the users, written in batches by the projection updater
+        this.userDataProjection = projectionUpdater.register(
+                "UserDataOfMembership",
+                new UpsertProjection<UUID, EmailAddress, UserDataOfMembership>(
+                        userDataOfMembershipRepository::findByUserIdIn,
+                        UserDataOfMembership::getUserId,
+                        UserDataOfMembership::setUserEmail,
+                        UserDataOfMembership::new,
+                        userDataOfMembershipRepository::saveAll,
+                        userDataOfMembershipRepository::deleteByUserIdIn
+                )
+        );
     }
 
 
@@ -124,12 +155,8 @@ public class MembershipDomainService {
         );
     }
 
-    public List<GrantedAuthority> getProjectAuthoritiesByUserId(UUID userId) {
-        return membershipRepository
-                .findByUserIdAndStateEquals(userId, State.ACCEPTED)
-                .stream()
-                .map(membership -> (GrantedAuthority) membership)
-                .toList();
+    public List<Membership> getAcceptedMembershipsByUserId(UUID userId) {
+        return membershipRepository.findByUserIdAndStateEquals(userId, State.ACCEPTED);
     }
 
     public List<Membership> getMembershipsByProjectId(UUID projectId) throws NoMembershipFoundException {
@@ -149,11 +176,13 @@ public class MembershipDomainService {
     }
 
     public UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
-        List<UserDataOfMembership> userData = userDataOfMembershipRepository.findByUserEmailEquals(emailAddress);
-        if (userData.isEmpty()) {
-            throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
-        }
-        return userData.get(0).getUserId();
+        return emailResolutionCache.getUserId(emailAddress, () -> {
+            List<UserDataOfMembership> userData = userDataOfMembershipRepository.findByUserEmailNormalizedAddress(emailAddress.getNormalizedAddress());
+            if (userData.isEmpty()) {
+                throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
+            }
+            return userData.get(0).getUserId();
+        });
     }
 
 
@@ -190,6 +219,14 @@ public class MembershipDomainService {
         }
         existingMembership.setRole(role);
         membershipRepository.save(existingMembership);
+        eventPublisher.publishEvent(
+                new MembershipRoleUpdatedEvent(
+                        existingMembership.getId(),
+                        existingMembership.getProjectId(),
+                        existingMembership.getUserId(),
+                        role
+                )
+        );
     }
 
 
@@ -242,6 +279,9 @@ public class MembershipDomainService {
         Membership newAdmin = memberships.get(new Random().nextInt(memberships.size()));
         newAdmin.setRole(Role.ADMIN);
         membershipRepository.save(newAdmin);
+        eventPublisher.publishEvent(
+                new MembershipRoleUpdatedEvent(newAdmin.getId(), newAdmin.getProjectId(), newAdmin.getUserId(), Role.ADMIN)
+        );
     }
 
 
@@ -271,34 +311,62 @@ public class MembershipDomainService {
         this.addDefaultMembership(defaultMembership);
     }
 
+    // the projects are brand new, nobody can be a member yet, so the memberships are inserted without checking each one
     @EventListener
-    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
-        List<Membership> deletedMemberships = membershipRepository.deleteByProjectId(projectDeletedEvent.getProjectId());
-        deletedMemberships.forEach(membership ->
+    @Async
+    public void handleDefaultProjectsCreatedEvent(DefaultProjectsCreatedEvent defaultProjectsCreatedEvent) {
+        List<ProjectDataOfMembership> projectData = new ArrayList<>();
+        List<Membership> defaultMemberships = new ArrayList<>();
+        defaultProjectsCreatedEvent.getUserIdByProjectId().forEach((projectId, userId) -> {
+            projectData.add(new ProjectDataOfMembership(projectId));
+            Membership defaultMembership = new Membership(projectId, userId, Role.ADMIN);
+            defaultMembership.setState(State.ACCEPTED);
+            defaultMemberships.add(defaultMembership);
+        });
+        projectDataOfMembershipRepository.saveAll(projectData);
+        membershipRepository.saveAll(defaultMemberships).forEach(membership ->
                 eventPublisher.publishEvent(
-                        new MembershipDeletedEvent(membership.getId(), membership.getProjectId(), membership.getUserId())
+                        new MembershipAcceptedEvent(membership.getId(), membership.getProjectId(), membership.getUserId())
                 )
         );
-        projectDataOfMembershipRepository.deleteByProjectId(projectDeletedEvent.getProjectId());
     }
 
-    @EventListener
+    // starts once the deletion of the project is committed and runs outside of a transaction, the chunks are
+    // committed one by one and their events are published afterwards
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        UUID projectId = projectDeletedEvent.getProjectId();
+        chunkedDeleter.deleteAtOnce(() -> projectDataOfMembershipRepository.deleteByProjectId(projectId));
+        Long deletedMembershipCount = chunkedDeleter.deleteInChunks(
+                chunk -> membershipRepository.findByProjectId(projectId, chunk),
+                memberships -> membershipRepository.deleteMembershipsByIdIn(
+                        memberships.stream().map(Membership::getId).toList()
+                ),
+                memberships -> memberships.forEach(membership ->
+                        eventPublisher.publishEvent(
+                                new MembershipDeletedEvent(membership.getId(), membership.getProjectId(), membership.getUserId())
+                        )
+                )
+        );
+        eventPublisher.publishEvent(new MembershipsPurgedEvent(projectId, deletedMembershipCount));
+    }
+
+    // the replica is only enqueued once the change of the user is committed, a rolled back change never reaches it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserCreatedEvent(UserCreatedEvent userCreatedEvent) {
-        if (!userDataOfMembershipRepository.existsByUserId(userCreatedEvent.getUserId())) {
-            userDataOfMembershipRepository.save(new UserDataOfMembership(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress()));
-        }
+        userDataProjection.upsert(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        usersCreatedEvent.getEmailAddressByUserId().forEach(userDataProjection::upsert);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
-        UserDataOfMembership userDataOfMembership =
-                userDataOfMembershipRepository
-                        .findByUserId(userPatchedEvent.getUserId())
-                        .get(0);
-        userDataOfMembership.setUserEmail(userPatchedEvent.getEmailAddress());
-        userDataOfMembershipRepository.save(userDataOfMembership);
+        userDataProjection.upsert(userPatchedEvent.getUserId(), userPatchedEvent.getEmailAddress());
     }
 
     @EventListener
@@ -310,6 +378,10 @@ public class MembershipDomainService {
                     new MembershipDeletedEvent(membership.getId(), membership.getProjectId(), membership.getUserId())
             );
         });
-        userDataOfMembershipRepository.deleteByUserId(userDeletedEvent.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleCommittedUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        userDataProjection.delete(userDeletedEvent.getUserId());
     }
 }
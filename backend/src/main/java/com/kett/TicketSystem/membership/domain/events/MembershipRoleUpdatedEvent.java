@@ -0,0 +1,23 @@
+package com.kett.TicketSystem.membership.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import com.kett.TicketSystem.membership.domain.Role;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class MembershipRoleUpdatedEvent extends DomainEvent {
+    private final UUID membershipId;
+    private final UUID projectId;
+    private final UUID userId;
+    private final Role role;
+
+    public MembershipRoleUpdatedEvent(UUID membershipId, UUID projectId, UUID userId, Role role) {
+        super();
+        this.membershipId = membershipId;
+        this.projectId = projectId;
+        this.userId = userId;
+        this.role = role;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.membership.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class MembershipsPurgedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Long purgedMembershipCount;
+
+    public MembershipsPurgedEvent(UUID projectId, Long purgedMembershipCount) {
+        super();
+        this.projectId = projectId;
+        this.purgedMembershipCount = purgedMembershipCount;
+    }
+}
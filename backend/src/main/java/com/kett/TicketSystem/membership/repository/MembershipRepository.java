@@ -3,14 +3,20 @@ package com.kett.TicketSystem.membership.repository;
 import com.kett.TicketSystem.membership.domain.Membership;
 import com.kett.TicketSystem.membership.domain.Role;
 import com.kett.TicketSystem.membership.domain.State;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     List<Membership> findByUserId(UUID userId);
     List<Membership> findByProjectId(UUID projectId);
+    List<Membership> findByProjectId(UUID projectId, Pageable pageable);
     List<Membership> findByProjectIdAndStateEquals(UUID projectId, State state);
     List<Membership> findByUserIdAndStateEquals(UUID userId, State state);
 
@@ -19,5 +25,8 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     Integer countMembershipByProjectIdAndStateEqualsAndRoleEquals(UUID projectId, State state, Role role);
 
     Long removeById(UUID id);
-    List<Membership> deleteByProjectId(UUID projectId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Membership m where m.id in :ids")
+    Integer deleteMembershipsByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -1,18 +1,27 @@
 package com.kett.TicketSystem.membership.repository;
 
-import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.membership.domain.consumedData.UserDataOfMembership;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface UserDataOfMembershipRepository extends JpaRepository<UserDataOfMembership, UUID> {
     List<UserDataOfMembership> findByUserId(UUID userId);
-    List<UserDataOfMembership> findByUserEmailEquals(EmailAddress emailAddress);
+    List<UserDataOfMembership> findByUserEmailNormalizedAddress(String normalizedAddress);
     Integer deleteByUserId(UUID userId);
 
     Boolean existsByUserId(UUID userId);
+
+    List<UserDataOfMembership> findByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UserDataOfMembership u where u.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
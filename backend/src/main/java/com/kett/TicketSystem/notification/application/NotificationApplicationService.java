@@ -27,30 +27,30 @@ public class NotificationApplicationService {
         this.dtoMapper = dtoMapper;
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(@notificationDomainService.getGetRecipientIdByNotificationId(#id), 'USER')")
     public NotificationResponseDto getNotificationById(UUID id) {
         Notification notification = notificationDomainService.getNotificationById(id);
         return dtoMapper.mapNotificationToNotificationResponseDto(notification);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#recipientId))")
+    @PreAuthorize("hasPermission(#recipientId, 'USER')")
     public List<NotificationResponseDto> getNotificationsByRecipientId(UUID recipientId) {
         List<Notification> notifications = notificationDomainService.getNotificationsByRecipientId(recipientId);
         return dtoMapper.mapNotificationListToNotificationResponseDtoList(notifications);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getUserIdByUserEmailAddress(#email)))")
+    @PreAuthorize("hasPermission(@notificationDomainService.getUserIdByUserEmailAddress(#email), 'USER')")
     public List<NotificationResponseDto> getNotificationsByEmail(EmailAddress email) {
         List<Notification> notifications = notificationDomainService.getNotificationsByUserEmail(email);
         return dtoMapper.mapNotificationListToNotificationResponseDtoList(notifications);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(@notificationDomainService.getGetRecipientIdByNotificationId(#id), 'USER')")
     public void patchNotification(UUID id, NotificationPatchDto notificationPatchDto) {
         notificationDomainService.patchById(id, notificationPatchDto.getIsRead());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(@notificationDomainService.getGetRecipientIdByNotificationId(#id)))")
+    @PreAuthorize("hasPermission(@notificationDomainService.getGetRecipientIdByNotificationId(#id), 'USER')")
     public void deleteNotificationById(UUID id) {
         notificationDomainService.deleteById(id);
     }
@@ -1,6 +1,10 @@
 package com.kett.TicketSystem.notification.domain;
 
+import com.kett.TicketSystem.common.EmailResolutionCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.common.projection.ProjectionQueue;
+import com.kett.TicketSystem.common.projection.ProjectionUpdater;
+import com.kett.TicketSystem.common.projection.UpsertProjection;
 import com.kett.TicketSystem.common.exceptions.IllegalStateUpdateException;
 import com.kett.TicketSystem.common.exceptions.ImpossibleException;
 import com.kett.TicketSystem.membership.domain.events.UnacceptedProjectMembershipCreatedEvent;
@@ -10,32 +14,53 @@ import com.kett.TicketSystem.notification.domain.exceptions.NotificationExceptio
 import com.kett.TicketSystem.notification.repository.NotificationRepository;
 import com.kett.TicketSystem.notification.repository.UserDataOfNotificationRepository;
 import com.kett.TicketSystem.ticket.domain.events.TicketAssignedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketOverdueEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketsAssignedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketUnassignedEvent;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Transactional
 public class NotificationDomainService {
     private final NotificationRepository notificationRepository;
     private final UserDataOfNotificationRepository userDataOfNotificationRepository;
+    private final EmailResolutionCache emailResolutionCache;
+    private final ProjectionQueue<UUID, EmailAddress> userDataProjection;
 
     @Autowired
     public NotificationDomainService(
             NotificationRepository notificationRepository,
-            UserDataOfNotificationRepository userDataOfNotificationRepository
+            UserDataOfNotificationRepository userDataOfNotificationRepository,
+            EmailResolutionCache emailResolutionCache,
+            ProjectionUpdater projectionUpdater
     ) {
         this.notificationRepository = notificationRepository;
         this.userDataOfNotificationRepository = userDataOfNotificationRepository;
+        this.emailResolutionCache = emailResolutionCache;
+        // the replica of the users, written in batches by the projection updater
+        this.userDataProjection = projectionUpdater.register(
+                "UserDataOfNotification",
+                new UpsertProjection<UUID, EmailAddress, UserDataOfNotification>(
+                        userDataOfNotificationRepository::findByUserIdIn,
+                        UserDataOfNotification::getUserId,
+                        UserDataOfNotification::setUserEmail,
+                        UserDataOfNotification::new,
+                        userDataOfNotificationRepository::saveAll,
+                        userDataOfNotificationRepository::deleteByUserIdIn
+                )
+        );
     }
 
     public Notification getNotificationById(UUID id) throws NoNotificationFoundException {
@@ -73,11 +98,13 @@ public class NotificationDomainService {
     }
 
     public UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
-        List<UserDataOfNotification> userData = userDataOfNotificationRepository.findByUserEmailEquals(emailAddress);
-        if (userData.isEmpty()) {
-            throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
-        }
-        return userData.get(0).getUserId();
+        return emailResolutionCache.getUserId(emailAddress, () -> {
+            List<UserDataOfNotification> userData = userDataOfNotificationRepository.findByUserEmailNormalizedAddress(emailAddress.getNormalizedAddress());
+            if (userData.isEmpty()) {
+                throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
+            }
+            return userData.get(0).getUserId();
+        });
     }
 
     public void patchById(UUID id, Boolean isRead) throws NoNotificationFoundException, NotificationException, IllegalStateUpdateException {
@@ -120,6 +147,19 @@ public class NotificationDomainService {
         notificationRepository.save(notification);
     }
 
+    @EventListener
+    @Async
+    public void handleTicketsAssignedEvent(TicketsAssignedEvent ticketsAssignedEvent) {
+        List<Notification> notifications = new ArrayList<>();
+        ticketsAssignedEvent.getAssigneeIdsByTicketId().forEach((ticketId, assigneeIds) -> {
+            String message =
+                    "You got assigned to ticket " + ticketId +
+                    " of project " + ticketsAssignedEvent.getProjectId() + ".";
+            assigneeIds.forEach(assigneeId -> notifications.add(new Notification(assigneeId, message)));
+        });
+        notificationRepository.saveAll(notifications);
+    }
+
     @EventListener
     @Async
     public void handleTicketUnassignedEvent(TicketUnassignedEvent ticketUnassignedEvent) {
@@ -134,25 +174,41 @@ public class NotificationDomainService {
 
     @EventListener
     @Async
+    public void handleTicketOverdueEvent(TicketOverdueEvent ticketOverdueEvent) {
+        String message =
+                "Ticket " + ticketOverdueEvent.getTicketId() +
+                " of project " + ticketOverdueEvent.getProjectId() +
+                " is overdue since " + ticketOverdueEvent.getDueTime() + ".";
+
+        List<Notification> notifications = new ArrayList<>();
+        ticketOverdueEvent.getAssigneeIds().forEach(assigneeId -> notifications.add(new Notification(assigneeId, message)));
+        notificationRepository.saveAll(notifications);
+    }
+
+    // the replica is only enqueued once the change of the user is committed, a rolled back change never reaches it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserCreatedEvent(UserCreatedEvent userCreatedEvent) {
-        userDataOfNotificationRepository.save(new UserDataOfNotification(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress()));
+        userDataProjection.upsert(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        usersCreatedEvent.getEmailAddressByUserId().forEach(userDataProjection::upsert);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
-        UserDataOfNotification userDataOfNotification =
-                userDataOfNotificationRepository
-                        .findByUserId(userPatchedEvent.getUserId())
-                        .get(0);
-        userDataOfNotification.setUserEmail(userPatchedEvent.getEmailAddress());
-        userDataOfNotificationRepository.save(userDataOfNotification);
+        userDataProjection.upsert(userPatchedEvent.getUserId(), userPatchedEvent.getEmailAddress());
     }
 
     @EventListener
     @Async
     public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
         this.deleteByRecipientId(userDeletedEvent.getUserId());
-        userDataOfNotificationRepository.deleteByUserId(userDeletedEvent.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleCommittedUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
+        userDataProjection.delete(userDeletedEvent.getUserId());
     }
 }
@@ -1,16 +1,25 @@
 package com.kett.TicketSystem.notification.repository;
 
-import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.notification.domain.consumedData.UserDataOfNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface UserDataOfNotificationRepository extends JpaRepository<UserDataOfNotification, UUID> {
     List<UserDataOfNotification> findByUserId(UUID userId);
-    List<UserDataOfNotification> findByUserEmailEquals(EmailAddress emailAddress);
+    List<UserDataOfNotification> findByUserEmailNormalizedAddress(String normalizedAddress);
     Integer deleteByUserId(UUID userId);
+
+    List<UserDataOfNotification> findByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UserDataOfNotification u where u.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
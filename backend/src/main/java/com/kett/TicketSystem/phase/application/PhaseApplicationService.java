@@ -1,6 +1,8 @@
 package com.kett.TicketSystem.phase.application;
 
 import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.common.EntityTag;
+import com.kett.TicketSystem.common.RequestLookupCache;
 import com.kett.TicketSystem.phase.application.dto.PhasePutNameDto;
 import com.kett.TicketSystem.phase.application.dto.PhasePutPositionDto;
 import com.kett.TicketSystem.phase.application.dto.PhasePostDto;
@@ -18,30 +20,41 @@ import java.util.UUID;
 public class PhaseApplicationService {
     private final PhaseDomainService phaseDomainService;
     private final DtoMapper dtoMapper;
+    private final RequestLookupCache requestLookupCache;
 
     @Autowired
-    public PhaseApplicationService(PhaseDomainService phaseDomainService, DtoMapper dtoMapper) {
+    public PhaseApplicationService(
+            PhaseDomainService phaseDomainService,
+            DtoMapper dtoMapper,
+            RequestLookupCache requestLookupCache
+    ) {
         this.phaseDomainService = phaseDomainService;
         this.dtoMapper = dtoMapper;
+        this.requestLookupCache = requestLookupCache;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    // lookup for @PreAuthorize, memoized per request so the guarded method reuses the phase the check loaded
+    public UUID getProjectIdByPhaseId(UUID id) {
+        return this.getPhase(id).getProjectId();
+    }
+
+    private Phase getPhase(UUID id) {
+        return requestLookupCache.computeIfAbsent("phaseById", id, () -> phaseDomainService.getPhaseById(id));
+    }
+
+    @PreAuthorize("hasPermission(@phaseApplicationService.getProjectIdByPhaseId(#id), 'MEMBER')")
     public PhaseResponseDto getPhaseById(UUID id) {
-        Phase phase = phaseDomainService.getPhaseById(id);
+        Phase phase = this.getPhase(id);
         return dtoMapper.mapPhaseToPhaseResponseDto(phase);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
     public List<PhaseResponseDto> getPhasesByProjectId(UUID projectId) {
         List<Phase> phases = phaseDomainService.getPhasesByProjectId(projectId);
         return dtoMapper.mapPhaseListToPhaseResponseDtoList(phases);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#phasePostDto.projectId))")
+    @PreAuthorize("hasPermission(#phasePostDto.projectId, 'ADMIN')")
     public PhaseResponseDto addPhase(PhasePostDto phasePostDto) {
         Phase phase = phaseDomainService.createPhase(
                 dtoMapper.mapPhasePostDtoToPhase(phasePostDto), phasePostDto.getPreviousPhaseId()
@@ -50,17 +63,19 @@ public class PhaseApplicationService {
     }
 
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
-    public void patchPhaseName(UUID id, PhasePutNameDto phasePutNameDto) {
+    @PreAuthorize("hasPermission(@phaseApplicationService.getProjectIdByPhaseId(#id), 'ADMIN')")
+    public void patchPhaseName(UUID id, PhasePutNameDto phasePutNameDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, this.getPhase(id).getVersion());
         phaseDomainService.patchPhaseName(id, phasePutNameDto.getName());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
-    public void patchPhasePosition(UUID id, PhasePutPositionDto phasePutPositionDto) {
+    @PreAuthorize("hasPermission(@phaseApplicationService.getProjectIdByPhaseId(#id), 'ADMIN')")
+    public void patchPhasePosition(UUID id, PhasePutPositionDto phasePutPositionDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, this.getPhase(id).getVersion());
         phaseDomainService.patchPhasePosition(id, phasePutPositionDto.getPreviousPhase());
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(@phaseDomainService.getProjectIdByPhaseId(#id)))")
+    @PreAuthorize("hasPermission(@phaseApplicationService.getProjectIdByPhaseId(#id), 'ADMIN')")
     public void deletePhaseById(UUID id) {
         phaseDomainService.deleteById(id);
     }
@@ -1,11 +1,13 @@
 package com.kett.TicketSystem.phase.application;
 
+import com.kett.TicketSystem.common.EntityTag;
 import com.kett.TicketSystem.common.exceptions.NoParametersException;
 import com.kett.TicketSystem.phase.application.dto.PhasePutNameDto;
 import com.kett.TicketSystem.phase.application.dto.PhasePutPositionDto;
 import com.kett.TicketSystem.phase.application.dto.PhasePostDto;
 import com.kett.TicketSystem.phase.application.dto.PhaseResponseDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,7 +20,7 @@ import java.util.UUID;
 
 @RestController
 @Transactional
-@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true", exposedHeaders = {HttpHeaders.ETAG})
 @RequestMapping("/phases")
 public class PhaseController {
     private final PhaseApplicationService phaseApplicationService;
@@ -31,7 +33,10 @@ public class PhaseController {
     @GetMapping("/{id}")
     public ResponseEntity<PhaseResponseDto> getPhaseById(@PathVariable UUID id) {
         PhaseResponseDto phaseResponseDto = phaseApplicationService.getPhaseById(id);
-        return new ResponseEntity<>(phaseResponseDto, HttpStatus.OK);
+        return ResponseEntity
+                .ok()
+                .eTag(EntityTag.fromVersion(phaseResponseDto.getVersion()))
+                .body(phaseResponseDto);
     }
 
     @GetMapping
@@ -61,14 +66,14 @@ public class PhaseController {
     }
 
     @PutMapping("/{id}/name")
-    public ResponseEntity<?> patchPhaseName(@PathVariable UUID id, @RequestBody PhasePutNameDto phasePutNameDto) {
-        phaseApplicationService.patchPhaseName(id, phasePutNameDto);
+    public ResponseEntity<?> patchPhaseName(@PathVariable UUID id, @RequestBody PhasePutNameDto phasePutNameDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        phaseApplicationService.patchPhaseName(id, phasePutNameDto, ifMatch);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @PutMapping("/{id}/position")
-    public ResponseEntity<?> patchPhasePosition(@PathVariable UUID id, @RequestBody PhasePutPositionDto phasePutPositionDto) {
-        phaseApplicationService.patchPhasePosition(id, phasePutPositionDto);
+    public ResponseEntity<?> patchPhasePosition(@PathVariable UUID id, @RequestBody PhasePutPositionDto phasePutPositionDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        phaseApplicationService.patchPhasePosition(id, phasePutPositionDto, ifMatch);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
@@ -18,4 +18,5 @@ public class PhaseResponseDto {
     private UUID previousPhaseId;
     private UUID nextPhaseId;
     private Integer ticketCount;
+    private Long version;
 }
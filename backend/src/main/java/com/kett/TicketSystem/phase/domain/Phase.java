@@ -18,6 +18,11 @@ public class Phase {
     @Column(length = 16)
     private UUID id;
 
+    @Version
+    @Getter
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @Getter
     @Column(length = 16)
     private UUID projectId;
@@ -33,7 +38,9 @@ public class Phase {
     @OneToOne(fetch = FetchType.LAZY)
     private Phase nextPhase;
 
+    // only written by PhaseRepository.addToTicketCount, a stale copy in the persistence context must not write it back
     @Getter
+    @Column(updatable = false)
     private Integer ticketCount;
 
     protected void setProjectId(UUID projectId) {
@@ -70,25 +77,6 @@ public class Phase {
         this.nextPhase = phase;
     }
 
-    public void setTicketCount(int ticketCount) throws PhaseException {
-        if (ticketCount < 0) {
-            throw new PhaseException("ticketCount cannot be negative");
-        }
-        this.ticketCount = ticketCount;
-    }
-
-    public void increaseTicketCount() throws PhaseException {
-        this.setTicketCount(
-                this.getTicketCount() + 1
-        );
-    }
-
-    public void decreaseTicketCount() throws PhaseException {
-        this.setTicketCount(
-                this.getTicketCount() - 1
-        );
-    }
-
     public Boolean isFirst() {
         return previousPhase == null;
     }
@@ -102,6 +90,6 @@ public class Phase {
         this.setName(name);
         this.setPreviousPhase(previousPhase);
         this.setNextPhase(nextPhase);
-        this.setTicketCount(0);
+        this.ticketCount = 0;
     }
 }
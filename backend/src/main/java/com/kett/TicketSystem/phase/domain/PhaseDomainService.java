@@ -1,22 +1,27 @@
 package com.kett.TicketSystem.phase.domain;
 
+import com.kett.TicketSystem.common.ChunkedDeleter;
 import com.kett.TicketSystem.common.exceptions.NoProjectFoundException;
 import com.kett.TicketSystem.phase.domain.consumedData.ProjectDataOfPhase;
 import com.kett.TicketSystem.phase.domain.events.PhaseCreatedEvent;
 import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseNameUpdatedEvent;
 import com.kett.TicketSystem.phase.domain.events.PhasePositionUpdatedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhasesPurgedEvent;
 import com.kett.TicketSystem.phase.domain.exceptions.LastPhaseException;
 import com.kett.TicketSystem.phase.repository.ProjectDataOfPhaseRepository;
 import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectsCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
 import com.kett.TicketSystem.phase.domain.exceptions.NoPhaseFoundException;
 import com.kett.TicketSystem.phase.domain.exceptions.PhaseException;
 import com.kett.TicketSystem.common.exceptions.UnrelatedPhaseException;
 import com.kett.TicketSystem.phase.repository.PhaseRepository;
-import com.kett.TicketSystem.common.exceptions.ImpossibleException;
 import com.kett.TicketSystem.phase.domain.exceptions.PhaseIsNotEmptyException;
 import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketsCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketsPhaseUpdatedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,29 +29,39 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class PhaseDomainService {
+    public static final List<String> DEFAULT_PHASE_NAMES = List.of("BACKLOG", "DOING", "REVIEW", "DONE");
+
     private final PhaseRepository phaseRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ProjectDataOfPhaseRepository projectDataOfPhaseRepository;
+    private final ChunkedDeleter chunkedDeleter;
 
     @Autowired
     public PhaseDomainService(
             PhaseRepository phaseRepository,
             ApplicationEventPublisher eventPublisher,
-            ProjectDataOfPhaseRepository projectDataOfPhaseRepository
+            ProjectDataOfPhaseRepository projectDataOfPhaseRepository,
+            ChunkedDeleter chunkedDeleter
     ) {
         this.phaseRepository = phaseRepository;
         this.eventPublisher = eventPublisher;
         this.projectDataOfPhaseRepository = projectDataOfPhaseRepository;
+        this.chunkedDeleter = chunkedDeleter;
     }
 
 
@@ -58,7 +73,8 @@ public class PhaseDomainService {
                 new PhaseCreatedEvent(
                         initializedPhase.getId(),
                         initializedPhase.getPreviousPhase(),
-                        initializedPhase.getProjectId()
+                        initializedPhase.getProjectId(),
+                        initializedPhase.getName()
                 )
         );
         return initializedPhase;
@@ -164,6 +180,7 @@ public class PhaseDomainService {
         Phase phase = this.getPhaseById(id);
         phase.setName(name);
         phaseRepository.save(phase);
+        eventPublisher.publishEvent(new PhaseNameUpdatedEvent(phase.getId(), phase.getProjectId(), phase.getName()));
     }
 
     public void patchPhasePosition(UUID id, UUID previousPhaseId) throws PhaseException, NoPhaseFoundException {
@@ -239,10 +256,15 @@ public class PhaseDomainService {
         phaseRepository.save(phase);
     }
 
-    public void deletePhasesByProjectId(UUID projectId) {
-        List<Phase> deletedPhases = phaseRepository.deleteByProjectId(projectId); // bypasses last phase check
-        deletedPhases.forEach( phase ->
-                eventPublisher.publishEvent(new PhaseDeletedEvent(phase.getId(), phase.getProjectId()))
+    // bypasses last phase check, the events of a chunk are published once it is committed
+    public Long deletePhasesByProjectId(UUID projectId) {
+        chunkedDeleter.deleteAtOnce(() -> phaseRepository.unlinkPhasesByProjectId(projectId));
+        return chunkedDeleter.deleteInChunks(
+                chunk -> phaseRepository.findIdsByProjectId(projectId, chunk),
+                phaseRepository::deletePhasesByIdIn,
+                phaseIds -> phaseIds.forEach(phaseId ->
+                        eventPublisher.publishEvent(new PhaseDeletedEvent(phaseId, projectId))
+                )
         );
     }
 
@@ -265,11 +287,42 @@ public class PhaseDomainService {
         this.createPhase(backlog, null);
     }
 
+    // the phases of a batch of new projects are inserted together and linked in memory, without the lookups of createPhase
     @EventListener
     @Async
+    public void handleDefaultProjectsCreated(DefaultProjectsCreatedEvent defaultProjectsCreatedEvent) {
+        Set<UUID> projectIds = defaultProjectsCreatedEvent.getUserIdByProjectId().keySet();
+        projectDataOfPhaseRepository.saveAll(projectIds.stream().map(ProjectDataOfPhase::new).toList());
+
+        List<Phase> phases = new ArrayList<>();
+        projectIds.forEach(projectId ->
+                DEFAULT_PHASE_NAMES.forEach(name -> phases.add(new Phase(projectId, name, null, null)))
+        );
+        List<Phase> initializedPhases = phaseRepository.saveAll(phases);
+
+        // the ids exist once the phases are persisted, the links are written as updates on flush
+        for (int i = 0; i < initializedPhases.size(); i++) {
+            Phase phase = initializedPhases.get(i);
+            if (i % DEFAULT_PHASE_NAMES.size() != 0) {
+                Phase previousPhase = initializedPhases.get(i - 1);
+                phase.setPreviousPhase(previousPhase);
+                previousPhase.setNextPhase(phase);
+            }
+        }
+        initializedPhases.forEach(phase ->
+                eventPublisher.publishEvent(new PhaseCreatedEvent(phase.getId(), phase.getPreviousPhase(), phase.getProjectId(), phase.getName()))
+        );
+    }
+
+    // starts once the deletion of the project is committed and runs outside of a transaction, the chunks are committed one by one
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
-        projectDataOfPhaseRepository.deleteByProjectId(projectDeletedEvent.getProjectId());
-        this.deletePhasesByProjectId(projectDeletedEvent.getProjectId());
+        UUID projectId = projectDeletedEvent.getProjectId();
+        chunkedDeleter.deleteAtOnce(() -> projectDataOfPhaseRepository.deleteByProjectId(projectId));
+        Long deletedPhaseCount = this.deletePhasesByProjectId(projectId);
+        eventPublisher.publishEvent(new PhasesPurgedEvent(projectId, deletedPhaseCount));
     }
 
     @EventListener
@@ -284,14 +337,12 @@ public class PhaseDomainService {
 
     @EventListener
     public void handleTicketCreatedEvent(TicketCreatedEvent ticketCreatedEvent) {
-        Phase firstPhaseOfProject =
-                getFirstPhaseByProjectId(ticketCreatedEvent.getProjectId())
-                .orElseThrow( () ->
-                    new ImpossibleException("The project with id: " + ticketCreatedEvent.getProjectId() + " has no phases.")
-                );
+        this.addToTicketCount(ticketCreatedEvent.getPhaseId(), 1);
+    }
 
-        firstPhaseOfProject.increaseTicketCount();
-        phaseRepository.save(firstPhaseOfProject);
+    @EventListener
+    public void handleTicketsCreatedEvent(TicketsCreatedEvent ticketsCreatedEvent) {
+        this.addToTicketCount(ticketsCreatedEvent.getPhaseId(), ticketsCreatedEvent.getTicketIds().size());
     }
 
     @EventListener
@@ -309,17 +360,44 @@ public class PhaseDomainService {
             );
         }
 
-        oldPhase.decreaseTicketCount();
-        newPhase.increaseTicketCount();
+        this.addToTicketCount(oldPhase.getId(), -1);
+        this.addToTicketCount(newPhase.getId(), 1);
+    }
 
-        phaseRepository.save(oldPhase);
-        phaseRepository.save(newPhase);
+    @EventListener
+    public void handleTicketsPhaseUpdatedEvent(TicketsPhaseUpdatedEvent ticketsPhaseUpdatedEvent) {
+        Phase newPhase = this.getPhaseById(ticketsPhaseUpdatedEvent.getNewPhaseId());
+
+        // one decrement per old phase, the new phase is incremented once by the sum
+        int movedTicketCount = 0;
+        for (Map.Entry<UUID, List<UUID>> ticketIdsOfOldPhase : ticketsPhaseUpdatedEvent.getTicketIdsByOldPhaseId().entrySet()) {
+            List<UUID> ticketIds = ticketIdsOfOldPhase.getValue();
+            Phase oldPhase = this.getPhaseById(ticketIdsOfOldPhase.getKey());
+            if (!oldPhase.getProjectId().equals(newPhase.getProjectId())) {
+                throw new UnrelatedPhaseException(
+                        "The update of tickets: " + ticketIds + " caused a conflict: " +
+                        "the old phase (id: " + oldPhase.getId() + ", projectId: " + oldPhase.getProjectId() + ") " +
+                        "and new phase (id: " + newPhase.getId() + ", projectId: " + newPhase.getProjectId() + ") " +
+                        "are not related."
+                );
+            }
+            this.addToTicketCount(oldPhase.getId(), -ticketIds.size());
+            movedTicketCount += ticketIds.size();
+        }
+        this.addToTicketCount(newPhase.getId(), movedTicketCount);
     }
 
     @EventListener
     public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
-        Phase phase = this.getPhaseById(ticketDeletedEvent.getPhaseId());
-        phase.decreaseTicketCount();
-        phaseRepository.save(phase);
+        this.addToTicketCount(ticketDeletedEvent.getPhaseId(), -1);
+    }
+
+    private void addToTicketCount(UUID phaseId, int delta) throws NoPhaseFoundException, PhaseException {
+        if (phaseRepository.addToTicketCount(phaseId, delta) == 0) {
+            if (!phaseRepository.existsById(phaseId)) {
+                throw new NoPhaseFoundException("could not find phase with id: " + phaseId);
+            }
+            throw new PhaseException("ticketCount of phase with id: " + phaseId + " cannot be negative");
+        }
     }
 }
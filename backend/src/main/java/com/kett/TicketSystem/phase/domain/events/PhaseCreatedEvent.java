@@ -11,11 +11,13 @@ public class PhaseCreatedEvent extends DomainEvent {
     private final UUID phaseId;
     private final UUID previousPhaseId;
     private final UUID projectId;
+    private final String name;
 
-    public PhaseCreatedEvent(UUID phaseId, Phase previousPhase, UUID projectId) {
+    public PhaseCreatedEvent(UUID phaseId, Phase previousPhase, UUID projectId, String name) {
         super();
         this.phaseId = phaseId;
         this.previousPhaseId = previousPhase == null ? null: previousPhase.getId();
         this.projectId = projectId;
+        this.name = name;
     }
 }
@@ -0,0 +1,20 @@
+package com.kett.TicketSystem.phase.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class PhaseNameUpdatedEvent extends DomainEvent {
+    private final UUID phaseId;
+    private final UUID projectId;
+    private final String name;
+
+    public PhaseNameUpdatedEvent(UUID phaseId, UUID projectId, String name) {
+        super();
+        this.phaseId = phaseId;
+        this.projectId = projectId;
+        this.name = name;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.phase.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class PhasesPurgedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Long purgedPhaseCount;
+
+    public PhasesPurgedEvent(UUID projectId, Long purgedPhaseCount) {
+        super();
+        this.projectId = projectId;
+        this.purgedPhaseCount = purgedPhaseCount;
+    }
+}
@@ -1,9 +1,14 @@
 package com.kett.TicketSystem.phase.repository;
 
 import com.kett.TicketSystem.phase.domain.Phase;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +19,22 @@ public interface PhaseRepository extends JpaRepository<Phase, UUID> {
     Optional<Phase> findByProjectIdAndPreviousPhaseIsNull(UUID projectId);
 
     Long removeById(UUID id);
-    List<Phase> deleteByProjectId(UUID projectId);
+
+    @Query("select p.id from Phase p where p.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    // the phases of a project reference each other, the links have to go before the phases can be deleted in chunks
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Phase p set p.previousPhase = null, p.nextPhase = null where p.projectId = :projectId")
+    Integer unlinkPhasesByProjectId(@Param("projectId") UUID projectId);
+
+    // changed in place, so tickets created, moved or deleted at the same time neither conflict nor bump the version of the phase.
+    // returns 0 if the phase does not exist or the count would become negative
+    @Modifying(flushAutomatically = true)
+    @Query("update Phase p set p.ticketCount = p.ticketCount + :delta where p.id = :id and p.ticketCount + :delta >= 0")
+    Integer addToTicketCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Phase p where p.id in :ids")
+    Integer deletePhasesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -1,11 +1,16 @@
 package com.kett.TicketSystem.project.application;
 
 import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.common.EntityTag;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.project.application.dto.ProjectBoardResponseDto;
+import com.kett.TicketSystem.project.application.dto.ProjectDeletionJobResponseDto;
 import com.kett.TicketSystem.project.application.dto.ProjectPatchDto;
 import com.kett.TicketSystem.project.application.dto.ProjectPostDto;
 import com.kett.TicketSystem.project.application.dto.ProjectResponseDto;
 import com.kett.TicketSystem.project.domain.Project;
+import com.kett.TicketSystem.project.domain.ProjectBoard;
+import com.kett.TicketSystem.project.domain.ProjectDeletionJob;
 import com.kett.TicketSystem.project.domain.ProjectDomainService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,14 +32,18 @@ public class ProjectApplicationService {
         this.dtoMapper = dtoMapper;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(#id), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(#id))")
+    @PreAuthorize("hasPermission(#id, 'MEMBER')")
     public ProjectResponseDto fetchProjectById(UUID id) {
         Project project = projectDomainService.getProjectById(id);
         return dtoMapper.mapProjectToProjectResponseDto(project);
     }
 
+    @PreAuthorize("hasPermission(#id, 'MEMBER')")
+    public ProjectBoardResponseDto fetchBoardByProjectId(UUID id) {
+        ProjectBoard projectBoard = projectDomainService.getBoardByProjectId(id);
+        return dtoMapper.mapProjectBoardToProjectBoardResponseDto(projectBoard);
+    }
+
     public ProjectResponseDto addProject(ProjectPostDto projectPostDto, EmailAddress emailAddress) {
         Project project = projectDomainService.addProject(
                 dtoMapper.mapProjectPostDtoToProject(projectPostDto),
@@ -43,13 +52,22 @@ public class ProjectApplicationService {
         return dtoMapper.mapProjectToProjectResponseDto(project);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#id))")
-    public void deleteProjectById(UUID id) {
-        projectDomainService.deleteProjectById(id);
+    @PreAuthorize("hasPermission(#id, 'ADMIN')")
+    public ProjectDeletionJobResponseDto deleteProjectById(UUID id, EmailAddress emailAddress) {
+        ProjectDeletionJob projectDeletionJob = projectDomainService.deleteProjectById(id, emailAddress);
+        return dtoMapper.mapProjectDeletionJobToProjectDeletionJobResponseDto(projectDeletionJob);
+    }
+
+    // the memberships are purged with the project, so only the requesting user is checked
+    @PreAuthorize("hasPermission(@projectDomainService.getRequestingUserIdByProjectId(#id), 'USER')")
+    public ProjectDeletionJobResponseDto fetchDeletionJobByProjectId(UUID id) {
+        ProjectDeletionJob projectDeletionJob = projectDomainService.getDeletionJobByProjectId(id);
+        return dtoMapper.mapProjectDeletionJobToProjectDeletionJobResponseDto(projectDeletionJob);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_PROJECT_ADMIN_'.concat(#id))")
-    public void patchProjectById(UUID id, ProjectPatchDto projectPatchDto) {
+    @PreAuthorize("hasPermission(#id, 'ADMIN')")
+    public void patchProjectById(UUID id, ProjectPatchDto projectPatchDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, projectDomainService.getProjectById(id).getVersion());
         projectDomainService.patchProjectById(
                 id,
                 projectPatchDto.getName(),
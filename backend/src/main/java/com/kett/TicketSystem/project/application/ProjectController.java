@@ -1,8 +1,10 @@
 package com.kett.TicketSystem.project.application;
 
+import com.kett.TicketSystem.common.EntityTag;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.project.application.dto.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,7 +17,7 @@ import java.util.UUID;
 
 @RestController
 @Transactional
-@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true", exposedHeaders = {HttpHeaders.ETAG})
 @RequestMapping("/projects")
 public class ProjectController {
     private final ProjectApplicationService projectApplicationService;
@@ -29,7 +31,22 @@ public class ProjectController {
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponseDto> getProjectById(@PathVariable UUID id) {
         ProjectResponseDto projectResponseDto = projectApplicationService.fetchProjectById(id);
-        return new ResponseEntity<>(projectResponseDto, HttpStatus.OK);
+        return ResponseEntity
+                .ok()
+                .eTag(EntityTag.fromVersion(projectResponseDto.getVersion()))
+                .body(projectResponseDto);
+    }
+
+    @GetMapping("/{id}/board")
+    public ResponseEntity<ProjectBoardResponseDto> getBoardByProjectId(@PathVariable UUID id) {
+        ProjectBoardResponseDto projectBoardResponseDto = projectApplicationService.fetchBoardByProjectId(id);
+        return new ResponseEntity<>(projectBoardResponseDto, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ProjectDeletionJobResponseDto> getDeletionJobByProjectId(@PathVariable UUID id) {
+        ProjectDeletionJobResponseDto projectDeletionJobResponseDto = projectApplicationService.fetchDeletionJobByProjectId(id);
+        return new ResponseEntity<>(projectDeletionJobResponseDto, HttpStatus.OK);
     }
 
     @PostMapping
@@ -48,14 +65,24 @@ public class ProjectController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<?> patchProjectById(@PathVariable UUID id, @RequestBody ProjectPatchDto projectPatchDto) {
-        projectApplicationService.patchProjectById(id, projectPatchDto);
+    public ResponseEntity<?> patchProjectById(@PathVariable UUID id, @RequestBody ProjectPatchDto projectPatchDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        projectApplicationService.patchProjectById(id, projectPatchDto, ifMatch);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteProject(@PathVariable UUID id) {
-        projectApplicationService.deleteProjectById(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<ProjectDeletionJobResponseDto> deleteProject(@PathVariable UUID id) {
+        EmailAddress userEmail = EmailAddress.fromString(SecurityContextHolder.getContext().getAuthentication().getName());
+        ProjectDeletionJobResponseDto projectDeletionJobResponseDto = projectApplicationService.deleteProjectById(id, userEmail);
+        URI returnURI = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/deletion")
+                .build()
+                .toUri();
+
+        return ResponseEntity
+                .accepted()
+                .location(returnURI)
+                .body(projectDeletionJobResponseDto);
     }
 }
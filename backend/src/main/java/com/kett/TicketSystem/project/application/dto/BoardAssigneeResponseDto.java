@@ -0,0 +1,15 @@
+package com.kett.TicketSystem.project.application.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardAssigneeResponseDto {
+    private UUID id;
+    private String name;
+    private String email;
+}
@@ -0,0 +1,17 @@
+package com.kett.TicketSystem.project.application.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardPhaseResponseDto {
+    private UUID id;
+    private String name;
+    private List<BoardTicketResponseDto> tickets = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.kett.TicketSystem.project.application.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardTicketResponseDto {
+    private UUID id;
+    private String title;
+    private LocalDateTime dueTime;
+    private List<BoardAssigneeResponseDto> assignees = new ArrayList<>();
+}
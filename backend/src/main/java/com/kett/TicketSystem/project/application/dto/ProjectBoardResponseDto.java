@@ -0,0 +1,16 @@
+package com.kett.TicketSystem.project.application.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectBoardResponseDto {
+    private UUID projectId;
+    private List<BoardPhaseResponseDto> phases = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.kett.TicketSystem.project.application.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectDeletionJobResponseDto {
+    private UUID projectId;
+    private Long purgedMembershipCount;
+    private Long purgedPhaseCount;
+    private Long purgedTicketCount;
+    private Long purgedBoardRowCount;
+    private Boolean completed;
+    private LocalDateTime creationTime;
+    private LocalDateTime completionTime;
+}
@@ -13,4 +13,5 @@ public class ProjectResponseDto {
     private String name;
     private String description;
     private LocalDateTime creationTime;
+    private Long version;
 }
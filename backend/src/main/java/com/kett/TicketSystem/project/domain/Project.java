@@ -18,6 +18,11 @@ public class Project {
     @Column(length = 16)
     private UUID id;
 
+    @Version
+    @Getter
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @Getter
     private String name;
 
@@ -30,6 +35,12 @@ public class Project {
     @Setter(AccessLevel.PROTECTED)
     private LocalDateTime creationTime;
 
+    // a deleted project is hidden right away and removed once the modules have purged their part of it
+    @Getter
+    @Setter(AccessLevel.PROTECTED)
+    @Column(columnDefinition = "boolean default false not null")
+    private Boolean deleted = false;
+
     public void setName(String name) {
         if (name == null || name.isEmpty()) {
             throw new ProjectException("name must not be null or empty");
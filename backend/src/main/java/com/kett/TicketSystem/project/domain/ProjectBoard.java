@@ -0,0 +1,119 @@
+package com.kett.TicketSystem.project.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Getter
+public class ProjectBoard {
+    private final UUID projectId;
+    private final List<BoardPhase> phases = new ArrayList<>();
+    private final Map<UUID, BoardTicket> ticketById = new HashMap<>();
+    private final Map<UUID, BoardAssignee> assigneeById = new HashMap<>();
+
+    public ProjectBoard(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    synchronized void setPhases(List<BoardPhase> orderedPhases) {
+        phases.clear();
+        phases.addAll(orderedPhases);
+    }
+
+    synchronized void putTicket(BoardTicket ticket) {
+        ticketById.put(ticket.getId(), ticket);
+    }
+
+    synchronized void patchTicket(UUID ticketId, String title, LocalDateTime dueTime) {
+        BoardTicket ticket = ticketById.get(ticketId);
+        if (ticket != null) {
+            ticket.title = title;
+            ticket.dueTime = dueTime;
+        }
+    }
+
+    synchronized void moveTicket(UUID ticketId, UUID phaseId) {
+        BoardTicket ticket = ticketById.get(ticketId);
+        if (ticket != null) {
+            ticket.phaseId = phaseId;
+        }
+    }
+
+    synchronized void removeTicket(UUID ticketId) {
+        ticketById.remove(ticketId);
+    }
+
+    // the assignee itself is put separately, the user replica may not have caught up yet
+    synchronized void assign(UUID ticketId, UUID assigneeId) {
+        BoardTicket ticket = ticketById.get(ticketId);
+        if (ticket != null) {
+            ticket.assigneeIds.add(assigneeId);
+        }
+    }
+
+    synchronized void unassign(UUID ticketId, UUID assigneeId) {
+        BoardTicket ticket = ticketById.get(ticketId);
+        if (ticket != null) {
+            ticket.assigneeIds.remove(assigneeId);
+        }
+    }
+
+    synchronized void unassignEverywhere(UUID assigneeId) {
+        ticketById.values().forEach(ticket -> ticket.assigneeIds.remove(assigneeId));
+        assigneeById.remove(assigneeId);
+    }
+
+    synchronized void putAssignee(BoardAssignee assignee) {
+        assigneeById.put(assignee.getId(), assignee);
+    }
+
+    synchronized void replaceAssignee(BoardAssignee assignee) {
+        boolean assigned = ticketById
+                .values()
+                .stream()
+                .anyMatch(ticket -> ticket.assigneeIds.contains(assignee.getId()));
+        if (assigned) {
+            assigneeById.put(assignee.getId(), assignee);
+        }
+    }
+
+    synchronized ProjectBoard copy() {
+        ProjectBoard copy = new ProjectBoard(projectId);
+        copy.phases.addAll(phases);
+        ticketById.values().forEach(ticket -> copy.ticketById.put(ticket.getId(), ticket.copy()));
+        copy.assigneeById.putAll(assigneeById);
+        return copy;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BoardPhase {
+        private final UUID id;
+        private final String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BoardTicket {
+        private final UUID id;
+        private String title;
+        private LocalDateTime dueTime;
+        private final LocalDateTime creationTime;
+        private UUID phaseId;
+        private final Set<UUID> assigneeIds;
+
+        BoardTicket copy() {
+            return new BoardTicket(id, title, dueTime, creationTime, phaseId, new LinkedHashSet<>(assigneeIds));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BoardAssignee {
+        private final UUID id;
+        private final String name;
+        private final String email;
+    }
+}
@@ -0,0 +1,469 @@
+package com.kett.TicketSystem.project.domain;
+
+import com.kett.TicketSystem.common.ChunkedDeleter;
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseCreatedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhaseNameUpdatedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhasePositionUpdatedEvent;
+import com.kett.TicketSystem.project.domain.ProjectBoard.BoardAssignee;
+import com.kett.TicketSystem.project.domain.ProjectBoard.BoardPhase;
+import com.kett.TicketSystem.project.domain.ProjectBoard.BoardTicket;
+import com.kett.TicketSystem.project.domain.consumedData.AssignmentDataOfProject;
+import com.kett.TicketSystem.project.domain.consumedData.PhaseDataOfProject;
+import com.kett.TicketSystem.project.domain.consumedData.TicketDataOfProject;
+import com.kett.TicketSystem.project.domain.consumedData.UserDataOfProject;
+import com.kett.TicketSystem.project.domain.events.BoardPurgedEvent;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.project.repository.AssignmentDataOfProjectRepository;
+import com.kett.TicketSystem.project.repository.PhaseDataOfProjectRepository;
+import com.kett.TicketSystem.project.repository.TicketDataOfProjectRepository;
+import com.kett.TicketSystem.project.repository.UserDataOfProjectRepository;
+import com.kett.TicketSystem.ticket.domain.events.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+// denormalized board per project, built from the replicas of this module only.
+// the replicas are written in the transaction that published the event, the cached boards follow once it committed
+@Component
+@Transactional
+public class ProjectBoardReadModel {
+    public static final int MAX_CACHED_BOARDS = 256;
+
+    private final PhaseDataOfProjectRepository phaseDataOfProjectRepository;
+    private final TicketDataOfProjectRepository ticketDataOfProjectRepository;
+    private final AssignmentDataOfProjectRepository assignmentDataOfProjectRepository;
+    private final UserDataOfProjectRepository userDataOfProjectRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // access ordered, so the least recently used board is evicted first
+    private final Map<UUID, ProjectBoard> boardByProjectId = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ProjectBoard> eldest) {
+            return size() > MAX_CACHED_BOARDS;
+        }
+    };
+
+    // bumped on every applied change, loads that overlap a change are not cached
+    private long modificationCount = 0;
+
+    @Autowired
+    public ProjectBoardReadModel(
+            PhaseDataOfProjectRepository phaseDataOfProjectRepository,
+            TicketDataOfProjectRepository ticketDataOfProjectRepository,
+            AssignmentDataOfProjectRepository assignmentDataOfProjectRepository,
+            UserDataOfProjectRepository userDataOfProjectRepository,
+            ChunkedDeleter chunkedDeleter,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.phaseDataOfProjectRepository = phaseDataOfProjectRepository;
+        this.ticketDataOfProjectRepository = ticketDataOfProjectRepository;
+        this.assignmentDataOfProjectRepository = assignmentDataOfProjectRepository;
+        this.userDataOfProjectRepository = userDataOfProjectRepository;
+        this.chunkedDeleter = chunkedDeleter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ProjectBoard getBoard(UUID projectId) {
+        // the cached board does not contain what the current transaction changed, and must not see it before the commit
+        if (isChangedInCurrentTransaction(projectId)) {
+            return loadBoard(projectId);
+        }
+
+        long expectedModificationCount;
+        synchronized (this) {
+            ProjectBoard board = boardByProjectId.get(projectId);
+            if (board != null) {
+                return board.copy();
+            }
+            expectedModificationCount = modificationCount;
+        }
+
+        ProjectBoard loadedBoard = loadBoard(projectId);
+        synchronized (this) {
+            if (modificationCount == expectedModificationCount) {
+                boardByProjectId.put(projectId, loadedBoard);
+            }
+        }
+        return loadedBoard.copy();
+    }
+
+    public synchronized Integer getSize() {
+        return boardByProjectId.size();
+    }
+
+    // called by the projection of the users with every batch it writes
+    public void applyUserData(List<UserDataOfProject> userData, Set<UUID> deletedUserIds) {
+        if (!deletedUserIds.isEmpty()) {
+            assignmentDataOfProjectRepository.deleteByAssigneeIdIn(deletedUserIds);
+        }
+        List<BoardAssignee> assignees = userData.stream().map(this::toBoardAssignee).toList();
+        afterCommit(() -> applyToAllBoards(board -> {
+            deletedUserIds.forEach(board::unassignEverywhere);
+            assignees.forEach(board::replaceAssignee);
+        }));
+    }
+
+    private ProjectBoard loadBoard(UUID projectId) {
+        ProjectBoard board = new ProjectBoard(projectId);
+        board.setPhases(orderPhases(phaseDataOfProjectRepository.findByProjectId(projectId)));
+        ticketDataOfProjectRepository
+                .findByProjectId(projectId)
+                .forEach(ticketData -> board.putTicket(toBoardTicket(ticketData)));
+
+        List<AssignmentDataOfProject> assignments = assignmentDataOfProjectRepository.findByProjectId(projectId);
+        Set<UUID> assigneeIds = new HashSet<>();
+        assignments.forEach(assignment -> {
+            board.assign(assignment.getTicketId(), assignment.getAssigneeId());
+            assigneeIds.add(assignment.getAssigneeId());
+        });
+        if (!assigneeIds.isEmpty()) {
+            userDataOfProjectRepository
+                    .findByUserIdIn(assigneeIds)
+                    .forEach(userData -> board.putAssignee(toBoardAssignee(userData)));
+        }
+        return board;
+    }
+
+    private List<BoardPhase> orderPhases(List<PhaseDataOfProject> phases) {
+        Map<UUID, PhaseDataOfProject> phaseByPreviousPhaseId = new HashMap<>();
+        PhaseDataOfProject first = null;
+        for (PhaseDataOfProject phase : phases) {
+            if (phase.getPreviousPhaseId() == null) {
+                first = phase;
+            } else {
+                phaseByPreviousPhaseId.put(phase.getPreviousPhaseId(), phase);
+            }
+        }
+
+        List<BoardPhase> orderedPhases = new ArrayList<>();
+        for (PhaseDataOfProject phase = first; phase != null; phase = phaseByPreviousPhaseId.get(phase.getPhaseId())) {
+            orderedPhases.add(new BoardPhase(phase.getPhaseId(), phase.getName()));
+        }
+        return orderedPhases;
+    }
+
+    private BoardTicket toBoardTicket(TicketDataOfProject ticketData) {
+        return new BoardTicket(
+                ticketData.getTicketId(),
+                ticketData.getTitle(),
+                ticketData.getDueTime(),
+                ticketData.getCreationTime(),
+                ticketData.getPhaseId(),
+                new LinkedHashSet<>()
+        );
+    }
+
+    private BoardAssignee toBoardAssignee(UserDataOfProject userData) {
+        return new BoardAssignee(userData.getUserId(), userData.getUserName(), userData.getUserEmail().toString());
+    }
+
+    private Map<UUID, BoardAssignee> loadAssignees(Collection<UUID> assigneeIds) {
+        Map<UUID, BoardAssignee> assigneeById = new HashMap<>();
+        userDataOfProjectRepository
+                .findByUserIdIn(assigneeIds)
+                .forEach(userData -> assigneeById.put(userData.getUserId(), toBoardAssignee(userData)));
+        return assigneeById;
+    }
+
+    private void applyToBoard(UUID projectId, Consumer<ProjectBoard> change) {
+        ProjectBoard board;
+        synchronized (this) {
+            modificationCount++;
+            board = boardByProjectId.get(projectId);
+        }
+        if (board != null) {
+            change.accept(board);
+        }
+    }
+
+    private void applyToAllBoards(Consumer<ProjectBoard> change) {
+        List<ProjectBoard> boards;
+        synchronized (this) {
+            modificationCount++;
+            boards = new ArrayList<>(boardByProjectId.values());
+        }
+        boards.forEach(change);
+    }
+
+    private synchronized void evict(UUID projectId) {
+        modificationCount++;
+        boardByProjectId.remove(projectId);
+    }
+
+    private void applyAfterCommit(UUID projectId, Consumer<ProjectBoard> change) {
+        markChangedInCurrentTransaction(projectId);
+        afterCommit(() -> applyToBoard(projectId, change));
+    }
+
+    // the phases change rarely, the board is loaded again instead of being patched
+    private void evictAfterCommit(UUID projectId) {
+        markChangedInCurrentTransaction(projectId);
+        afterCommit(() -> evict(projectId));
+    }
+
+    // a rolled back transaction never touches the cached boards
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        getPendingBoardChanges().changes.add(change);
+    }
+
+    private void markChangedInCurrentTransaction(UUID projectId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getPendingBoardChanges().projectIds.add(projectId);
+        }
+    }
+
+    private boolean isChangedInCurrentTransaction(UUID projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        PendingBoardChanges pendingBoardChanges = findPendingBoardChanges();
+        return pendingBoardChanges != null && pendingBoardChanges.projectIds.contains(projectId);
+    }
+
+    // the synchronizations are suspended together with their transaction, so an inner transaction gets changes of its own
+    private PendingBoardChanges findPendingBoardChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBoardChanges pendingBoardChanges) {
+                return pendingBoardChanges;
+            }
+        }
+        return null;
+    }
+
+    private PendingBoardChanges getPendingBoardChanges() {
+        PendingBoardChanges pendingBoardChanges = findPendingBoardChanges();
+        if (pendingBoardChanges == null) {
+            pendingBoardChanges = new PendingBoardChanges();
+            TransactionSynchronizationManager.registerSynchronization(pendingBoardChanges);
+        }
+        return pendingBoardChanges;
+    }
+
+    // the board changes of one transaction, applied in the order the events were published
+    private static class PendingBoardChanges implements TransactionSynchronization {
+        private final Set<UUID> projectIds = new HashSet<>();
+        private final List<Runnable> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            changes.forEach(Runnable::run);
+        }
+    }
+
+
+    // phase
+
+    @EventListener
+    public void handlePhaseCreatedEvent(PhaseCreatedEvent phaseCreatedEvent) {
+        phaseDataOfProjectRepository.save(
+                new PhaseDataOfProject(
+                        phaseCreatedEvent.getPhaseId(),
+                        phaseCreatedEvent.getProjectId(),
+                        phaseCreatedEvent.getName(),
+                        phaseCreatedEvent.getPreviousPhaseId()
+                )
+        );
+        evictAfterCommit(phaseCreatedEvent.getProjectId());
+    }
+
+    @EventListener
+    public void handlePhaseNameUpdatedEvent(PhaseNameUpdatedEvent phaseNameUpdatedEvent) {
+        List<PhaseDataOfProject> phaseData = phaseDataOfProjectRepository.findByPhaseId(phaseNameUpdatedEvent.getPhaseId());
+        phaseData.forEach(phaseDataOfProject -> phaseDataOfProject.setName(phaseNameUpdatedEvent.getName()));
+        phaseDataOfProjectRepository.saveAll(phaseData);
+        evictAfterCommit(phaseNameUpdatedEvent.getProjectId());
+    }
+
+    @EventListener
+    public void handlePhasePositionUpdatedEvent(PhasePositionUpdatedEvent phasePositionUpdatedEvent) {
+        List<PhaseDataOfProject> phaseData = phaseDataOfProjectRepository.findByPhaseId(phasePositionUpdatedEvent.getPhaseId());
+        phaseData.forEach(phaseDataOfProject -> phaseDataOfProject.setPreviousPhaseId(phasePositionUpdatedEvent.getPreviousPhaseId()));
+        phaseDataOfProjectRepository.saveAll(phaseData);
+        evictAfterCommit(phasePositionUpdatedEvent.getProjectId());
+    }
+
+    @EventListener
+    public void handlePhaseDeletedEvent(PhaseDeletedEvent phaseDeletedEvent) {
+        phaseDataOfProjectRepository.deleteByPhaseId(phaseDeletedEvent.getPhaseId());
+        evictAfterCommit(phaseDeletedEvent.getProjectId());
+    }
+
+
+    // ticket
+
+    @EventListener
+    public void handleTicketCreatedEvent(TicketCreatedEvent ticketCreatedEvent) {
+        TicketDataOfProject ticketData = ticketDataOfProjectRepository.save(
+                new TicketDataOfProject(
+                        ticketCreatedEvent.getTicketId(),
+                        ticketCreatedEvent.getProjectId(),
+                        ticketCreatedEvent.getPhaseId(),
+                        ticketCreatedEvent.getTitle(),
+                        ticketCreatedEvent.getDueTime(),
+                        ticketCreatedEvent.getCreationTime()
+                )
+        );
+        BoardTicket ticket = toBoardTicket(ticketData);
+        applyAfterCommit(ticketCreatedEvent.getProjectId(), board -> board.putTicket(ticket));
+    }
+
+    @EventListener
+    public void handleTicketsCreatedEvent(TicketsCreatedEvent ticketsCreatedEvent) {
+        List<TicketDataOfProject> ticketData = ticketDataOfProjectRepository.saveAll(
+                ticketsCreatedEvent
+                        .getTickets()
+                        .stream()
+                        .map(createdTicket -> new TicketDataOfProject(
+                                createdTicket.getTicketId(),
+                                ticketsCreatedEvent.getProjectId(),
+                                ticketsCreatedEvent.getPhaseId(),
+                                createdTicket.getTitle(),
+                                createdTicket.getDueTime(),
+                                createdTicket.getCreationTime()
+                        ))
+                        .toList()
+        );
+        List<BoardTicket> tickets = ticketData.stream().map(this::toBoardTicket).toList();
+        applyAfterCommit(ticketsCreatedEvent.getProjectId(), board -> tickets.forEach(board::putTicket));
+    }
+
+    @EventListener
+    public void handleTicketPatchedEvent(TicketPatchedEvent ticketPatchedEvent) {
+        List<TicketDataOfProject> ticketData = ticketDataOfProjectRepository.findByTicketId(ticketPatchedEvent.getTicketId());
+        ticketData.forEach(ticketDataOfProject -> {
+            ticketDataOfProject.setTitle(ticketPatchedEvent.getTitle());
+            ticketDataOfProject.setDueTime(ticketPatchedEvent.getDueTime());
+        });
+        ticketDataOfProjectRepository.saveAll(ticketData);
+        applyAfterCommit(ticketPatchedEvent.getProjectId(), board ->
+                board.patchTicket(ticketPatchedEvent.getTicketId(), ticketPatchedEvent.getTitle(), ticketPatchedEvent.getDueTime())
+        );
+    }
+
+    @EventListener
+    public void handleTicketPhaseUpdatedEvent(TicketPhaseUpdatedEvent ticketPhaseUpdatedEvent) {
+        List<TicketDataOfProject> ticketData = ticketDataOfProjectRepository.findByTicketId(ticketPhaseUpdatedEvent.getTicketId());
+        ticketData.forEach(ticketDataOfProject -> ticketDataOfProject.setPhaseId(ticketPhaseUpdatedEvent.getNewPhaseId()));
+        ticketDataOfProjectRepository.saveAll(ticketData);
+        applyAfterCommit(ticketPhaseUpdatedEvent.getProjectId(), board ->
+                board.moveTicket(ticketPhaseUpdatedEvent.getTicketId(), ticketPhaseUpdatedEvent.getNewPhaseId())
+        );
+    }
+
+    @EventListener
+    public void handleTicketsPhaseUpdatedEvent(TicketsPhaseUpdatedEvent ticketsPhaseUpdatedEvent) {
+        List<UUID> ticketIds = new ArrayList<>();
+        ticketsPhaseUpdatedEvent.getTicketIdsByOldPhaseId().values().forEach(ticketIds::addAll);
+        List<TicketDataOfProject> ticketData = ticketDataOfProjectRepository.findByTicketIdIn(ticketIds);
+        ticketData.forEach(ticketDataOfProject -> ticketDataOfProject.setPhaseId(ticketsPhaseUpdatedEvent.getNewPhaseId()));
+        ticketDataOfProjectRepository.saveAll(ticketData);
+        applyAfterCommit(ticketsPhaseUpdatedEvent.getProjectId(), board ->
+                ticketIds.forEach(ticketId -> board.moveTicket(ticketId, ticketsPhaseUpdatedEvent.getNewPhaseId()))
+        );
+    }
+
+    @EventListener
+    public void handleTicketDeletedEvent(TicketDeletedEvent ticketDeletedEvent) {
+        ticketDataOfProjectRepository.deleteByTicketId(ticketDeletedEvent.getTicketId());
+        assignmentDataOfProjectRepository.deleteByTicketId(ticketDeletedEvent.getTicketId());
+        applyAfterCommit(ticketDeletedEvent.getProjectId(), board -> board.removeTicket(ticketDeletedEvent.getTicketId()));
+    }
+
+    @EventListener
+    public void handleTicketAssignedEvent(TicketAssignedEvent ticketAssignedEvent) {
+        UUID ticketId = ticketAssignedEvent.getTicketId();
+        UUID assigneeId = ticketAssignedEvent.getAssigneeId();
+        if (!assignmentDataOfProjectRepository.existsByTicketIdAndAssigneeId(ticketId, assigneeId)) {
+            assignmentDataOfProjectRepository.save(new AssignmentDataOfProject(ticketId, ticketAssignedEvent.getProjectId(), assigneeId));
+        }
+        BoardAssignee assignee = loadAssignees(List.of(assigneeId)).get(assigneeId);
+        applyAfterCommit(ticketAssignedEvent.getProjectId(), board -> {
+            board.assign(ticketId, assigneeId);
+            if (assignee != null) {
+                board.putAssignee(assignee);
+            }
+        });
+    }
+
+    // only created tickets are assigned in bulk, none of them has an assignment yet
+    @EventListener
+    public void handleTicketsAssignedEvent(TicketsAssignedEvent ticketsAssignedEvent) {
+        UUID projectId = ticketsAssignedEvent.getProjectId();
+        List<AssignmentDataOfProject> assignments = new ArrayList<>();
+        Set<UUID> assigneeIds = new HashSet<>();
+        ticketsAssignedEvent.getAssigneeIdsByTicketId().forEach((ticketId, assigneeIdsOfTicket) ->
+                assigneeIdsOfTicket.forEach(assigneeId -> {
+                    assignments.add(new AssignmentDataOfProject(ticketId, projectId, assigneeId));
+                    assigneeIds.add(assigneeId);
+                })
+        );
+        assignmentDataOfProjectRepository.saveAll(assignments);
+        Map<UUID, BoardAssignee> assigneeById = loadAssignees(assigneeIds);
+        applyAfterCommit(projectId, board -> {
+            assignments.forEach(assignment -> board.assign(assignment.getTicketId(), assignment.getAssigneeId()));
+            assigneeById.values().forEach(board::putAssignee);
+        });
+    }
+
+    @EventListener
+    public void handleTicketUnassignedEvent(TicketUnassignedEvent ticketUnassignedEvent) {
+        assignmentDataOfProjectRepository.deleteByTicketIdAndAssigneeId(ticketUnassignedEvent.getTicketId(), ticketUnassignedEvent.getAssigneeId());
+        applyAfterCommit(ticketUnassignedEvent.getProjectId(), board ->
+                board.unassign(ticketUnassignedEvent.getTicketId(), ticketUnassignedEvent.getAssigneeId())
+        );
+    }
+
+
+    // membership and project
+
+    @EventListener
+    public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
+        assignmentDataOfProjectRepository.deleteByProjectIdAndAssigneeId(membershipDeletedEvent.getProjectId(), membershipDeletedEvent.getUserId());
+        applyAfterCommit(membershipDeletedEvent.getProjectId(), board -> board.unassignEverywhere(membershipDeletedEvent.getUserId()));
+    }
+
+    // the request only drops the cached board, the deleted project is hidden by its flag until the replicas are purged
+    @EventListener
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        evictAfterCommit(projectDeletedEvent.getProjectId());
+    }
+
+    // starts once the deletion of the project is committed and runs outside of a transaction, the chunks are committed one by one
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void handleCommittedProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        UUID projectId = projectDeletedEvent.getProjectId();
+        long purgedBoardRowCount = chunkedDeleter.deleteInChunks(
+                chunk -> assignmentDataOfProjectRepository.findIdsByProjectId(projectId, chunk),
+                assignmentDataOfProjectRepository::deleteByIdIn
+        );
+        purgedBoardRowCount += chunkedDeleter.deleteInChunks(
+                chunk -> ticketDataOfProjectRepository.findIdsByProjectId(projectId, chunk),
+                ticketDataOfProjectRepository::deleteByIdIn
+        );
+        purgedBoardRowCount += chunkedDeleter.deleteInChunks(
+                chunk -> phaseDataOfProjectRepository.findIdsByProjectId(projectId, chunk),
+                phaseDataOfProjectRepository::deleteByIdIn
+        );
+        eventPublisher.publishEvent(new BoardPurgedEvent(projectId, purgedBoardRowCount));
+    }
+}
@@ -0,0 +1,63 @@
+package com.kett.TicketSystem.project.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// outlives the project, the modules report here once they have purged everything of it
+@Entity
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProjectDeletionJob {
+    @Id
+    @Getter
+    @Column(length = 16)
+    private UUID projectId;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID requestingUserId;
+
+    // a count stays null until the owning module has finished
+    @Getter
+    @Setter
+    private Long purgedMembershipCount;
+
+    @Getter
+    @Setter
+    private Long purgedPhaseCount;
+
+    @Getter
+    @Setter
+    private Long purgedTicketCount;
+
+    @Getter
+    @Setter
+    private Long purgedBoardRowCount;
+
+    @Getter
+    private LocalDateTime creationTime;
+
+    @Getter
+    private LocalDateTime completionTime;
+
+    public Boolean isPurged() {
+        return purgedMembershipCount != null && purgedPhaseCount != null && purgedTicketCount != null && purgedBoardRowCount != null;
+    }
+
+    public Boolean isCompleted() {
+        return completionTime != null;
+    }
+
+    public void complete() {
+        this.completionTime = LocalDateTime.now();
+    }
+
+    public ProjectDeletionJob(UUID projectId, UUID requestingUserId) {
+        this.projectId = projectId;
+        this.requestingUserId = requestingUserId;
+        this.creationTime = LocalDateTime.now();
+    }
+}
@@ -1,41 +1,81 @@
 package com.kett.TicketSystem.project.domain;
 
+import com.kett.TicketSystem.common.EmailResolutionCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.common.projection.ProjectionQueue;
+import com.kett.TicketSystem.common.projection.ProjectionUpdater;
+import com.kett.TicketSystem.common.projection.UpsertProjection;
 import com.kett.TicketSystem.common.exceptions.ImpossibleException;
 import com.kett.TicketSystem.common.exceptions.NoProjectFoundException;
 import com.kett.TicketSystem.membership.domain.events.LastProjectMemberDeletedEvent;
+import com.kett.TicketSystem.membership.domain.events.MembershipsPurgedEvent;
+import com.kett.TicketSystem.phase.domain.events.PhasesPurgedEvent;
 import com.kett.TicketSystem.project.domain.consumedData.UserDataOfProject;
+import com.kett.TicketSystem.project.domain.events.BoardPurgedEvent;
 import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectsCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
 import com.kett.TicketSystem.project.domain.exceptions.*;
+import com.kett.TicketSystem.project.repository.ProjectDeletionJobRepository;
 import com.kett.TicketSystem.project.repository.ProjectRepository;
 import com.kett.TicketSystem.project.repository.UserDataOfProjectRepository;
+import com.kett.TicketSystem.ticket.domain.events.TicketsPurgedEvent;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Transactional
 public class ProjectDomainService {
     private final ProjectRepository projectRepository;
+    private final ProjectDeletionJobRepository projectDeletionJobRepository;
     private final UserDataOfProjectRepository userDataOfProjectRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProjectBoardReadModel projectBoardReadModel;
+    private final EmailResolutionCache emailResolutionCache;
+    private final UpsertProjection<UUID, UserData, UserDataOfProject> userDataUpsert;
+    private final ProjectionQueue<UUID, UserData> userDataProjection;
 
     @Autowired
-    public ProjectDomainService(ProjectRepository projectRepository, UserDataOfProjectRepository userDataOfProjectRepository, ApplicationEventPublisher eventPublisher) {
+    public ProjectDomainService(
+            ProjectRepository projectRepository,
+            ProjectDeletionJobRepository projectDeletionJobRepository,
+            UserDataOfProjectRepository userDataOfProjectRepository,
+            ApplicationEventPublisher eventPublisher,
+            ProjectBoardReadModel projectBoardReadModel,
+            EmailResolutionCache emailResolutionCache,
+            ProjectionUpdater projectionUpdater
+    ) {
         this.projectRepository = projectRepository;
+        this.projectDeletionJobRepository = projectDeletionJobRepository;
         this.userDataOfProjectRepository = userDataOfProjectRepository;
         this.eventPublisher = eventPublisher;
+        this.projectBoardReadModel = projectBoardReadModel;
+        this.emailResolutionCache = emailResolutionCache;
+        this.userDataUpsert = new UpsertProjection<>(
+                userDataOfProjectRepository::findByUserIdIn,
+                UserDataOfProject::getUserId,
+                (userDataOfProject, userData) -> {
+                    userDataOfProject.setUserEmail(userData.email());
+                    userDataOfProject.setUserName(userData.name());
+                },
+                (userId, userData) -> new UserDataOfProject(userId, userData.email(), userData.name()),
+                userDataOfProjectRepository::saveAll,
+                userDataOfProjectRepository::deleteByUserIdIn
+        );
+        this.userDataProjection = projectionUpdater.register("UserDataOfProject", this::applyUserData);
     }
 
     // create
@@ -48,11 +88,13 @@ public class ProjectDomainService {
     }
 
     private UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
-        List<UserDataOfProject> userData = userDataOfProjectRepository.findByUserEmailEquals(emailAddress);
-        if (userData.isEmpty()) {
-            throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
-        }
-        return userData.get(0).getUserId();
+        return emailResolutionCache.getUserId(emailAddress, () -> {
+            List<UserDataOfProject> userData = userDataOfProjectRepository.findByUserEmailNormalizedAddress(emailAddress.getNormalizedAddress());
+            if (userData.isEmpty()) {
+                throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
+            }
+            return userData.get(0).getUserId();
+        });
     }
 
 
@@ -60,10 +102,29 @@ public class ProjectDomainService {
 
     public Project getProjectById(UUID id) throws NoProjectFoundException {
         return projectRepository
-                .findById(id)
+                .findByIdAndDeletedIsFalse(id)
                 .orElseThrow(() -> new NoProjectFoundException("could not find project with id: " + id));
     }
 
+    public ProjectBoard getBoardByProjectId(UUID id) throws NoProjectFoundException {
+        if (!projectRepository.existsByIdAndDeletedIsFalse(id)) {
+            throw new NoProjectFoundException("could not find project with id: " + id);
+        }
+        return projectBoardReadModel.getBoard(id);
+    }
+
+    public ProjectDeletionJob getDeletionJobByProjectId(UUID projectId) throws NoProjectDeletionJobFoundException {
+        return projectDeletionJobRepository
+                .findById(projectId)
+                .orElseThrow(() -> new NoProjectDeletionJobFoundException("could not find deletion of project with id: " + projectId));
+    }
+
+    public UUID getRequestingUserIdByProjectId(UUID projectId) throws NoProjectDeletionJobFoundException {
+        return this
+                .getDeletionJobByProjectId(projectId)
+                .getRequestingUserId();
+    }
+
 
     // update
 
@@ -81,19 +142,47 @@ public class ProjectDomainService {
 
     // delete
 
-    public void deleteProjectById(UUID id) throws NoProjectFoundException {
-        Long numOfDeletedProjects = projectRepository.removeById(id);
-
-        if (numOfDeletedProjects == 0) {
-            throw new NoProjectFoundException("could not delete because there was no project with id: " + id);
-        } else if (numOfDeletedProjects > 1) {
-            throw new ImpossibleException(
-                    "!!! This should not happen. " +
-                    "Multiple projects were deleted when deleting project with id: " + id
-            );
-        } else {
-            eventPublisher.publishEvent(new ProjectDeletedEvent(id));
+    public ProjectDeletionJob deleteProjectById(UUID id, EmailAddress requestingUserEmail) throws NoProjectFoundException {
+        return deleteProjectById(id, getUserIdByUserEmailAddress(requestingUserEmail));
+    }
+
+    // only marks the project, the modules purge their part of it in the background and report to the job
+    public ProjectDeletionJob deleteProjectById(UUID id, UUID requestingUserId) throws NoProjectFoundException {
+        Project project = projectRepository
+                .findByIdAndDeletedIsFalse(id)
+                .orElseThrow(() -> new NoProjectFoundException("could not delete because there was no project with id: " + id));
+        project.setDeleted(true);
+        projectRepository.save(project);
+
+        ProjectDeletionJob projectDeletionJob = projectDeletionJobRepository.save(new ProjectDeletionJob(id, requestingUserId));
+        eventPublisher.publishEvent(new ProjectDeletedEvent(id));
+        return projectDeletionJob;
+    }
+
+    // the lock waits for the deletion to commit and serializes the reports of the modules
+    private Optional<ProjectDeletionJob> lockDeletionJobByProjectId(UUID projectId) {
+        return projectRepository
+                .findForUpdateById(projectId)
+                .filter(Project::getDeleted)
+                .flatMap(project -> projectDeletionJobRepository.findById(projectId));
+    }
+
+    private void completeDeletionJobIfPurged(ProjectDeletionJob projectDeletionJob) {
+        if (projectDeletionJob.isPurged()) {
+            projectRepository.deleteById(projectDeletionJob.getProjectId());
+            projectDeletionJob.complete();
         }
+        projectDeletionJobRepository.save(projectDeletionJob);
+    }
+
+
+    // the replica of the users, written in batches by the projection updater. the board follows the written rows
+    private void applyUserData(Map<UUID, UserData> userDataByUserId, Set<UUID> deletedUserIds) {
+        List<UserDataOfProject> userData = userDataUpsert.upsert(userDataByUserId, deletedUserIds);
+        projectBoardReadModel.applyUserData(userData, deletedUserIds);
+    }
+
+    private record UserData(EmailAddress email, String name) {
     }
 
 
@@ -102,34 +191,93 @@ public class ProjectDomainService {
     @EventListener
     @Async
     public void handleUserCreated(UserCreatedEvent userCreatedEvent) {
-        userDataOfProjectRepository.save(new UserDataOfProject(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress()));
-        Project defaultProject = new Project(
+        Project initializedProject = projectRepository.save(newDefaultProject());
+        eventPublisher.publishEvent(new DefaultProjectCreatedEvent(initializedProject.getId(), userCreatedEvent.getUserId()));
+    }
+
+    // the default projects of a batch are inserted together, the other modules set them up with one event as well
+    @EventListener
+    @Async
+    public void handleUsersCreated(UsersCreatedEvent usersCreatedEvent) {
+        List<UUID> userIds = new ArrayList<>(usersCreatedEvent.getEmailAddressByUserId().keySet());
+        List<Project> defaultProjects = new ArrayList<>();
+        userIds.forEach(userId -> defaultProjects.add(newDefaultProject()));
+        List<Project> initializedProjects = projectRepository.saveAll(defaultProjects);
+
+        Map<UUID, UUID> userIdByProjectId = new LinkedHashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            userIdByProjectId.put(initializedProjects.get(i).getId(), userIds.get(i));
+        }
+        eventPublisher.publishEvent(new DefaultProjectsCreatedEvent(userIdByProjectId));
+    }
+
+    private static Project newDefaultProject() {
+        return new Project(
                 "Example Project",
                 "This project was created automatically. Use it to get accustomed to everything."
         );
-        Project initializedProject = projectRepository.save(defaultProject);
-        eventPublisher.publishEvent(new DefaultProjectCreatedEvent(initializedProject.getId(), userCreatedEvent.getUserId()));
     }
 
     @EventListener
     public void handleLastProjectMemberDeletedEvent(LastProjectMemberDeletedEvent lastProjectMemberDeletedEvent) {
-        this.deleteProjectById(lastProjectMemberDeletedEvent.getProjectId());
+        // the last member may leave a project that is already being deleted
+        if (projectRepository.existsByIdAndDeletedIsFalse(lastProjectMemberDeletedEvent.getProjectId())) {
+            this.deleteProjectById(lastProjectMemberDeletedEvent.getProjectId(), lastProjectMemberDeletedEvent.getUserId());
+        }
     }
 
     @EventListener
-    @Async
-    public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
-        UserDataOfProject userDataOfProject =
-                userDataOfProjectRepository
-                        .findByUserId(userPatchedEvent.getUserId())
-                        .get(0);
-        userDataOfProject.setUserEmail(userPatchedEvent.getEmailAddress());
-        userDataOfProjectRepository.save(userDataOfProject);
+    public void handleMembershipsPurgedEvent(MembershipsPurgedEvent membershipsPurgedEvent) {
+        this.lockDeletionJobByProjectId(membershipsPurgedEvent.getProjectId()).ifPresent(projectDeletionJob -> {
+            projectDeletionJob.setPurgedMembershipCount(membershipsPurgedEvent.getPurgedMembershipCount());
+            this.completeDeletionJobIfPurged(projectDeletionJob);
+        });
     }
 
     @EventListener
-    @Async
+    public void handlePhasesPurgedEvent(PhasesPurgedEvent phasesPurgedEvent) {
+        this.lockDeletionJobByProjectId(phasesPurgedEvent.getProjectId()).ifPresent(projectDeletionJob -> {
+            projectDeletionJob.setPurgedPhaseCount(phasesPurgedEvent.getPurgedPhaseCount());
+            this.completeDeletionJobIfPurged(projectDeletionJob);
+        });
+    }
+
+    @EventListener
+    public void handleTicketsPurgedEvent(TicketsPurgedEvent ticketsPurgedEvent) {
+        this.lockDeletionJobByProjectId(ticketsPurgedEvent.getProjectId()).ifPresent(projectDeletionJob -> {
+            projectDeletionJob.setPurgedTicketCount(ticketsPurgedEvent.getPurgedTicketCount());
+            this.completeDeletionJobIfPurged(projectDeletionJob);
+        });
+    }
+
+    @EventListener
+    public void handleBoardPurgedEvent(BoardPurgedEvent boardPurgedEvent) {
+        this.lockDeletionJobByProjectId(boardPurgedEvent.getProjectId()).ifPresent(projectDeletionJob -> {
+            projectDeletionJob.setPurgedBoardRowCount(boardPurgedEvent.getPurgedBoardRowCount());
+            this.completeDeletionJobIfPurged(projectDeletionJob);
+        });
+    }
+
+    // the replica is only enqueued once the change of the user is committed, a rolled back change never reaches it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUserCreatedEvent(UserCreatedEvent userCreatedEvent) {
+        userDataProjection.upsert(userCreatedEvent.getUserId(), new UserData(userCreatedEvent.getEmailAddress(), userCreatedEvent.getName()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        usersCreatedEvent.getEmailAddressByUserId().forEach((userId, email) ->
+                userDataProjection.upsert(userId, new UserData(email, usersCreatedEvent.getNameByUserId().get(userId)))
+        );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
+        userDataProjection.upsert(userPatchedEvent.getUserId(), new UserData(userPatchedEvent.getEmailAddress(), userPatchedEvent.getName()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
-        userDataOfProjectRepository.deleteByUserId(userDeletedEvent.getUserId());
+        userDataProjection.delete(userDeletedEvent.getUserId());
     }
 }
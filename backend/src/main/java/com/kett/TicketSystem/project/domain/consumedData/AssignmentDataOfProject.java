@@ -0,0 +1,38 @@
+package com.kett.TicketSystem.project.domain.consumedData;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(columnList = "projectId"),
+        @Index(columnList = "ticketId"),
+        @Index(columnList = "assigneeId")
+})
+@Getter
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AssignmentDataOfProject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Setter(AccessLevel.PROTECTED)
+    @Column(length = 16)
+    UUID id;
+
+    @Column(length = 16)
+    UUID ticketId;
+
+    @Column(length = 16)
+    UUID projectId;
+
+    @Column(length = 16)
+    UUID assigneeId;
+
+    public AssignmentDataOfProject(@NonNull UUID ticketId, @NonNull UUID projectId, @NonNull UUID assigneeId) {
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.assigneeId = assigneeId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kett.TicketSystem.project.domain.consumedData;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(columnList = "projectId"),
+        @Index(columnList = "phaseId")
+})
+@Getter
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PhaseDataOfProject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Setter(AccessLevel.PROTECTED)
+    @Column(length = 16)
+    UUID id;
+
+    @Column(length = 16)
+    UUID phaseId;
+
+    @Column(length = 16)
+    UUID projectId;
+
+    @Setter
+    String name;
+
+    @Setter
+    @Column(length = 16)
+    UUID previousPhaseId;
+
+    public PhaseDataOfProject(@NonNull UUID phaseId, @NonNull UUID projectId, String name, UUID previousPhaseId) {
+        this.phaseId = phaseId;
+        this.projectId = projectId;
+        this.name = name;
+        this.previousPhaseId = previousPhaseId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kett.TicketSystem.project.domain.consumedData;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(columnList = "projectId"),
+        @Index(columnList = "ticketId")
+})
+@Getter
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TicketDataOfProject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Setter(AccessLevel.PROTECTED)
+    @Column(length = 16)
+    UUID id;
+
+    @Column(length = 16)
+    UUID ticketId;
+
+    @Column(length = 16)
+    UUID projectId;
+
+    @Setter
+    @Column(length = 16)
+    UUID phaseId;
+
+    @Setter
+    String title;
+
+    @Setter
+    LocalDateTime dueTime;
+
+    LocalDateTime creationTime;
+
+    public TicketDataOfProject(
+            @NonNull UUID ticketId,
+            @NonNull UUID projectId,
+            UUID phaseId,
+            String title,
+            LocalDateTime dueTime,
+            LocalDateTime creationTime
+    ) {
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.phaseId = phaseId;
+        this.title = title;
+        this.dueTime = dueTime;
+        this.creationTime = creationTime;
+    }
+}
@@ -7,6 +7,7 @@ import javax.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(columnList = "normalizedAddress"))
 @Getter
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -23,8 +24,13 @@ public class UserDataOfProject {
     @Setter
     EmailAddress userEmail;
 
-    public UserDataOfProject(@NonNull UUID userId, @NonNull EmailAddress userEmail) {
+    // shown as the assignee on the board
+    @Setter
+    String userName;
+
+    public UserDataOfProject(@NonNull UUID userId, @NonNull EmailAddress userEmail, String userName) {
         this.userId = userId;
         this.userEmail = userEmail;
+        this.userName = userName;
     }
 }
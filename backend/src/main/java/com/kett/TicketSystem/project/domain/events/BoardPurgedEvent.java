@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.project.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class BoardPurgedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Long purgedBoardRowCount;
+
+    public BoardPurgedEvent(UUID projectId, Long purgedBoardRowCount) {
+        super();
+        this.projectId = projectId;
+        this.purgedBoardRowCount = purgedBoardRowCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.project.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.UUID;
+
+// the default projects of a whole batch of users, published instead of a DefaultProjectCreatedEvent per project
+@Getter
+public class DefaultProjectsCreatedEvent extends DomainEvent {
+    private final Map<UUID, UUID> userIdByProjectId;
+
+    public DefaultProjectsCreatedEvent(Map<UUID, UUID> userIdByProjectId) {
+        super();
+        this.userIdByProjectId = userIdByProjectId;
+    }
+}
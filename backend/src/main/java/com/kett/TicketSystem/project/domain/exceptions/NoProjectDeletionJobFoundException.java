@@ -0,0 +1,7 @@
+package com.kett.TicketSystem.project.domain.exceptions;
+
+public class NoProjectDeletionJobFoundException extends RuntimeException {
+    public NoProjectDeletionJobFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.kett.TicketSystem.project.repository;
+
+import com.kett.TicketSystem.project.domain.consumedData.AssignmentDataOfProject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// written from the transaction that published the event, so the bulk deletes must not clear its persistence context
+@Repository
+public interface AssignmentDataOfProjectRepository extends JpaRepository<AssignmentDataOfProject, UUID> {
+    List<AssignmentDataOfProject> findByProjectId(UUID projectId);
+    Boolean existsByTicketIdAndAssigneeId(UUID ticketId, UUID assigneeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssignmentDataOfProject a where a.ticketId = :ticketId and a.assigneeId = :assigneeId")
+    int deleteByTicketIdAndAssigneeId(@Param("ticketId") UUID ticketId, @Param("assigneeId") UUID assigneeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssignmentDataOfProject a where a.ticketId = :ticketId")
+    int deleteByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssignmentDataOfProject a where a.projectId = :projectId and a.assigneeId = :assigneeId")
+    int deleteByProjectIdAndAssigneeId(@Param("projectId") UUID projectId, @Param("assigneeId") UUID assigneeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssignmentDataOfProject a where a.assigneeId in :assigneeIds")
+    int deleteByAssigneeIdIn(@Param("assigneeIds") Collection<UUID> assigneeIds);
+
+    @Query("select a.id from AssignmentDataOfProject a where a.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssignmentDataOfProject a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
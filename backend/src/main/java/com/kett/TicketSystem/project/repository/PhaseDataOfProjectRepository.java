@@ -0,0 +1,31 @@
+package com.kett.TicketSystem.project.repository;
+
+import com.kett.TicketSystem.project.domain.consumedData.PhaseDataOfProject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// written from the transaction that published the event, so the bulk deletes must not clear its persistence context
+@Repository
+public interface PhaseDataOfProjectRepository extends JpaRepository<PhaseDataOfProject, UUID> {
+    List<PhaseDataOfProject> findByPhaseId(UUID phaseId);
+    List<PhaseDataOfProject> findByProjectId(UUID projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from PhaseDataOfProject p where p.phaseId = :phaseId")
+    int deleteByPhaseId(@Param("phaseId") UUID phaseId);
+
+    @Query("select p.id from PhaseDataOfProject p where p.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from PhaseDataOfProject p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
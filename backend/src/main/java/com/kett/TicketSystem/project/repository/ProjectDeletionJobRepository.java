@@ -0,0 +1,11 @@
+package com.kett.TicketSystem.project.repository;
+
+import com.kett.TicketSystem.project.domain.ProjectDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProjectDeletionJobRepository extends JpaRepository<ProjectDeletionJob, UUID> {
+}
@@ -2,11 +2,21 @@ package com.kett.TicketSystem.project.repository;
 
 import com.kett.TicketSystem.project.domain.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
-    Long removeById(UUID id);
+    Optional<Project> findByIdAndDeletedIsFalse(UUID id);
+    Boolean existsByIdAndDeletedIsFalse(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> findForUpdateById(@Param("id") UUID id);
 }
@@ -0,0 +1,32 @@
+package com.kett.TicketSystem.project.repository;
+
+import com.kett.TicketSystem.project.domain.consumedData.TicketDataOfProject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// written from the transaction that published the event, so the bulk deletes must not clear its persistence context
+@Repository
+public interface TicketDataOfProjectRepository extends JpaRepository<TicketDataOfProject, UUID> {
+    List<TicketDataOfProject> findByTicketId(UUID ticketId);
+    List<TicketDataOfProject> findByTicketIdIn(Collection<UUID> ticketIds);
+    List<TicketDataOfProject> findByProjectId(UUID projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from TicketDataOfProject t where t.ticketId = :ticketId")
+    int deleteByTicketId(@Param("ticketId") UUID ticketId);
+
+    @Query("select t.id from TicketDataOfProject t where t.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from TicketDataOfProject t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -1,17 +1,26 @@
 package com.kett.TicketSystem.project.repository;
 
-import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.project.domain.consumedData.UserDataOfProject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface UserDataOfProjectRepository extends JpaRepository<UserDataOfProject, UUID> {
     List<UserDataOfProject> findByUserId(UUID userId);
-    List<UserDataOfProject> findByUserEmailEquals(EmailAddress emailAddress);
+    List<UserDataOfProject> findByUserEmailNormalizedAddress(String normalizedAddress);
 
     Integer deleteByUserId(UUID userId);
+
+    List<UserDataOfProject> findByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UserDataOfProject u where u.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
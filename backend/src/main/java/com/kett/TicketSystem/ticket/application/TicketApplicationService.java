@@ -1,66 +1,126 @@
 package com.kett.TicketSystem.ticket.application;
 
 import com.kett.TicketSystem.common.DtoMapper;
+import com.kett.TicketSystem.common.EntityTag;
+import com.kett.TicketSystem.common.RequestLookupCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPutPhaseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportCheckpointResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
 import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
 import com.kett.TicketSystem.ticket.domain.TicketDomainService;
+import com.kett.TicketSystem.ticket.domain.TicketExportFormat;
+import com.kett.TicketSystem.ticket.domain.TicketFilter;
+import com.kett.TicketSystem.ticket.domain.TicketImportCheckpoint;
+import com.kett.TicketSystem.ticket.domain.TicketImportResult;
+import com.kett.TicketSystem.ticket.domain.TicketImporter;
+import com.kett.TicketSystem.ticket.domain.TicketPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class TicketApplicationService {
     private final TicketDomainService ticketDomainService;
+    private final TicketImporter ticketImporter;
     private final DtoMapper dtoMapper;
+    private final RequestLookupCache requestLookupCache;
 
     @Autowired
     public TicketApplicationService(
             TicketDomainService ticketDomainService,
-            DtoMapper dtoMapper
+            TicketImporter ticketImporter,
+            DtoMapper dtoMapper,
+            RequestLookupCache requestLookupCache
     ) {
         this.ticketDomainService = ticketDomainService;
+        this.ticketImporter = ticketImporter;
         this.dtoMapper = dtoMapper;
+        this.requestLookupCache = requestLookupCache;
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
+    // lookups for @PreAuthorize, memoized per request so the guarded method reuses what the check loaded
+
+    public UUID getProjectIdByTicketId(UUID id) {
+        return this.getTicket(id).getProjectId();
+    }
+
+    public UUID getProjectIdByTicketFilter(TicketFilter filter) {
+        if (filter.getPhaseId() != null && filter.getProjectId() == null) {
+            return this.getProjectIdByPhaseIdOfTicket(filter.getPhaseId());
+        }
+        return ticketDomainService.getProjectIdByTicketFilter(filter);
+    }
+
+    public UUID getProjectIdByPhaseIdOfTicket(UUID phaseId) {
+        return requestLookupCache.computeIfAbsent(
+                "projectIdByPhaseIdOfTicket",
+                phaseId,
+                () -> ticketDomainService.getProjectIdByPhaseIdOfTicket(phaseId)
+        );
+    }
+
+    private Ticket getTicket(UUID id) {
+        return requestLookupCache.computeIfAbsent("ticketById", id, () -> ticketDomainService.getTicketById(id));
+    }
+
+    @PreAuthorize("hasPermission(@ticketApplicationService.getProjectIdByTicketId(#id), 'MEMBER')")
     public TicketResponseDto getTicketById(UUID id) {
-        Ticket ticket = ticketDomainService.getTicketById(id);
+        Ticket ticket = this.getTicket(id);
         return dtoMapper.mapTicketToTicketResponseDto(ticket);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByPhaseIdOfTicket(#phaseId)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByPhaseIdOfTicket(#phaseId)))")
-    public List<TicketResponseDto> getTicketsByPhaseId(UUID phaseId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByPhaseId(phaseId);
-        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
+    @PreAuthorize("#filter.isScopedByProject() " +
+            "? hasPermission(@ticketApplicationService.getProjectIdByTicketFilter(#filter), 'MEMBER') " +
+            ": hasPermission(#filter.assigneeId, 'USER')")
+    public TicketPageResponseDto getTicketsByFilter(TicketFilter filter, TicketCursor cursor, Integer limit) {
+        TicketPage ticketPage = ticketDomainService.getTicketsByFilter(filter, cursor, limit);
+        return dtoMapper.mapTicketPageToTicketPageResponseDto(ticketPage);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#assigneeId))")
-    public List<TicketResponseDto> getTicketsByAssigneeId(UUID assigneeId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByAssigneeId(assigneeId);
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
+    public List<TicketResponseDto> searchTickets(UUID projectId, String query, Integer offset, Integer limit) {
+        List<Ticket> tickets = ticketDomainService.searchTickets(projectId, query, offset, limit);
         return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(#projectId), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(#projectId))")
-    public List<TicketResponseDto> getTicketsByProjectId(UUID projectId) {
-        List<Ticket> tickets = ticketDomainService.getTicketsByProjectId(projectId);
-        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
+    // authorization is checked here, the returned body is written later on an async thread in its own transaction
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
+    public StreamingResponseBody exportTicketsByProjectId(UUID projectId, TicketExportFormat format) {
+        return outputStream -> ticketDomainService.exportTicketsByProjectId(projectId, format, outputStream);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(#ticketPostDto.projectId), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(#ticketPostDto.projectId))")
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
+    public TicketImportResponseDto importTickets(
+            UUID projectId,
+            UUID importId,
+            TicketExportFormat format,
+            InputStream inputStream,
+            EmailAddress postingUserEmail
+    ) throws IOException {
+        TicketImportResult ticketImportResult = ticketImporter.importTickets(projectId, importId, format, inputStream, postingUserEmail);
+        return dtoMapper.mapTicketImportResultToTicketImportResponseDto(ticketImportResult);
+    }
+
+    @PreAuthorize("hasPermission(#projectId, 'MEMBER')")
+    public TicketImportCheckpointResponseDto getTicketImportById(UUID projectId, UUID importId) {
+        TicketImportCheckpoint checkpoint = ticketImporter.getCheckpoint(projectId, importId);
+        return dtoMapper.mapTicketImportCheckpointToTicketImportCheckpointResponseDto(checkpoint);
+    }
+
+    @PreAuthorize("hasPermission(#ticketPostDto.projectId, 'MEMBER')")
     public TicketResponseDto addTicket(TicketPostDto ticketPostDto, EmailAddress postingUserEmail) {
         Ticket ticket = ticketDomainService.addTicket(
                 dtoMapper.mapTicketPostDtoToTicket(ticketPostDto, null),
@@ -69,10 +129,19 @@ public class TicketApplicationService {
         return dtoMapper.mapTicketToTicketResponseDto(ticket);
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
-    public void patchTicketById(UUID id, TicketPatchDto ticketPatchDto) {
+    @PreAuthorize("hasPermission(#ticketBatchPostDto.projectId, 'MEMBER')")
+    public List<TicketResponseDto> addTickets(TicketBatchPostDto ticketBatchPostDto, EmailAddress postingUserEmail) {
+        List<Ticket> tickets = ticketDomainService.addTickets(
+                ticketBatchPostDto.getProjectId(),
+                dtoMapper.mapTicketBatchPostDtoToTicketList(ticketBatchPostDto),
+                postingUserEmail
+        );
+        return dtoMapper.mapTicketListToTicketResponseDtoList(tickets);
+    }
+
+    @PreAuthorize("hasPermission(@ticketApplicationService.getProjectIdByTicketId(#id), 'MEMBER')")
+    public void patchTicketById(UUID id, TicketPatchDto ticketPatchDto, String ifMatch) {
+        EntityTag.checkIfMatch(ifMatch, this.getTicket(id).getVersion());
         ticketDomainService.patchTicket(
                 id,
                 ticketPatchDto.getTitle(),
@@ -83,9 +152,12 @@ public class TicketApplicationService {
         );
     }
 
-    @PreAuthorize("hasAnyAuthority(" +
-            "'ROLE_PROJECT_ADMIN_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)), " +
-            "'ROLE_PROJECT_MEMBER_'.concat(@ticketDomainService.getProjectIdByTicketId(#id)))")
+    @PreAuthorize("hasPermission(@ticketApplicationService.getProjectIdByPhaseIdOfTicket(#ticketBatchPutPhaseDto.phaseId), 'MEMBER')")
+    public void patchTicketPhases(TicketBatchPutPhaseDto ticketBatchPutPhaseDto) {
+        ticketDomainService.patchTicketPhases(ticketBatchPutPhaseDto.getTicketIds(), ticketBatchPutPhaseDto.getPhaseId());
+    }
+
+    @PreAuthorize("hasPermission(@ticketApplicationService.getProjectIdByTicketId(#id), 'MEMBER')")
     public void deleteTicketById(UUID id) {
         ticketDomainService.deleteTicketById(id);
     }
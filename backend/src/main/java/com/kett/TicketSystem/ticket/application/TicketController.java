@@ -1,12 +1,19 @@
 package com.kett.TicketSystem.ticket.application;
 
+import com.kett.TicketSystem.common.EntityTag;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.common.exceptions.NoParametersException;
-import com.kett.TicketSystem.common.exceptions.TooManyParametersException;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPutPhaseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketPageResponseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketResponseDto;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,14 +22,17 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
 @Transactional
-@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true", exposedHeaders = {TicketController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RequestMapping("/tickets")
 public class TicketController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TicketApplicationService ticketApplicationService;
 
     @Autowired
@@ -34,32 +44,58 @@ public class TicketController {
     @GetMapping("/{id}")
     public ResponseEntity<TicketResponseDto> getTicketById(@PathVariable UUID id) {
         TicketResponseDto ticketResponseDto = ticketApplicationService.getTicketById(id);
-        return new ResponseEntity<>(ticketResponseDto, HttpStatus.OK);
+        return ResponseEntity
+                .ok()
+                .eTag(EntityTag.fromVersion(ticketResponseDto.getVersion()))
+                .body(ticketResponseDto);
     }
 
     @GetMapping
     public ResponseEntity<List<TicketResponseDto>> getTicketsByQuery(
             @RequestParam(name = "phase-id", required = false) UUID phaseId,
             @RequestParam(name = "assignee-id", required = false) UUID assigneeId,
-            @RequestParam(name = "project-id", required = false) UUID projectId
+            @RequestParam(name = "project-id", required = false) UUID projectId,
+            @RequestParam(name = "due-after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @RequestParam(name = "due-before", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @RequestParam(name = "created-after", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(name = "created-before", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(name = "title", required = false) String title,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit
     ) {
-
-        // TODO: use proper check for too many parameters with map
-        if (phaseId != null && assigneeId != null) {
-            throw new TooManyParametersException("cannot query by more than one parameter yet");
+        TicketFilter ticketFilter = new TicketFilter(
+                projectId,
+                phaseId,
+                assigneeId,
+                dueAfter,
+                dueBefore,
+                createdAfter,
+                createdBefore,
+                title
+        );
+        if (!ticketFilter.hasScope()) {
+            throw new NoParametersException("cannot query without project-id, phase-id or assignee-id");
         }
 
-        List<TicketResponseDto> ticketResponseDtos;
-        if (phaseId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByPhaseId(phaseId);
-        } else if (assigneeId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByAssigneeId(assigneeId);
-        } else if (projectId != null) {
-            ticketResponseDtos = ticketApplicationService.getTicketsByProjectId(projectId);
-        } else {
-            throw new NoParametersException("cannot query if no parameters are specified");
+        TicketCursor ticketCursor = (cursor == null) ? null : TicketCursor.fromString(cursor);
+        TicketPageResponseDto ticketPageResponseDto =
+                ticketApplicationService.getTicketsByFilter(ticketFilter, ticketCursor, limit);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ticketPageResponseDto.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, ticketPageResponseDto.getNextCursor());
         }
+        return new ResponseEntity<>(ticketPageResponseDto.getTickets(), headers, HttpStatus.OK);
+    }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<TicketResponseDto>> searchTickets(
+            @RequestParam(name = "project-id") UUID projectId,
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "offset", required = false) Integer offset,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        List<TicketResponseDto> ticketResponseDtos = ticketApplicationService.searchTickets(projectId, query, offset, limit);
         return new ResponseEntity<>(ticketResponseDtos, HttpStatus.OK);
     }
 
@@ -78,9 +114,22 @@ public class TicketController {
                 .body(ticketResponseDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TicketResponseDto>> postTickets(@RequestBody TicketBatchPostDto ticketBatchPostDto) {
+        EmailAddress userEmail = EmailAddress.fromString(SecurityContextHolder.getContext().getAuthentication().getName());
+        List<TicketResponseDto> ticketResponseDtos = ticketApplicationService.addTickets(ticketBatchPostDto, userEmail);
+        return new ResponseEntity<>(ticketResponseDtos, HttpStatus.CREATED);
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<?> patchTicket(@PathVariable UUID id, @RequestBody TicketPatchDto ticketPatchDto) {
-        ticketApplicationService.patchTicketById(id, ticketPatchDto);
+    public ResponseEntity<?> patchTicket(@PathVariable UUID id, @RequestBody TicketPatchDto ticketPatchDto, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ticketApplicationService.patchTicketById(id, ticketPatchDto, ifMatch);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @PutMapping("/batch/phase")
+    public ResponseEntity<?> putTicketPhases(@RequestBody TicketBatchPutPhaseDto ticketBatchPutPhaseDto) {
+        ticketApplicationService.patchTicketPhases(ticketBatchPutPhaseDto);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
@@ -0,0 +1,45 @@
+package com.kett.TicketSystem.ticket.application;
+
+import com.kett.TicketSystem.ticket.domain.TicketExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+// not @Transactional, the export opens its own read-only transaction while the response is written
+@RestController
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true", exposedHeaders = {HttpHeaders.CONTENT_DISPOSITION})
+@RequestMapping("/projects")
+public class TicketExportController {
+    private final TicketApplicationService ticketApplicationService;
+
+    @Autowired
+    public TicketExportController(TicketApplicationService ticketApplicationService) {
+        this.ticketApplicationService = ticketApplicationService;
+    }
+
+
+    @GetMapping("/{id}/tickets/export")
+    public ResponseEntity<StreamingResponseBody> exportTicketsByProjectId(
+            @PathVariable UUID id,
+            @RequestParam(name = "format", required = false, defaultValue = "ndjson") String format
+    ) {
+        TicketExportFormat ticketExportFormat = TicketExportFormat.fromString(format);
+        StreamingResponseBody responseBody = ticketApplicationService.exportTicketsByProjectId(id, ticketExportFormat);
+        ContentDisposition contentDisposition = ContentDisposition
+                .attachment()
+                .filename("tickets-" + id + "." + ticketExportFormat.getFileExtension())
+                .build();
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.parseMediaType(ticketExportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(responseBody);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.ticket.application;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportCheckpointResponseDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketImportResponseDto;
+import com.kett.TicketSystem.ticket.domain.TicketExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+// not @Transactional, every batch of an import is committed on its own
+@RestController
+@CrossOrigin(origins = {"http://localhost:10000"}, allowCredentials = "true")
+@RequestMapping("/projects")
+public class TicketImportController {
+    private final TicketApplicationService ticketApplicationService;
+
+    @Autowired
+    public TicketImportController(TicketApplicationService ticketApplicationService) {
+        this.ticketApplicationService = ticketApplicationService;
+    }
+
+
+    @GetMapping("/{id}/tickets/imports/{importId}")
+    public ResponseEntity<TicketImportCheckpointResponseDto> getTicketImportById(@PathVariable UUID id, @PathVariable UUID importId) {
+        TicketImportCheckpointResponseDto checkpointResponseDto = ticketApplicationService.getTicketImportById(id, importId);
+        return new ResponseEntity<>(checkpointResponseDto, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/{id}/tickets/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<TicketImportResponseDto> importTickets(
+            @PathVariable UUID id,
+            @RequestParam(name = "import-id", required = false) UUID importId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        EmailAddress userEmail = EmailAddress.fromString(SecurityContextHolder.getContext().getAuthentication().getName());
+        TicketImportResponseDto ticketImportResponseDto = ticketApplicationService.importTickets(
+                id,
+                importId == null ? UUID.randomUUID() : importId,
+                TicketExportFormat.fromMediaType(contentType),
+                body,
+                userEmail
+        );
+        return new ResponseEntity<>(ticketImportResponseDto, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kett.TicketSystem.ticket.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketBatchPostDto {
+    private UUID projectId;
+    private List<TicketBatchEntryDto> tickets = new ArrayList<>();
+}
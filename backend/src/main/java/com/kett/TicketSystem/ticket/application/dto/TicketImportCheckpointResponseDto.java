@@ -0,0 +1,23 @@
+package com.kett.TicketSystem.ticket.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportCheckpointResponseDto {
+    private UUID importId;
+    private UUID projectId;
+    private Long processedRowCount;
+    private Long importedTicketCount;
+    private Long failedRowCount;
+    private Boolean completed;
+    private LocalDateTime lastUpdateTime;
+}
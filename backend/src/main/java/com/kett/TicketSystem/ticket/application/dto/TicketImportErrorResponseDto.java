@@ -0,0 +1,15 @@
+package com.kett.TicketSystem.ticket.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportErrorResponseDto {
+    private Long rowNumber;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.kett.TicketSystem.ticket.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportResponseDto {
+    private UUID importId;
+    private UUID projectId;
+    private Long processedRowCount;
+    private Long skippedRowCount;
+    private Long importedTicketCount;
+    private Long failedRowCount;
+    private List<TicketImportErrorResponseDto> errors = new ArrayList<>();
+}
@@ -20,4 +20,5 @@ public class TicketResponseDto {
     private UUID phaseId;
     private UUID projectId;
     private List<UUID> assigneeIds = new ArrayList<>();
+    private Long version;
 }
@@ -0,0 +1,115 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import java.util.*;
+
+// hierarchical hashed timing wheel, every level has 64 slots and each slot of a level spans a whole revolution of the level below.
+// insert and cancel are O(1), an entry is cascaded down at most once per level before it expires.
+public class DueTimeWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 6;
+
+    private final List<List<Set<UUID>>> slotsByLevel = new ArrayList<>();
+    private final Map<UUID, Entry> entryByTicketId = new HashMap<>();
+    private long currentTick;
+
+    public DueTimeWheel(long currentTick) {
+        this.currentTick = currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            List<Set<UUID>> slots = new ArrayList<>(SLOTS_PER_LEVEL);
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                slots.add(new HashSet<>());
+            }
+            slotsByLevel.add(slots);
+        }
+    }
+
+    // returns false if the tick has already passed, the caller has to handle the entry right away then
+    public Boolean schedule(UUID ticketId, long dueTick) {
+        cancel(ticketId);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        Entry entry = new Entry(ticketId, dueTick);
+        entryByTicketId.put(ticketId, entry);
+        place(entry);
+        return true;
+    }
+
+    public void cancel(UUID ticketId) {
+        Entry entry = entryByTicketId.remove(ticketId);
+        if (entry != null) {
+            entry.slot.remove(ticketId);
+        }
+    }
+
+    public Optional<Long> getDueTick(UUID ticketId) {
+        return Optional.ofNullable(entryByTicketId.get(ticketId)).map(entry -> entry.dueTick);
+    }
+
+    public Integer getSize() {
+        return entryByTicketId.size();
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    // moves the wheel forward tick by tick and returns the ids of all tickets that became due on the way
+    public List<UUID> advanceTo(long tick) {
+        List<UUID> dueTicketIds = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+
+            Set<UUID> slot = slotsByLevel.get(0).get((int) (currentTick & SLOT_MASK));
+            for (UUID ticketId : slot) {
+                entryByTicketId.remove(ticketId);
+                dueTicketIds.add(ticketId);
+            }
+            slot.clear();
+        }
+        return dueTicketIds;
+    }
+
+    // the higher levels are emptied into the lower ones whenever the lower level completes a revolution
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            long lowerRevolution = (1L << (SLOT_BITS * level)) - 1;
+            if ((currentTick & lowerRevolution) != 0) {
+                continue;
+            }
+            Set<UUID> slot = slotsByLevel.get(level).get((int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK));
+            List<UUID> ticketIds = new ArrayList<>(slot);
+            slot.clear();
+            ticketIds.forEach(ticketId -> place(entryByTicketId.get(ticketId)));
+        }
+    }
+
+    private void place(Entry entry) {
+        int level = 0;
+        while (level < LEVELS - 1
+                && (entry.dueTick >> (SLOT_BITS * level)) - (currentTick >> (SLOT_BITS * level)) >= SLOTS_PER_LEVEL) {
+            level++;
+        }
+        // further away than the top level reaches, it is placed again once its slot comes around
+        long slotTick = Math.min(
+                entry.dueTick >> (SLOT_BITS * level),
+                (currentTick >> (SLOT_BITS * level)) + SLOTS_PER_LEVEL - 1
+        );
+        entry.slot = slotsByLevel.get(level).get((int) (slotTick & SLOT_MASK));
+        entry.slot.add(entry.ticketId);
+    }
+
+    private static class Entry {
+        private final UUID ticketId;
+        private final long dueTick;
+        private Set<UUID> slot;
+
+        Entry(UUID ticketId, long dueTick) {
+            this.ticketId = ticketId;
+            this.dueTick = dueTick;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.repository.MembershipDataOfTicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProjectMemberCache {
+    public static final int MAX_CACHED_PROJECTS = 1024;
+
+    private final MembershipDataOfTicketRepository membershipDataOfTicketRepository;
+
+    // access ordered, so the least recently used project is evicted first
+    private final Map<UUID, Set<UUID>> memberIdsByProjectId = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Set<UUID>> eldest) {
+            if (size() > MAX_CACHED_PROJECTS) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // bumped on every committed membership change, loads that overlap a change are not cached
+    private long modificationCount = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public ProjectMemberCache(MembershipDataOfTicketRepository membershipDataOfTicketRepository) {
+        this.membershipDataOfTicketRepository = membershipDataOfTicketRepository;
+    }
+
+    public Boolean areProjectMembers(UUID projectId, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return true;
+        }
+
+        long expectedModificationCount;
+        synchronized (this) {
+            Set<UUID> memberIds = memberIdsByProjectId.get(projectId);
+            if (memberIds != null) {
+                hitCount.incrementAndGet();
+                return memberIds.containsAll(userIds);
+            }
+            expectedModificationCount = modificationCount;
+        }
+
+        missCount.incrementAndGet();
+        Set<UUID> loadedMemberIds = loadMemberIds(projectId);
+        synchronized (this) {
+            if (modificationCount == expectedModificationCount) {
+                memberIdsByProjectId.put(projectId, loadedMemberIds);
+            }
+        }
+        return loadedMemberIds.containsAll(userIds);
+    }
+
+    public void addMember(UUID projectId, UUID userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                modificationCount++;
+                Set<UUID> memberIds = memberIdsByProjectId.get(projectId);
+                if (memberIds != null) {
+                    memberIds.add(userId);
+                }
+            }
+        });
+    }
+
+    public void removeMember(UUID projectId, UUID userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                modificationCount++;
+                Set<UUID> memberIds = memberIdsByProjectId.get(projectId);
+                if (memberIds != null) {
+                    memberIds.remove(userId);
+                }
+            }
+        });
+    }
+
+    public void evictProject(UUID projectId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                modificationCount++;
+                memberIdsByProjectId.remove(projectId);
+            }
+        });
+    }
+
+    public Long getHitCount() {
+        return hitCount.get();
+    }
+
+    public Long getMissCount() {
+        return missCount.get();
+    }
+
+    public Long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public synchronized Integer getSize() {
+        return memberIdsByProjectId.size();
+    }
+
+    private Set<UUID> loadMemberIds(UUID projectId) {
+        Set<UUID> memberIds = new HashSet<>();
+        membershipDataOfTicketRepository
+                .findByProjectId(projectId)
+                .forEach(membershipData -> memberIds.add(membershipData.getUserId()));
+        return memberIds;
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -2,15 +2,22 @@ package com.kett.TicketSystem.ticket.domain;
 
 import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
 import lombok.*;
-import org.hibernate.annotations.Type;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(columnList = "projectId, creationTime, id"),
+        @Index(columnList = "phaseId, creationTime, id"),
+        @Index(columnList = "projectId, dueTime"),
+        @Index(columnList = "dueTime")
+})
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Ticket {
@@ -21,6 +28,11 @@ public class Ticket {
     @Column(length = 16)
     private UUID id;
 
+    @Version
+    @Getter
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @Getter
     private String title;
 
@@ -35,6 +47,10 @@ public class Ticket {
     @Getter
     private LocalDateTime dueTime;
 
+    // only written by the due time scheduler when it claims the overdue announcement, never by a save of the ticket
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime announcedDueTime;
+
     @Getter
     @Column(length = 16)
     private UUID projectId;
@@ -44,10 +60,10 @@ public class Ticket {
     @Column(length = 16)
     private UUID phaseId;
 
-    @Getter
-    @Type(type="uuid-char")
-    @ElementCollection(targetClass = UUID.class, fetch = FetchType.EAGER)
-    private List<UUID> assigneeIds = new ArrayList<>();
+    @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
+    // a whole page of tickets, including the one that detects the next page, in one fetch
+    @BatchSize(size = TicketDomainService.MAX_PAGE_SIZE + 1)
+    private List<TicketAssignment> assignments = new ArrayList<>();
 
     public void setTitle(String title) {
         if (title == null || title.isEmpty()) {
@@ -74,22 +90,35 @@ public class Ticket {
         if (assigneeIds == null) {
             throw new TicketException("assigneeIds must not be null but it may be empty");
         }
-        this.assigneeIds.clear();
-        this.assigneeIds.addAll(assigneeIds);
+        List<UUID> newAssigneeIds = assigneeIds.stream().distinct().toList();
+        this.assignments.removeIf(assignment -> !newAssigneeIds.contains(assignment.getAssigneeId()));
+        newAssigneeIds
+                .stream()
+                .filter(assigneeId -> !this.isAssignee(assigneeId))
+                .forEach(assigneeId -> this.assignments.add(new TicketAssignment(this, assigneeId)));
+    }
+
+    public List<UUID> getAssigneeIds() {
+        return assignments
+                .stream()
+                .map(TicketAssignment::getAssigneeId)
+                .toList();
     }
 
     public void removeAssignee(UUID userId) {
-        assigneeIds.remove(userId);
+        assignments.removeIf(assignment -> assignment.getAssigneeId().equals(userId));
     }
 
     public Boolean isAssignee(UUID assigneeId) {
-        return this.assigneeIds.contains(assigneeId);
+        return assignments
+                .stream()
+                .anyMatch(assignment -> assignment.getAssigneeId().equals(assigneeId));
     }
 
     public Ticket(String title, String description, LocalDateTime dueTime, UUID projectId, UUID phaseId, List<UUID> assigneeIds) {
         this.setTitle(title);
         this.description = description;
-        this.creationTime = LocalDateTime.now();
+        this.creationTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         this.setDueTime(dueTime);
         this.setPhaseId(phaseId);
         this.setProjectId(projectId);
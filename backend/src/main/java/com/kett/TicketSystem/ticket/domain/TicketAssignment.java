@@ -0,0 +1,57 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(columnNames = {"ticket_id", "assigneeId"}),
+        indexes = {
+                @Index(columnList = "assigneeId, projectId, ticketCreationTime, ticket_id"),
+                @Index(columnList = "assigneeId, ticketCreationTime, ticket_id")
+        }
+)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TicketAssignment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Getter
+    @Setter(AccessLevel.PROTECTED)
+    @Column(length = 16)
+    private UUID id;
+
+    @Getter
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "ticket_id", nullable = false)
+    private Ticket ticket;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID assigneeId;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID projectId;
+
+    // copied from the ticket, so the pages of an assignee are read in the cursor order straight from the index
+    @Getter
+    private LocalDateTime ticketCreationTime;
+
+    protected TicketAssignment(Ticket ticket, UUID assigneeId) {
+        if (ticket == null) {
+            throw new TicketException("ticket must not be null");
+        }
+        if (assigneeId == null) {
+            throw new TicketException("assigneeId must not be null");
+        }
+        this.ticket = ticket;
+        this.assigneeId = assigneeId;
+        this.projectId = ticket.getProjectId();
+        this.ticketCreationTime = ticket.getCreationTime();
+    }
+}
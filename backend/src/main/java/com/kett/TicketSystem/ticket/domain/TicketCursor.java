@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+public class TicketCursor {
+    private static final String SEPARATOR = "_";
+
+    @NonNull
+    private final LocalDateTime creationTime;
+
+    @NonNull
+    private final UUID id;
+
+    public static TicketCursor after(Ticket ticket) {
+        return new TicketCursor(ticket.getCreationTime(), ticket.getId());
+    }
+
+    public static TicketCursor fromString(String cursorCandidate) throws TicketException {
+        if (cursorCandidate == null || cursorCandidate.isEmpty()) {
+            throw new TicketException("cursor must not be null or empty");
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursorCandidate), StandardCharsets.UTF_8);
+            String[] cursorParts = decoded.split(SEPARATOR, 2);
+            if (cursorParts.length != 2) {
+                throw new TicketException("cursor is not in a valid format: " + cursorCandidate);
+            }
+            return new TicketCursor(LocalDateTime.parse(cursorParts[0]), UUID.fromString(cursorParts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new TicketException("cursor is not in a valid format: " + cursorCandidate);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String plain = creationTime.toString() + SEPARATOR + id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+}
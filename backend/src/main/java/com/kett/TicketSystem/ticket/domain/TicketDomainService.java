@@ -1,6 +1,11 @@
 package com.kett.TicketSystem.ticket.domain;
 
+import com.kett.TicketSystem.common.ChunkedDeleter;
+import com.kett.TicketSystem.common.EmailResolutionCache;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.common.projection.ProjectionQueue;
+import com.kett.TicketSystem.common.projection.ProjectionUpdater;
+import com.kett.TicketSystem.common.projection.UpsertProjection;
 import com.kett.TicketSystem.common.exceptions.ImpossibleException;
 import com.kett.TicketSystem.common.exceptions.NoProjectFoundException;
 import com.kett.TicketSystem.membership.domain.events.MembershipAcceptedEvent;
@@ -11,6 +16,7 @@ import com.kett.TicketSystem.phase.domain.events.PhaseDeletedEvent;
 import com.kett.TicketSystem.common.exceptions.UnrelatedPhaseException;
 import com.kett.TicketSystem.phase.domain.events.PhasePositionUpdatedEvent;
 import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectsCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectCreatedEvent;
 import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
 import com.kett.TicketSystem.ticket.domain.consumedData.*;
@@ -21,25 +27,42 @@ import com.kett.TicketSystem.ticket.repository.*;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TicketDomainService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final TicketRepository ticketRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
     private final MembershipDataOfTicketRepository membershipDataOfTicketRepository;
     private final PhaseDataOfTicketRepository phaseDataOfTicketRepository;
     private final UserDataOfTicketRepository userDataOfTicketRepository;
+    private final ProjectMemberCache projectMemberCache;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketDueTimeScheduler ticketDueTimeScheduler;
+    private final ChunkedDeleter chunkedDeleter;
+    private final EmailResolutionCache emailResolutionCache;
+    private final ProjectionQueue<UUID, EmailAddress> userDataProjection;
 
     @Autowired
     public TicketDomainService(
@@ -48,7 +71,13 @@ public class TicketDomainService {
             ProjectDataOfTicketRepository projectDataOfTicketRepository,
             MembershipDataOfTicketRepository membershipDataOfTicketRepository,
             PhaseDataOfTicketRepository phaseDataOfTicketRepository,
-            UserDataOfTicketRepository userDataOfTicketRepository
+            UserDataOfTicketRepository userDataOfTicketRepository,
+            ProjectMemberCache projectMemberCache,
+            TicketSearchIndex ticketSearchIndex,
+            TicketDueTimeScheduler ticketDueTimeScheduler,
+            ChunkedDeleter chunkedDeleter,
+            EmailResolutionCache emailResolutionCache,
+            ProjectionUpdater projectionUpdater
     ) {
         this.ticketRepository = ticketRepository;
         this.eventPublisher = eventPublisher;
@@ -56,6 +85,23 @@ public class TicketDomainService {
         this.membershipDataOfTicketRepository = membershipDataOfTicketRepository;
         this.phaseDataOfTicketRepository = phaseDataOfTicketRepository;
         this.userDataOfTicketRepository = userDataOfTicketRepository;
+        this.projectMemberCache = projectMemberCache;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.ticketDueTimeScheduler = ticketDueTimeScheduler;
+        this.chunkedDeleter = chunkedDeleter;
+        this.emailResolutionCache = emailResolutionCache;
+        // the replica of the users, written in batches by the projection updater
+        this.userDataProjection = projectionUpdater.register(
+                "UserDataOfTicket",
+                new UpsertProjection<UUID, EmailAddress, UserDataOfTicket>(
+                        userDataOfTicketRepository::findByUserIdIn,
+                        UserDataOfTicket::getUserId,
+                        UserDataOfTicket::setUserEmail,
+                        UserDataOfTicket::new,
+                        userDataOfTicketRepository::saveAll,
+                        userDataOfTicketRepository::deleteByUserIdIn
+                )
+        );
     }
 
 
@@ -81,64 +127,203 @@ public class TicketDomainService {
         ticket.setPhaseId(firstPhaseOfProjectId);
 
         Ticket initializedTicket = ticketRepository.save(ticket);
-        eventPublisher.publishEvent(new TicketCreatedEvent(initializedTicket.getId(), initializedTicket.getProjectId(), postingUserId));
+        ticketSearchIndex.putTicket(initializedTicket);
+        ticketDueTimeScheduler.scheduleTicket(initializedTicket);
+        eventPublisher.publishEvent(
+                new TicketCreatedEvent(
+                        initializedTicket.getId(),
+                        initializedTicket.getProjectId(),
+                        postingUserId,
+                        initializedTicket.getPhaseId(),
+                        initializedTicket.getTitle(),
+                        initializedTicket.getDueTime(),
+                        initializedTicket.getCreationTime()
+                )
+        );
         initializedTicket.getAssigneeIds().forEach(assigneeId -> {
             eventPublisher.publishEvent(new TicketAssignedEvent(initializedTicket.getId(), initializedTicket.getProjectId(), assigneeId));
         });
         return initializedTicket;
     }
 
-    private UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
-        List<UserDataOfTicket> userData = userDataOfTicketRepository.findByUserEmailEquals(emailAddress);
-        if (userData.isEmpty()) {
-            throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
+    public List<Ticket> addTickets(UUID projectId, List<Ticket> tickets, EmailAddress postingUserEmail)
+            throws TicketException, NoProjectFoundException, InvalidProjectMembersException {
+        if (tickets.isEmpty() || tickets.size() > MAX_BATCH_SIZE) {
+            throw new TicketException("a batch must contain between 1 and " + MAX_BATCH_SIZE + " tickets but had: " + tickets.size());
         }
-        return userData.get(0).getUserId();
+        if (!tickets.stream().allMatch(ticket -> ticket.getProjectId().equals(projectId))) {
+            throw new TicketException("all tickets of a batch must belong to the project with id: " + projectId);
+        }
+        if (!projectDataOfTicketRepository.existsByProjectId(projectId)) {
+            throw new NoProjectFoundException("could not find project with id: " + projectId);
+        }
+        Set<UUID> assigneeIds = new HashSet<>();
+        tickets.forEach(ticket -> assigneeIds.addAll(ticket.getAssigneeIds()));
+        if (!allAssigneesAreProjectMembers(projectId, assigneeIds)) {
+            throw new InvalidProjectMembersException(
+                    "not all assignees are part of the project with id: " + projectId
+            );
+        }
+        UUID postingUserId = getUserIdByUserEmailAddress(postingUserEmail);
+
+        UUID firstPhaseOfProjectId =
+                phaseDataOfTicketRepository
+                        .findByProjectIdAndPreviousPhaseIdIsNull(projectId)
+                        .get(0)
+                        .getPhaseId();
+        tickets.forEach(ticket -> ticket.setPhaseId(firstPhaseOfProjectId));
+
+        List<Ticket> initializedTickets = ticketRepository.saveAll(tickets);
+        initializedTickets.forEach(ticketSearchIndex::putTicket);
+        initializedTickets.forEach(ticketDueTimeScheduler::scheduleTicket);
+        eventPublisher.publishEvent(
+                new TicketsCreatedEvent(
+                        initializedTickets
+                                .stream()
+                                .map(ticket -> new TicketsCreatedEvent.CreatedTicket(
+                                        ticket.getId(),
+                                        ticket.getTitle(),
+                                        ticket.getDueTime(),
+                                        ticket.getCreationTime()
+                                ))
+                                .toList(),
+                        projectId,
+                        firstPhaseOfProjectId,
+                        postingUserId
+                )
+        );
+        Map<UUID, List<UUID>> assigneeIdsByTicketId = new HashMap<>();
+        initializedTickets
+                .stream()
+                .filter(ticket -> !ticket.getAssigneeIds().isEmpty())
+                .forEach(ticket -> assigneeIdsByTicketId.put(ticket.getId(), ticket.getAssigneeIds()));
+        if (!assigneeIdsByTicketId.isEmpty()) {
+            eventPublisher.publishEvent(new TicketsAssignedEvent(projectId, assigneeIdsByTicketId));
+        }
+        return initializedTickets;
+    }
+
+    private UUID getUserIdByUserEmailAddress(EmailAddress emailAddress) {
+        return emailResolutionCache.getUserId(emailAddress, () -> {
+            List<UserDataOfTicket> userData = userDataOfTicketRepository.findByUserEmailNormalizedAddress(emailAddress.getNormalizedAddress());
+            if (userData.isEmpty()) {
+                throw new ImpossibleException("no user data found for user: " + emailAddress.toString());
+            }
+            return userData.get(0).getUserId();
+        });
     }
 
     private Boolean allAssigneesAreProjectMembers(UUID projectId, List<UUID> assigneeIds) {
-        return assigneeIds
-                .stream()
-                .allMatch(assigneeId ->
-                        membershipDataOfTicketRepository.existsByUserIdAndProjectId(assigneeId, projectId)
-                );
+        return allAssigneesAreProjectMembers(projectId, new HashSet<>(assigneeIds));
+    }
+
+    private Boolean allAssigneesAreProjectMembers(UUID projectId, Set<UUID> assigneeIds) {
+        return projectMemberCache.areProjectMembers(projectId, assigneeIds);
     }
 
 
     // read
 
     public Ticket getTicketById(UUID id) throws NoTicketFoundException {
+        return ticketRepository
+                .findWithAssignmentsById(id)
+                .orElseThrow(() -> new NoTicketFoundException("could not find ticket with id: " + id));
+    }
+
+    // a ticket that was already read in this transaction is taken from the persistence context without a query
+    private Ticket findTicketById(UUID id) throws NoTicketFoundException {
         return ticketRepository
                 .findById(id)
                 .orElseThrow(() -> new NoTicketFoundException("could not find ticket with id: " + id));
     }
 
-    public List<Ticket> getTicketsByPhaseId(UUID phaseId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByPhaseId(phaseId);
+    public TicketPage getTicketsByFilter(TicketFilter filter, TicketCursor cursor, Integer limit) throws NoTicketFoundException, TicketException {
+        if (!filter.hasScope()) {
+            throw new TicketException("a ticket query needs at least one of projectId, phaseId or assigneeId");
+        }
+        int pageSize = pageSizeOf(limit);
+        List<Ticket> tickets = ticketRepository.findByFilter(filter, cursor, pageSize + 1);
         if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with phaseId: " + phaseId);
+            throw new NoTicketFoundException("could not find tickets matching: " + filter);
         }
-        return tickets;
+        return toTicketPage(tickets, pageSize);
     }
 
-    public List<Ticket> getTicketsByProjectId(UUID projectId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByProjectId(projectId);
+    public List<Ticket> searchTickets(UUID projectId, String query, Integer offset, Integer limit) throws NoTicketFoundException, TicketException {
+        if (query == null || query.isBlank()) {
+            throw new TicketException("search query must not be null or blank");
+        }
+        if (offset != null && offset < 0) {
+            throw new TicketException("offset must not be negative but was: " + offset);
+        }
+        List<UUID> hitIds = ticketSearchIndex.search(projectId, query, offset == null ? 0 : offset, pageSizeOf(limit));
+
+        // the index is only a hint, tickets are always read from the repository
+        Map<UUID, Ticket> ticketById = new HashMap<>();
+        ticketRepository
+                .findAllById(hitIds)
+                .stream()
+                .filter(ticket -> ticket.getProjectId().equals(projectId))
+                .forEach(ticket -> ticketById.put(ticket.getId(), ticket));
+        List<Ticket> tickets = hitIds
+                .stream()
+                .filter(ticketById::containsKey)
+                .map(ticketById::get)
+                .toList();
         if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with projectId: " + projectId);
+            throw new NoTicketFoundException("could not find tickets in project " + projectId + " matching: " + query);
         }
         return tickets;
     }
 
-    public List<Ticket> getTicketsByAssigneeId(UUID assigneeId) throws NoTicketFoundException {
-        List<Ticket> tickets = ticketRepository.findByAssigneeIdsContaining(assigneeId);
-        if (tickets.isEmpty()) {
-            throw new NoTicketFoundException("could not find tickets with assigneeId: " + assigneeId);
+    private int pageSizeOf(Integer limit) throws TicketException {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        return tickets;
+        if (limit < 1) {
+            throw new TicketException("limit must be at least 1 but was: " + limit);
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // the repository is asked for one ticket more than the page size to find out whether there is a next page
+    private TicketPage toTicketPage(List<Ticket> tickets, int pageSize) {
+        if (tickets.size() <= pageSize) {
+            return new TicketPage(tickets, null);
+        }
+        List<Ticket> page = tickets.subList(0, pageSize);
+        return new TicketPage(page, TicketCursor.after(page.get(pageSize - 1)));
+    }
+
+    // streams the tickets of a project straight from a database cursor, so memory use does not depend on the project size
+    @Transactional(readOnly = true)
+    public Long exportTicketsByProjectId(UUID projectId, TicketExportFormat format, OutputStream outputStream) throws IOException {
+        TicketExportWriter ticketExportWriter = new TicketExportWriter(format, outputStream);
+        try (Stream<TicketExportRow> exportRows = ticketRepository.streamExportRowsByProjectId(projectId)) {
+            Iterator<TicketExportRow> iterator = exportRows.iterator();
+            while (iterator.hasNext()) {
+                ticketExportWriter.write(iterator.next());
+            }
+        }
+        return ticketExportWriter.finish();
+    }
+
+    public List<Ticket> getTicketsByProjectId(UUID projectId) {
+        return ticketRepository.findByProjectId(projectId);
     }
 
     public UUID getProjectIdByTicketId(UUID ticketId) throws NoTicketFoundException {
-        return this.getTicketById(ticketId).getProjectId();
+        return this.findTicketById(ticketId).getProjectId();
+    }
+
+    public UUID getProjectIdByTicketFilter(TicketFilter filter) throws TicketException {
+        if (filter.getProjectId() != null) {
+            return filter.getProjectId();
+        }
+        if (filter.getPhaseId() != null) {
+            return this.getProjectIdByPhaseIdOfTicket(filter.getPhaseId());
+        }
+        throw new TicketException("cannot resolve a project without projectId or phaseId");
     }
 
     public UUID getProjectIdByPhaseIdOfTicket(UUID phaseId) throws NoTicketFoundException {
@@ -160,7 +345,7 @@ public class TicketDomainService {
             UUID phaseId,
             List<UUID> assigneeIds
     ) throws NoTicketFoundException, InvalidProjectMembersException, UnrelatedPhaseException {
-        Ticket ticket = this.getTicketById(id);
+        Ticket ticket = this.findTicketById(id);
 
         if (title != null) {
             ticket.setTitle(title);
@@ -196,11 +381,55 @@ public class TicketDomainService {
         }
 
         ticketRepository.save(ticket);
+        if (title != null || description != null) {
+            ticketSearchIndex.putTicket(ticket);
+        }
+        if (dueTime != null) {
+            ticketDueTimeScheduler.scheduleTicket(ticket);
+        }
+        if (title != null || description != null || dueTime != null) {
+            eventPublisher.publishEvent(
+                    new TicketPatchedEvent(ticket.getId(), ticket.getProjectId(), ticket.getTitle(), ticket.getDescription(), ticket.getDueTime())
+            );
+        }
         if (phaseId != null) {
             eventPublisher.publishEvent(new TicketPhaseUpdatedEvent(ticket.getId(), ticket.getProjectId(), oldPhaseId, phaseId));
         }
     }
 
+    public void patchTicketPhases(List<UUID> ticketIds, UUID newPhaseId) throws TicketException, NoTicketFoundException {
+        Set<UUID> distinctTicketIds = new HashSet<>(ticketIds);
+        if (distinctTicketIds.isEmpty() || distinctTicketIds.size() > MAX_BATCH_SIZE) {
+            throw new TicketException("a batch must contain between 1 and " + MAX_BATCH_SIZE + " tickets but had: " + distinctTicketIds.size());
+        }
+        UUID projectId = this.getProjectIdByPhaseIdOfTicket(newPhaseId);
+
+        List<TicketPhaseView> ticketPhases = ticketRepository.findByIdInAndProjectId(distinctTicketIds, projectId);
+        if (ticketPhases.size() != distinctTicketIds.size()) {
+            throw new NoTicketFoundException(
+                    "could not find all tickets in the project with id: " + projectId + " of phase with id: " + newPhaseId
+            );
+        }
+
+        Map<UUID, List<UUID>> ticketIdsByOldPhaseId = new HashMap<>();
+        ticketPhases
+                .stream()
+                .filter(ticketPhase -> !ticketPhase.getPhaseId().equals(newPhaseId))
+                .forEach(ticketPhase ->
+                        ticketIdsByOldPhaseId
+                                .computeIfAbsent(ticketPhase.getPhaseId(), oldPhaseId -> new ArrayList<>())
+                                .add(ticketPhase.getId())
+                );
+        if (ticketIdsByOldPhaseId.isEmpty()) {
+            return;
+        }
+
+        List<UUID> movedTicketIds = new ArrayList<>();
+        ticketIdsByOldPhaseId.values().forEach(movedTicketIds::addAll);
+        ticketRepository.updatePhaseIdByIdIn(movedTicketIds, newPhaseId);
+        eventPublisher.publishEvent(new TicketsPhaseUpdatedEvent(projectId, ticketIdsByOldPhaseId, newPhaseId));
+    }
+
     private Boolean phaseBelongsToProject(UUID phaseId, UUID projectIdCandidate) {
         return phaseDataOfTicketRepository.existsByPhaseIdAndProjectId(phaseId, projectIdCandidate);
     }
@@ -229,14 +458,26 @@ public class TicketDomainService {
     // delete
 
     public void deleteTicketById(UUID id) throws NoTicketFoundException {
-        Ticket ticket = this.getTicketById(id);
+        Ticket ticket = this.findTicketById(id);
         ticketRepository.removeById(id);
+        ticketSearchIndex.removeTicket(ticket);
+        ticketDueTimeScheduler.cancelTicket(ticket.getId());
 
         eventPublisher.publishEvent(new TicketDeletedEvent(ticket.getId(), ticket.getProjectId(), ticket.getPhaseId()));
     }
 
-    public void deleteTicketsByProjectId(UUID projectId) {
-        ticketRepository.deleteByProjectId(projectId);
+    // neither the tickets nor their assignments are loaded, every chunk is a pair of bulk deletes
+    public Long deleteTicketsByProjectId(UUID projectId) {
+        long deletedTicketCount = chunkedDeleter.deleteInChunks(
+                chunk -> ticketRepository.findIdsByProjectId(projectId, chunk),
+                ticketIds -> {
+                    ticketRepository.deleteAssignmentsByTicketIdIn(ticketIds);
+                    ticketRepository.deleteTicketsByIdIn(ticketIds);
+                    ticketIds.forEach(ticketDueTimeScheduler::cancelTicket);
+                }
+        );
+        ticketSearchIndex.removeProject(projectId);
+        return deletedTicketCount;
     }
 
 
@@ -245,17 +486,21 @@ public class TicketDomainService {
     @EventListener
     @Async
     public void handleMembershipDeletedEvent(MembershipDeletedEvent membershipDeletedEvent) {
-        List<Ticket> tickets =
-                ticketRepository
-                        .findByProjectId(membershipDeletedEvent.getProjectId())
-                        .stream()
-                        .filter(ticket -> ticket.isAssignee(membershipDeletedEvent.getUserId()))
-                        .toList();
-
-        tickets.forEach(ticket -> ticket.removeAssignee(membershipDeletedEvent.getUserId()));
-        ticketRepository.saveAll(tickets);
+        UUID userId = membershipDeletedEvent.getUserId();
+        UUID projectId = membershipDeletedEvent.getProjectId();
+
+        // set based, so the cost depends on the assignments of the user and not on the size of the project
+        List<UUID> unassignedTicketIds = ticketRepository.findIdsByAssigneeIdAndProjectId(userId, projectId);
+        if (!unassignedTicketIds.isEmpty()) {
+            ticketRepository.incrementVersionByAssigneeIdAndProjectId(userId, projectId);
+            ticketRepository.deleteAssignmentsByAssigneeIdAndProjectId(userId, projectId);
+            unassignedTicketIds.forEach(ticketId ->
+                    eventPublisher.publishEvent(new TicketUnassignedEvent(ticketId, projectId, userId))
+            );
+        }
 
         membershipDataOfTicketRepository.deleteByMembershipId(membershipDeletedEvent.getMembershipId());
+        projectMemberCache.removeMember(projectId, userId);
     }
 
     @EventListener
@@ -268,6 +513,7 @@ public class TicketDomainService {
                         membershipAcceptedEvent.getProjectId()
                 )
         );
+        projectMemberCache.addMember(membershipAcceptedEvent.getProjectId(), membershipAcceptedEvent.getUserId());
     }
 
     @EventListener
@@ -282,12 +528,27 @@ public class TicketDomainService {
         projectDataOfTicketRepository.save(new ProjectDataOfTicket(defaultProjectCreatedEvent.getProjectId()));
     }
 
-
     @EventListener
     @Async
+    public void handleDefaultProjectsCreatedEvent(DefaultProjectsCreatedEvent defaultProjectsCreatedEvent) {
+        projectDataOfTicketRepository.saveAll(
+                defaultProjectsCreatedEvent.getUserIdByProjectId().keySet().stream().map(ProjectDataOfTicket::new).toList()
+        );
+    }
+
+
+    // starts once the deletion of the project is committed and runs outside of a transaction, the chunks are committed one by one
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
-        this.deleteTicketsByProjectId(projectDeletedEvent.getProjectId());
-        projectDataOfTicketRepository.deleteByProjectId(projectDeletedEvent.getProjectId());
+        UUID projectId = projectDeletedEvent.getProjectId();
+
+        // without the replica no ticket can be added to the project while it is purged
+        chunkedDeleter.deleteAtOnce(() -> projectDataOfTicketRepository.deleteByProjectId(projectId));
+        Long deletedTicketCount = this.deleteTicketsByProjectId(projectId);
+        projectMemberCache.evictProject(projectId);
+        eventPublisher.publishEvent(new TicketsPurgedEvent(projectId, deletedTicketCount));
     }
 
     @EventListener
@@ -315,23 +576,24 @@ public class TicketDomainService {
         phaseDataOfTicketRepository.deleteByPhaseId(phaseDeletedEvent.getPhaseId());
     }
 
-    @EventListener
-    @Async
+    // the replica is only enqueued once the change of the user is committed, a rolled back change never reaches it
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserCreatedEvent(UserCreatedEvent userCreatedEvent) {
-        userDataOfTicketRepository.save(new UserDataOfTicket(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress()));
+        userDataProjection.upsert(userCreatedEvent.getUserId(), userCreatedEvent.getEmailAddress());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUsersCreatedEvent(UsersCreatedEvent usersCreatedEvent) {
+        usersCreatedEvent.getEmailAddressByUserId().forEach(userDataProjection::upsert);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserPatchedEvent(UserPatchedEvent userPatchedEvent) {
-        UserDataOfTicket userDataOfTicket = userDataOfTicketRepository.findByUserId(userPatchedEvent.getUserId()).get(0);
-        userDataOfTicket.setUserEmail(userPatchedEvent.getEmailAddress());
-        userDataOfTicketRepository.save(userDataOfTicket);
+        userDataProjection.upsert(userPatchedEvent.getUserId(), userPatchedEvent.getEmailAddress());
     }
 
-    @EventListener
-    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleUserDeletedEvent(UserDeletedEvent userDeletedEvent) {
-        userDataOfTicketRepository.deleteByUserId(userDeletedEvent.getUserId());
+        userDataProjection.delete(userDeletedEvent.getUserId());
     }
 }
@@ -0,0 +1,190 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.events.TicketOverdueEvent;
+import com.kett.TicketSystem.ticket.repository.TicketDueTimeView;
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// keeps the upcoming due times in memory, so finding overdue tickets never scans the ticket table
+@Component
+public class TicketDueTimeScheduler implements SmartInitializingSingleton {
+    public static final long TICK_MILLIS = 1000;
+    public static final Duration MISSED_DUE_TIME_WINDOW = Duration.ofDays(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TicketDueTimeScheduler.class);
+    private final TicketRepository ticketRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate claimTransactionTemplate;
+    private final List<UUID> missedTicketIds = new ArrayList<>();
+    private final DueTimeWheel dueTimeWheel = new DueTimeWheel(currentTick());
+
+    @Autowired
+    public TicketDueTimeScheduler(
+            TicketRepository ticketRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.eventPublisher = eventPublisher;
+
+        // also used from transaction callbacks, where the outer transaction must not be joined
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.claimTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // due times missed while no instance was running are announced once the application is ready, the older ones are dropped
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        AtomicInteger scheduledCount = new AtomicInteger();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TicketDueTimeView> dueTimeViews = ticketRepository.streamDueTimeViewsByDueTimeAfter(now.minus(MISSED_DUE_TIME_WINDOW))) {
+                dueTimeViews.forEach(dueTimeView -> {
+                    if (dueTimeView.getDueTime().isAfter(now)) {
+                        synchronized (this) {
+                            dueTimeWheel.schedule(dueTimeView.getId(), toTick(dueTimeView.getDueTime()));
+                        }
+                        scheduledCount.incrementAndGet();
+                    } else if (!dueTimeView.getDueTime().equals(dueTimeView.getAnnouncedDueTime())) {
+                        missedTicketIds.add(dueTimeView.getId());
+                    }
+                });
+            }
+        });
+        logger.info(
+                "scheduled " + scheduledCount.get() + " due times and found " + missedTicketIds.size() +
+                " missed ones in " + (System.currentTimeMillis() - start) + "ms"
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void announceMissedDueTimes() {
+        if (!missedTicketIds.isEmpty()) {
+            this.announce(missedTicketIds);
+            missedTicketIds.clear();
+        }
+    }
+
+    public void scheduleTicket(Ticket ticket) {
+        // a due time that has already passed when it is set is not announced
+        synchronized (this) {
+            if (ticket.getDueTime() == null || !dueTimeWheel.schedule(ticket.getId(), toTick(ticket.getDueTime()))) {
+                dueTimeWheel.cancel(ticket.getId());
+            }
+        }
+        resyncOnRollback(ticket.getId());
+    }
+
+    public void cancelTicket(UUID ticketId) {
+        synchronized (this) {
+            dueTimeWheel.cancel(ticketId);
+        }
+        resyncOnRollback(ticketId);
+    }
+
+    public synchronized Integer getSize() {
+        return dueTimeWheel.getSize();
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        List<UUID> dueTicketIds;
+        synchronized (this) {
+            dueTicketIds = dueTimeWheel.advanceTo(currentTick());
+        }
+        if (dueTicketIds.isEmpty()) {
+            return;
+        }
+
+        this.announce(dueTicketIds);
+    }
+
+    // the wheel only holds ids, the ticket is read again in case a rolled back change left a stale entry behind.
+    // every instance holds the due time in its wheel, only the one whose claim succeeds announces it. the rows are
+    // claimed in the order of their ids, so instances claiming the same tickets do not deadlock
+    private void announce(List<UUID> dueTicketIds) {
+        List<TicketOverdueEvent> overdueEvents = new ArrayList<>();
+        claimTransactionTemplate.executeWithoutResult(status ->
+                ticketRepository.findAllById(dueTicketIds).stream().sorted(Comparator.comparing(Ticket::getId)).forEach(ticket -> {
+                    if (ticket.getDueTime() == null) {
+                        return;
+                    }
+                    if (toTick(ticket.getDueTime()) > currentTick()) {
+                        synchronized (this) {
+                            dueTimeWheel.schedule(ticket.getId(), toTick(ticket.getDueTime()));
+                        }
+                        return;
+                    }
+                    if (ticketRepository.claimOverdueAnnouncement(ticket.getId(), ticket.getDueTime()) == 1) {
+                        overdueEvents.add(
+                                new TicketOverdueEvent(ticket.getId(), ticket.getProjectId(), ticket.getDueTime(), ticket.getAssigneeIds())
+                        );
+                    }
+                })
+        );
+        overdueEvents.forEach(eventPublisher::publishEvent);
+    }
+
+    private void resyncOnRollback(UUID ticketId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    resync(ticketId);
+                }
+            }
+        });
+    }
+
+    private void resync(UUID ticketId) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime dueTime = ticketRepository.findById(ticketId).map(Ticket::getDueTime).orElse(null);
+            synchronized (this) {
+                if (dueTime == null || !dueTimeWheel.schedule(ticketId, toTick(dueTime))) {
+                    dueTimeWheel.cancel(ticketId);
+                }
+            }
+        });
+    }
+
+    private static long currentTick() {
+        return System.currentTimeMillis() / TICK_MILLIS;
+    }
+
+    // rounded up, so no ticket is announced before it is actually overdue
+    private static long toTick(LocalDateTime dueTime) {
+        long dueMillis = dueTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.floorDiv(dueMillis + TICK_MILLIS - 1, TICK_MILLIS);
+    }
+}
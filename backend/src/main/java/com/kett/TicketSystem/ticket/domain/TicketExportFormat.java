@@ -0,0 +1,44 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import lombok.Getter;
+
+@Getter
+public enum TicketExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TicketExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static TicketExportFormat fromString(String formatCandidate) throws TicketException {
+        if (formatCandidate == null || formatCandidate.isBlank()) {
+            throw new TicketException("export format must not be null or blank");
+        }
+        for (TicketExportFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(formatCandidate.trim())) {
+                return format;
+            }
+        }
+        throw new TicketException("unknown export format: " + formatCandidate);
+    }
+
+    // parameters such as the charset are ignored, the body is always read as UTF-8
+    public static TicketExportFormat fromMediaType(String mediaTypeCandidate) throws TicketException {
+        if (mediaTypeCandidate == null || mediaTypeCandidate.isBlank()) {
+            throw new TicketException("media type must not be null or blank");
+        }
+        String mediaType = mediaTypeCandidate.split(";", 2)[0].trim();
+        for (TicketExportFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        throw new TicketException("unsupported media type: " + mediaTypeCandidate);
+    }
+}
@@ -0,0 +1,138 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.kett.TicketSystem.ticket.repository.TicketExportRow;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// writes tickets as soon as their rows are complete, so at most one ticket is held in memory
+public class TicketExportWriter {
+    public static final int BUFFER_SIZE = 8192;
+    private static final String CSV_HEADER = "id,title,description,creationTime,dueTime,phaseId,assigneeIds";
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+    private static final String CSV_ASSIGNEE_SEPARATOR = " ";
+
+    private final TicketExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator jsonGenerator;
+
+    // rows of the same ticket follow each other, the ticket is written once a row of another ticket shows up
+    private TicketExportRow currentRow = null;
+    private final List<UUID> currentAssigneeIds = new ArrayList<>();
+    private long ticketCount = 0;
+
+    public TicketExportWriter(TicketExportFormat format, OutputStream outputStream) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == TicketExportFormat.NDJSON) {
+            JsonFactory jsonFactory = new JsonFactory();
+            jsonFactory.setRootValueSeparator(null);
+            jsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.jsonGenerator = jsonFactory.createGenerator(writer);
+        } else {
+            this.jsonGenerator = null;
+            writer.write(CSV_HEADER);
+            writer.write(CSV_LINE_SEPARATOR);
+        }
+    }
+
+    public void write(TicketExportRow row) throws IOException {
+        if (currentRow != null && !currentRow.getId().equals(row.getId())) {
+            writeCurrentTicket();
+        }
+        if (currentRow == null) {
+            currentRow = row;
+        }
+        if (row.getAssigneeId() != null) {
+            currentAssigneeIds.add(row.getAssigneeId());
+        }
+    }
+
+    // returns the number of written tickets
+    public long finish() throws IOException {
+        if (currentRow != null) {
+            writeCurrentTicket();
+        }
+        if (jsonGenerator != null) {
+            jsonGenerator.flush();
+        }
+        writer.flush();
+        return ticketCount;
+    }
+
+    private void writeCurrentTicket() throws IOException {
+        if (format == TicketExportFormat.NDJSON) {
+            writeJsonLine(currentRow, currentAssigneeIds);
+        } else {
+            writeCsvLine(currentRow, currentAssigneeIds);
+        }
+        ticketCount++;
+        currentRow = null;
+        currentAssigneeIds.clear();
+    }
+
+    private void writeJsonLine(TicketExportRow row, List<UUID> assigneeIds) throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("id", row.getId().toString());
+        jsonGenerator.writeStringField("title", row.getTitle());
+        jsonGenerator.writeStringField("description", row.getDescription());
+        jsonGenerator.writeStringField("creationTime", formatDateTime(row.getCreationTime()));
+        jsonGenerator.writeStringField("dueTime", formatDateTime(row.getDueTime()));
+        jsonGenerator.writeStringField("phaseId", row.getPhaseId().toString());
+        jsonGenerator.writeArrayFieldStart("assigneeIds");
+        for (UUID assigneeId : assigneeIds) {
+            jsonGenerator.writeString(assigneeId.toString());
+        }
+        jsonGenerator.writeEndArray();
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeRaw('\n');
+    }
+
+    private void writeCsvLine(TicketExportRow row, List<UUID> assigneeIds) throws IOException {
+        writer.write(row.getId().toString());
+        writer.write(',');
+        writer.write(escapeCsvField(row.getTitle()));
+        writer.write(',');
+        writer.write(escapeCsvField(row.getDescription()));
+        writer.write(',');
+        writer.write(nullToEmpty(formatDateTime(row.getCreationTime())));
+        writer.write(',');
+        writer.write(nullToEmpty(formatDateTime(row.getDueTime())));
+        writer.write(',');
+        writer.write(row.getPhaseId().toString());
+        writer.write(',');
+        for (int i = 0; i < assigneeIds.size(); i++) {
+            if (i > 0) {
+                writer.write(CSV_ASSIGNEE_SEPARATOR);
+            }
+            writer.write(assigneeIds.get(i).toString());
+        }
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted and quotes are doubled
+    private static String escapeCsvField(String field) {
+        if (field == null) {
+            return "";
+        }
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String formatDateTime(LocalDateTime localDateTime) {
+        return localDateTime == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(localDateTime);
+    }
+}
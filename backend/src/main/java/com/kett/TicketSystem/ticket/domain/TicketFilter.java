@@ -0,0 +1,30 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class TicketFilter {
+    private final UUID projectId;
+    private final UUID phaseId;
+    private final UUID assigneeId;
+    private final LocalDateTime dueAfter;
+    private final LocalDateTime dueBefore;
+    private final LocalDateTime createdAfter;
+    private final LocalDateTime createdBefore;
+    private final String titleContains;
+
+    public Boolean hasScope() {
+        return projectId != null || phaseId != null || assigneeId != null;
+    }
+
+    public Boolean isScopedByProject() {
+        return projectId != null || phaseId != null;
+    }
+}
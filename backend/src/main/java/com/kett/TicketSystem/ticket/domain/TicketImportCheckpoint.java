@@ -0,0 +1,60 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// saved in the transaction of every import batch, so it always matches the committed tickets
+@Entity
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TicketImportCheckpoint {
+    @Id
+    @Getter
+    @Column(length = 16)
+    private UUID importId;
+
+    @Getter
+    @Column(length = 16, nullable = false)
+    private UUID projectId;
+
+    // rows up to this row number are done, a resumed import skips them
+    @Getter
+    private Long processedRowCount;
+
+    @Getter
+    private Long importedTicketCount;
+
+    @Getter
+    private Long failedRowCount;
+
+    @Getter
+    private Boolean completed;
+
+    @Getter
+    private LocalDateTime lastUpdateTime;
+
+    public void advance(long processedRowCount, long importedTicketCount, long failedRowCount) {
+        this.processedRowCount = processedRowCount;
+        this.importedTicketCount += importedTicketCount;
+        this.failedRowCount += failedRowCount;
+        this.lastUpdateTime = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.lastUpdateTime = LocalDateTime.now();
+    }
+
+    public TicketImportCheckpoint(UUID importId, UUID projectId) {
+        this.importId = importId;
+        this.projectId = projectId;
+        this.processedRowCount = 0L;
+        this.importedTicketCount = 0L;
+        this.failedRowCount = 0L;
+        this.completed = false;
+        this.lastUpdateTime = LocalDateTime.now();
+    }
+}
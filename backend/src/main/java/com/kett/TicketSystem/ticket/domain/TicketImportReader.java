@@ -0,0 +1,218 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+// reads the body of an import one row at a time, it accepts everything TicketExportWriter writes
+public class TicketImportReader {
+    public static final int MAX_ROW_LENGTH = 65536;
+    private static final String TITLE_FIELD = "title";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final String DUE_TIME_FIELD = "dueTime";
+    private static final String ASSIGNEE_IDS_FIELD = "assigneeIds";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final TicketExportFormat format;
+    private final Reader reader;
+    private final Map<String, Integer> csvColumnIndexByName = new HashMap<>();
+    private final StringBuilder record = new StringBuilder();
+    private long rowNumber = 0;
+
+    public TicketImportReader(TicketExportFormat format, InputStream inputStream) throws IOException, TicketException {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), TicketExportWriter.BUFFER_SIZE);
+        if (format == TicketExportFormat.CSV) {
+            readCsvHeader();
+        }
+    }
+
+    // returns null once the body is exhausted
+    public TicketImportRow next() throws IOException {
+        while (true) {
+            RecordStatus recordStatus = readRecord();
+            if (recordStatus == RecordStatus.END_OF_INPUT) {
+                return null;
+            }
+            if (recordStatus == RecordStatus.BLANK) {
+                continue;
+            }
+
+            rowNumber++;
+            if (recordStatus == RecordStatus.TOO_LONG) {
+                return TicketImportRow.failed(rowNumber, "row is longer than " + MAX_ROW_LENGTH + " characters");
+            }
+            return format == TicketExportFormat.NDJSON ? parseJsonRow(record.toString()) : parseCsvRow(record.toString());
+        }
+    }
+
+    private void readCsvHeader() throws IOException, TicketException {
+        RecordStatus recordStatus;
+        do {
+            recordStatus = readRecord();
+        } while (recordStatus == RecordStatus.BLANK);
+        if (recordStatus != RecordStatus.COMPLETE) {
+            throw new TicketException("csv import must start with a header line");
+        }
+
+        List<String> columnNames = splitCsvRecord(record.toString());
+        for (int i = 0; i < columnNames.size(); i++) {
+            csvColumnIndexByName.putIfAbsent(columnNames.get(i).trim(), i);
+        }
+        if (!csvColumnIndexByName.containsKey(TITLE_FIELD)) {
+            throw new TicketException("csv header must contain the column: " + TITLE_FIELD);
+        }
+    }
+
+    private TicketImportRow parseJsonRow(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException exception) {
+            return TicketImportRow.failed(rowNumber, "row is not valid json");
+        }
+        if (node == null || !node.isObject()) {
+            return TicketImportRow.failed(rowNumber, "row is not a json object");
+        }
+
+        try {
+            List<UUID> assigneeIds = new ArrayList<>();
+            JsonNode assigneeIdsNode = node.get(ASSIGNEE_IDS_FIELD);
+            if (assigneeIdsNode != null && !assigneeIdsNode.isNull()) {
+                if (!assigneeIdsNode.isArray()) {
+                    return TicketImportRow.failed(rowNumber, "assigneeIds must be an array");
+                }
+                for (JsonNode assigneeIdNode : assigneeIdsNode) {
+                    assigneeIds.add(UUID.fromString(assigneeIdNode.asText()));
+                }
+            }
+            return TicketImportRow.parsed(
+                    rowNumber,
+                    textOf(node.get(TITLE_FIELD)),
+                    textOf(node.get(DESCRIPTION_FIELD)),
+                    parseDueTime(textOf(node.get(DUE_TIME_FIELD))),
+                    assigneeIds
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return TicketImportRow.failed(rowNumber, exception.getMessage());
+        }
+    }
+
+    private TicketImportRow parseCsvRow(String line) {
+        List<String> fields = splitCsvRecord(line);
+        try {
+            List<UUID> assigneeIds = new ArrayList<>();
+            String assigneeIdsField = csvField(fields, ASSIGNEE_IDS_FIELD);
+            if (assigneeIdsField != null && !assigneeIdsField.isBlank()) {
+                for (String assigneeId : assigneeIdsField.trim().split("\\s+")) {
+                    assigneeIds.add(UUID.fromString(assigneeId));
+                }
+            }
+            return TicketImportRow.parsed(
+                    rowNumber,
+                    csvField(fields, TITLE_FIELD),
+                    csvField(fields, DESCRIPTION_FIELD),
+                    parseDueTime(csvField(fields, DUE_TIME_FIELD)),
+                    assigneeIds
+            );
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return TicketImportRow.failed(rowNumber, exception.getMessage());
+        }
+    }
+
+    private String csvField(List<String> fields, String columnName) {
+        Integer index = csvColumnIndexByName.get(columnName);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static String textOf(JsonNode node) {
+        return (node == null || node.isNull()) ? null : node.asText();
+    }
+
+    private static LocalDateTime parseDueTime(String dueTime) throws DateTimeParseException {
+        return (dueTime == null || dueTime.isBlank()) ? null : LocalDateTime.parse(dueTime.trim());
+    }
+
+    // RFC 4180: quoted fields may contain separators, line breaks and doubled quotes
+    private static List<String> splitCsvRecord(String csvRecord) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < csvRecord.length(); i++) {
+            char c = csvRecord.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < csvRecord.length() && csvRecord.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private enum RecordStatus {
+        COMPLETE,
+        BLANK,
+        TOO_LONG,
+        END_OF_INPUT
+    }
+
+    // reads up to the next line break, for csv only line breaks outside of quotes end a record
+    private RecordStatus readRecord() throws IOException {
+        record.setLength(0);
+        boolean inQuotes = false;
+        boolean tooLong = false;
+        boolean readAnything = false;
+
+        int next;
+        while ((next = reader.read()) >= 0) {
+            readAnything = true;
+            char c = (char) next;
+            if (c == '"' && format == TicketExportFormat.CSV) {
+                inQuotes = !inQuotes;
+            }
+            if (c == '\n' && !inQuotes) {
+                break;
+            }
+            if (record.length() >= MAX_ROW_LENGTH) {
+                tooLong = true;
+                continue;
+            }
+            record.append(c);
+        }
+
+        if (!readAnything) {
+            return RecordStatus.END_OF_INPUT;
+        }
+        if (tooLong) {
+            record.setLength(0);
+            return RecordStatus.TOO_LONG;
+        }
+        if (record.length() > 0 && record.charAt(record.length() - 1) == '\r') {
+            record.setLength(record.length() - 1);
+        }
+        return record.toString().isBlank() ? RecordStatus.BLANK : RecordStatus.COMPLETE;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class TicketImportResult {
+    private final UUID importId;
+    private final UUID projectId;
+    private long skippedRowCount = 0;
+    private long processedRowCount = 0;
+    private long importedTicketCount = 0;
+    private long failedRowCount = 0;
+
+    // only the first MAX_REPORTED_ERRORS failed rows are listed, failedRowCount counts all of them
+    private final List<RowError> errors = new ArrayList<>();
+
+    public TicketImportResult(UUID importId, UUID projectId) {
+        this.importId = importId;
+        this.projectId = projectId;
+    }
+
+    void skipRow() {
+        skippedRowCount++;
+    }
+
+    void addImportedTickets(long count) {
+        importedTicketCount += count;
+    }
+
+    void addFailedRow(long rowNumber, String message, int maxReportedErrors) {
+        failedRowCount++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(rowNumber, message));
+        }
+    }
+
+    void setProcessedRowCount(long processedRowCount) {
+        this.processedRowCount = processedRowCount;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private final long rowNumber;
+        private final String message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TicketImportRow {
+    private final long rowNumber;
+    private final String title;
+    private final String description;
+    private final LocalDateTime dueTime;
+    private final List<UUID> assigneeIds;
+
+    // set if the row could not be parsed, all other fields are null then
+    private final String error;
+
+    public static TicketImportRow parsed(long rowNumber, String title, String description, LocalDateTime dueTime, List<UUID> assigneeIds) {
+        return new TicketImportRow(rowNumber, title, description, dueTime, assigneeIds, null);
+    }
+
+    public static TicketImportRow failed(long rowNumber, String error) {
+        return new TicketImportRow(rowNumber, null, null, null, new ArrayList<>(), error);
+    }
+
+    public Boolean hasError() {
+        return error != null;
+    }
+}
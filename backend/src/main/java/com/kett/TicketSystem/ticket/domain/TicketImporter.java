@@ -0,0 +1,189 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.common.exceptions.InvalidProjectMembersException;
+import com.kett.TicketSystem.common.exceptions.NoProjectFoundException;
+import com.kett.TicketSystem.project.domain.events.ProjectDeletedEvent;
+import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketImportFoundException;
+import com.kett.TicketSystem.ticket.domain.exceptions.TicketException;
+import com.kett.TicketSystem.ticket.repository.ProjectDataOfTicketRepository;
+import com.kett.TicketSystem.ticket.repository.TicketImportCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// imports run outside of a request transaction, every batch is committed on its own together with the checkpoint
+@Component
+public class TicketImporter {
+    public static final int IMPORT_BATCH_SIZE = TicketDomainService.MAX_BATCH_SIZE;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(TicketImporter.class);
+    private final TicketDomainService ticketDomainService;
+    private final ProjectMemberCache projectMemberCache;
+    private final ProjectDataOfTicketRepository projectDataOfTicketRepository;
+    private final TicketImportCheckpointRepository ticketImportCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TicketImporter(
+            TicketDomainService ticketDomainService,
+            ProjectMemberCache projectMemberCache,
+            ProjectDataOfTicketRepository projectDataOfTicketRepository,
+            TicketImportCheckpointRepository ticketImportCheckpointRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ticketDomainService = ticketDomainService;
+        this.projectMemberCache = projectMemberCache;
+        this.projectDataOfTicketRepository = projectDataOfTicketRepository;
+        this.ticketImportCheckpointRepository = ticketImportCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // the body is read while batches are written, so a slow database slows down the client instead of filling memory
+    public TicketImportResult importTickets(
+            UUID projectId,
+            UUID importId,
+            TicketExportFormat format,
+            InputStream inputStream,
+            EmailAddress postingUserEmail
+    ) throws IOException, NoProjectFoundException, TicketException {
+        if (!projectDataOfTicketRepository.existsByProjectId(projectId)) {
+            throw new NoProjectFoundException("could not find project with id: " + projectId);
+        }
+        TicketImportCheckpoint checkpoint = transactionTemplate.execute(status ->
+                ticketImportCheckpointRepository
+                        .findById(importId)
+                        .orElseGet(() -> ticketImportCheckpointRepository.save(new TicketImportCheckpoint(importId, projectId)))
+        );
+        if (checkpoint == null || !checkpoint.getProjectId().equals(projectId)) {
+            throw new TicketException("the import with id: " + importId + " does not belong to the project with id: " + projectId);
+        }
+        long resumeAfterRowNumber = checkpoint.getProcessedRowCount();
+
+        TicketImportResult result = new TicketImportResult(importId, projectId);
+        TicketImportReader reader = new TicketImportReader(format, inputStream);
+        List<Ticket> batch = new ArrayList<>();
+        List<Long> batchRowNumbers = new ArrayList<>();
+        long batchFailedRowCount = 0;
+        long lastRowNumber = resumeAfterRowNumber;
+
+        TicketImportRow row;
+        while ((row = reader.next()) != null) {
+            if (row.getRowNumber() <= resumeAfterRowNumber) {
+                result.skipRow();
+                continue;
+            }
+            lastRowNumber = row.getRowNumber();
+
+            Ticket ticket = toTicket(projectId, row, result);
+            if (ticket == null) {
+                batchFailedRowCount++;
+            } else {
+                batch.add(ticket);
+                batchRowNumbers.add(row.getRowNumber());
+            }
+
+            if (batch.size() + batchFailedRowCount >= IMPORT_BATCH_SIZE) {
+                commitBatch(importId, projectId, batch, batchRowNumbers, batchFailedRowCount, lastRowNumber, postingUserEmail, result);
+                batch.clear();
+                batchRowNumbers.clear();
+                batchFailedRowCount = 0;
+            }
+        }
+        commitBatch(importId, projectId, batch, batchRowNumbers, batchFailedRowCount, lastRowNumber, postingUserEmail, result);
+        transactionTemplate.executeWithoutResult(status -> {
+            TicketImportCheckpoint completedCheckpoint = getCheckpoint(projectId, importId);
+            completedCheckpoint.complete();
+            ticketImportCheckpointRepository.save(completedCheckpoint);
+        });
+
+        result.setProcessedRowCount(lastRowNumber);
+        logger.info(
+                "import " + importId + " into project " + projectId + " done -> " +
+                        "imported:" + result.getImportedTicketCount() +
+                        ", failed:" + result.getFailedRowCount() +
+                        ", skipped:" + result.getSkippedRowCount()
+        );
+        return result;
+    }
+
+    public TicketImportCheckpoint getCheckpoint(UUID projectId, UUID importId) throws NoTicketImportFoundException {
+        return ticketImportCheckpointRepository
+                .findByImportIdAndProjectId(importId, projectId)
+                .orElseThrow(() -> new NoTicketImportFoundException(
+                        "could not find import with id: " + importId + " in project with id: " + projectId
+                ));
+    }
+
+    // returns null if the row is invalid, the reason is added to the result
+    private Ticket toTicket(UUID projectId, TicketImportRow row, TicketImportResult result) {
+        if (row.hasError()) {
+            result.addFailedRow(row.getRowNumber(), row.getError(), MAX_REPORTED_ERRORS);
+            return null;
+        }
+        if (!projectMemberCache.areProjectMembers(projectId, row.getAssigneeIds())) {
+            result.addFailedRow(row.getRowNumber(), "not all assignees are part of the project with id: " + projectId, MAX_REPORTED_ERRORS);
+            return null;
+        }
+        try {
+            return new Ticket(row.getTitle(), row.getDescription(), row.getDueTime(), projectId, null, row.getAssigneeIds());
+        } catch (TicketException exception) {
+            result.addFailedRow(row.getRowNumber(), exception.getMessage(), MAX_REPORTED_ERRORS);
+            return null;
+        }
+    }
+
+    private void commitBatch(
+            UUID importId,
+            UUID projectId,
+            List<Ticket> batch,
+            List<Long> batchRowNumbers,
+            long batchFailedRowCount,
+            long lastRowNumber,
+            EmailAddress postingUserEmail,
+            TicketImportResult result
+    ) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    ticketDomainService.addTickets(projectId, batch, postingUserEmail);
+                }
+                TicketImportCheckpoint checkpoint = getCheckpoint(projectId, importId);
+                checkpoint.advance(lastRowNumber, batch.size(), batchFailedRowCount);
+                ticketImportCheckpointRepository.save(checkpoint);
+            });
+            result.addImportedTickets(batch.size());
+        } catch (InvalidProjectMembersException | TicketException exception) {
+            // a membership was removed since the rows were checked, the whole batch is reported as failed
+            batchRowNumbers.forEach(rowNumber -> result.addFailedRow(rowNumber, exception.getMessage(), MAX_REPORTED_ERRORS));
+            transactionTemplate.executeWithoutResult(status -> {
+                TicketImportCheckpoint checkpoint = getCheckpoint(projectId, importId);
+                checkpoint.advance(lastRowNumber, 0, batchFailedRowCount + batch.size());
+                ticketImportCheckpointRepository.save(checkpoint);
+            });
+        }
+        logger.debug("import " + importId + " into project " + projectId + " reached row " + lastRowNumber);
+    }
+
+    // a rolled back deletion keeps the checkpoints of the project
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Async
+    public void handleProjectDeletedEvent(ProjectDeletedEvent projectDeletedEvent) {
+        transactionTemplate.executeWithoutResult(status ->
+                ticketImportCheckpointRepository.deleteByProjectId(projectDeletedEvent.getProjectId())
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public class TicketPage {
+    private final List<Ticket> tickets;
+    private final TicketCursor nextCursor;
+
+    public Optional<TicketCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    public Boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,314 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import com.kett.TicketSystem.ticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TicketSearchIndex implements SmartInitializingSingleton {
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Logger logger = LoggerFactory.getLogger(TicketSearchIndex.class);
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate resyncTransactionTemplate;
+    private final Map<UUID, ProjectIndex> indexByProjectId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TicketSearchIndex(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        // runs after a rollback, the persistence context of the rolled back transaction may still be bound then
+        this.resyncTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.resyncTransactionTemplate.setReadOnly(true);
+        this.resyncTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // runs before the web server accepts requests, so no incremental update can interleave with the build
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        List<UUID> projectIds = readOnlyTransactionTemplate.execute(status -> ticketRepository.findDistinctProjectIds());
+        if (projectIds == null || projectIds.isEmpty()) {
+            return;
+        }
+
+        projectIds.parallelStream().forEach(projectId ->
+                indexByProjectId.put(projectId, loadProjectIndex(projectId, readOnlyTransactionTemplate))
+        );
+        logger.info("indexed tickets of " + projectIds.size() + " projects in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private ProjectIndex loadProjectIndex(UUID projectId, TransactionTemplate transactionTemplate) {
+        ProjectIndex projectIndex = new ProjectIndex();
+        transactionTemplate.executeWithoutResult(status ->
+                ticketRepository
+                        .findSearchViewsByProjectId(projectId)
+                        .forEach(ticket -> projectIndex.put(ticket.getId(), ticket.getTitle(), ticket.getDescription()))
+        );
+        return projectIndex;
+    }
+
+    // changes are applied right away so the current transaction finds its own tickets, a rollback reads them again
+    public void putTicket(Ticket ticket) {
+        indexByProjectId
+                .computeIfAbsent(ticket.getProjectId(), projectId -> new ProjectIndex())
+                .put(ticket.getId(), ticket.getTitle(), ticket.getDescription());
+        resyncOnRollback(ticket.getProjectId(), ticket.getId());
+    }
+
+    public void removeTicket(Ticket ticket) {
+        ProjectIndex projectIndex = indexByProjectId.get(ticket.getProjectId());
+        if (projectIndex != null) {
+            projectIndex.remove(ticket.getId());
+        }
+        resyncOnRollback(ticket.getProjectId(), ticket.getId());
+    }
+
+    public void removeProject(UUID projectId) {
+        indexByProjectId.remove(projectId);
+        afterRollback(() -> indexByProjectId.put(projectId, loadProjectIndex(projectId, resyncTransactionTemplate)));
+    }
+
+    private void resyncOnRollback(UUID projectId, UUID ticketId) {
+        afterRollback(() -> resync(projectId, ticketId));
+    }
+
+    private void afterRollback(Runnable resync) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    resync.run();
+                }
+            }
+        });
+    }
+
+    private void resync(UUID projectId, UUID ticketId) {
+        resyncTransactionTemplate.executeWithoutResult(status -> {
+            Optional<Ticket> ticket = ticketRepository.findById(ticketId);
+            if (ticket.isPresent()) {
+                indexByProjectId
+                        .computeIfAbsent(projectId, id -> new ProjectIndex())
+                        .put(ticketId, ticket.get().getTitle(), ticket.get().getDescription());
+                return;
+            }
+            ProjectIndex projectIndex = indexByProjectId.get(projectId);
+            if (projectIndex != null) {
+                projectIndex.remove(ticketId);
+            }
+        });
+    }
+
+    // ranked by bm25, every term of the query has to match
+    public List<UUID> search(UUID projectId, String query, int offset, int limit) {
+        ProjectIndex projectIndex = indexByProjectId.get(projectId);
+        if (projectIndex == null) {
+            return new ArrayList<>();
+        }
+        return projectIndex.search(tokenize(query).keySet(), offset, limit);
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencyByTerm = new HashMap<>();
+        if (text == null) {
+            return frequencyByTerm;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                frequencyByTerm.merge(term, 1, Integer::sum);
+            }
+        }
+        return frequencyByTerm;
+    }
+
+    private static class ProjectIndex {
+        private final Map<String, Postings> postingsByTerm = new HashMap<>();
+        private final Map<UUID, Integer> docIdByTicketId = new HashMap<>();
+        private final List<UUID> ticketIdByDocId = new ArrayList<>();
+        private final List<String[]> termsByDocId = new ArrayList<>();
+        private int[] lengthByDocId = new int[16];
+        private long totalLength = 0;
+
+        synchronized void put(UUID ticketId, String title, String description) {
+            remove(ticketId);
+
+            Map<String, Integer> frequencyByTerm = new HashMap<>();
+            tokenize(title).forEach((term, frequency) -> frequencyByTerm.merge(term, frequency * TITLE_WEIGHT, Integer::sum));
+            tokenize(description).forEach((term, frequency) -> frequencyByTerm.merge(term, frequency, Integer::sum));
+
+            int docId = ticketIdByDocId.size();
+            int length = frequencyByTerm.values().stream().mapToInt(Integer::intValue).sum();
+            ticketIdByDocId.add(ticketId);
+            termsByDocId.add(frequencyByTerm.keySet().toArray(new String[0]));
+            if (docId == lengthByDocId.length) {
+                lengthByDocId = Arrays.copyOf(lengthByDocId, docId * 2);
+            }
+            lengthByDocId[docId] = length;
+            totalLength += length;
+            docIdByTicketId.put(ticketId, docId);
+
+            // doc ids only grow, so appending keeps every postings list sorted
+            frequencyByTerm.forEach((term, frequency) ->
+                    postingsByTerm.computeIfAbsent(term, t -> new Postings()).append(docId, frequency)
+            );
+        }
+
+        synchronized void remove(UUID ticketId) {
+            Integer docId = docIdByTicketId.remove(ticketId);
+            if (docId == null) {
+                return;
+            }
+            for (String term : termsByDocId.get(docId)) {
+                Postings postings = postingsByTerm.get(term);
+                postings.remove(docId);
+                if (postings.size == 0) {
+                    postingsByTerm.remove(term);
+                }
+            }
+            totalLength -= lengthByDocId[docId];
+            ticketIdByDocId.set(docId, null);
+            termsByDocId.set(docId, null);
+            compactIfSparse();
+        }
+
+        // updates leave removed doc ids behind, renumber once more than half of them are gone
+        private void compactIfSparse() {
+            if (ticketIdByDocId.size() < 64 || ticketIdByDocId.size() < 2 * docIdByTicketId.size()) {
+                return;
+            }
+            int[] newDocIdByOldDocId = new int[ticketIdByDocId.size()];
+            List<UUID> compactedTicketIds = new ArrayList<>();
+            List<String[]> compactedTerms = new ArrayList<>();
+            int[] compactedLengths = new int[Math.max(16, docIdByTicketId.size())];
+            for (int oldDocId = 0; oldDocId < ticketIdByDocId.size(); oldDocId++) {
+                UUID ticketId = ticketIdByDocId.get(oldDocId);
+                if (ticketId == null) {
+                    newDocIdByOldDocId[oldDocId] = -1;
+                    continue;
+                }
+                int newDocId = compactedTicketIds.size();
+                newDocIdByOldDocId[oldDocId] = newDocId;
+                compactedTicketIds.add(ticketId);
+                compactedTerms.add(termsByDocId.get(oldDocId));
+                compactedLengths[newDocId] = lengthByDocId[oldDocId];
+                docIdByTicketId.put(ticketId, newDocId);
+            }
+            // the mapping is monotonic, so the postings stay sorted
+            postingsByTerm.values().forEach(postings -> postings.renumber(newDocIdByOldDocId));
+
+            ticketIdByDocId.clear();
+            ticketIdByDocId.addAll(compactedTicketIds);
+            termsByDocId.clear();
+            termsByDocId.addAll(compactedTerms);
+            lengthByDocId = compactedLengths;
+        }
+
+        synchronized List<UUID> search(Set<String> terms, int offset, int limit) {
+            List<UUID> hits = new ArrayList<>();
+            if (terms.isEmpty() || docIdByTicketId.isEmpty()) {
+                return hits;
+            }
+            List<Postings> termPostings = new ArrayList<>();
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) {
+                    return hits;
+                }
+                termPostings.add(postings);
+            }
+            termPostings.sort(Comparator.comparingInt(postings -> postings.size));
+
+            int documentCount = docIdByTicketId.size();
+            double averageLength = (double) totalLength / documentCount;
+            double[] idfs = termPostings
+                    .stream()
+                    .mapToDouble(postings -> Math.log(1 + (documentCount - postings.size + 0.5) / (postings.size + 0.5)))
+                    .toArray();
+
+            // walk the shortest list and probe the others
+            Postings shortest = termPostings.get(0);
+            List<double[]> scoredDocIds = new ArrayList<>();
+            for (int i = 0; i < shortest.size; i++) {
+                int docId = shortest.docIds[i];
+                double score = 0;
+                boolean matchesAll = true;
+                for (int t = 0; t < termPostings.size() && matchesAll; t++) {
+                    int frequency = termPostings.get(t).frequencyOf(docId);
+                    if (frequency == 0) {
+                        matchesAll = false;
+                    } else {
+                        double normalization = K1 * (1 - B + B * lengthByDocId[docId] / averageLength);
+                        score += idfs[t] * frequency * (K1 + 1) / (frequency + normalization);
+                    }
+                }
+                if (matchesAll) {
+                    scoredDocIds.add(new double[] { score, docId });
+                }
+            }
+
+            scoredDocIds.sort((a, b) -> a[0] != b[0] ? Double.compare(b[0], a[0]) : Double.compare(a[1], b[1]));
+            scoredDocIds
+                    .stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .forEach(scoredDocId -> hits.add(ticketIdByDocId.get((int) scoredDocId[1])));
+            return hits;
+        }
+    }
+
+    private static class Postings {
+        private int[] docIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size = 0;
+
+        void append(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int docId) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+        }
+
+        void renumber(int[] newDocIdByOldDocId) {
+            for (int i = 0; i < size; i++) {
+                docIds[i] = newDocIdByOldDocId[docIds[i]];
+            }
+        }
+
+        int frequencyOf(int docId) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            return index < 0 ? 0 : frequencies[index];
+        }
+    }
+}
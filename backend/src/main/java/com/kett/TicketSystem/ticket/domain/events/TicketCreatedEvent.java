@@ -3,6 +3,7 @@ package com.kett.TicketSystem.ticket.domain.events;
 import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Getter
@@ -10,11 +11,27 @@ public class TicketCreatedEvent extends DomainEvent {
     private final UUID ticketId;
     private final UUID projectId;
     private final UUID userId;
+    private final UUID phaseId;
+    private final String title;
+    private final LocalDateTime dueTime;
+    private final LocalDateTime creationTime;
 
-    public TicketCreatedEvent(UUID ticketId, UUID projectId, UUID userId) {
+    public TicketCreatedEvent(
+            UUID ticketId,
+            UUID projectId,
+            UUID userId,
+            UUID phaseId,
+            String title,
+            LocalDateTime dueTime,
+            LocalDateTime creationTime
+    ) {
         super();
         this.ticketId = ticketId;
         this.projectId = projectId;
         this.userId = userId;
+        this.phaseId = phaseId;
+        this.title = title;
+        this.dueTime = dueTime;
+        this.creationTime = creationTime;
     }
 }
@@ -0,0 +1,24 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class TicketOverdueEvent extends DomainEvent {
+    private final UUID ticketId;
+    private final UUID projectId;
+    private final LocalDateTime dueTime;
+    private final List<UUID> assigneeIds;
+
+    public TicketOverdueEvent(UUID ticketId, UUID projectId, LocalDateTime dueTime, List<UUID> assigneeIds) {
+        super();
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.dueTime = dueTime;
+        this.assigneeIds = assigneeIds;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+public class TicketPatchedEvent extends DomainEvent {
+    private final UUID ticketId;
+    private final UUID projectId;
+    private final String title;
+    private final String description;
+    private final LocalDateTime dueTime;
+
+    public TicketPatchedEvent(UUID ticketId, UUID projectId, String title, String description, LocalDateTime dueTime) {
+        super();
+        this.ticketId = ticketId;
+        this.projectId = projectId;
+        this.title = title;
+        this.description = description;
+        this.dueTime = dueTime;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+public class TicketsAssignedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Map<UUID, List<UUID>> assigneeIdsByTicketId;
+
+    public TicketsAssignedEvent(UUID projectId, Map<UUID, List<UUID>> assigneeIdsByTicketId) {
+        super();
+        this.projectId = projectId;
+        this.assigneeIdsByTicketId = assigneeIdsByTicketId;
+    }
+}
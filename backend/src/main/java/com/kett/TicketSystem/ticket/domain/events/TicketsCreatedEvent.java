@@ -0,0 +1,37 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class TicketsCreatedEvent extends DomainEvent {
+    private final List<UUID> ticketIds;
+    private final List<CreatedTicket> tickets;
+    private final UUID projectId;
+    private final UUID phaseId;
+    private final UUID userId;
+
+    public TicketsCreatedEvent(List<CreatedTicket> tickets, UUID projectId, UUID phaseId, UUID userId) {
+        super();
+        this.ticketIds = tickets.stream().map(CreatedTicket::getTicketId).toList();
+        this.tickets = tickets;
+        this.projectId = projectId;
+        this.phaseId = phaseId;
+        this.userId = userId;
+    }
+
+    // what the consumers of a batch need, so they do not have to load every ticket again
+    @Getter
+    @AllArgsConstructor
+    public static class CreatedTicket {
+        private final UUID ticketId;
+        private final String title;
+        private final LocalDateTime dueTime;
+        private final LocalDateTime creationTime;
+    }
+}
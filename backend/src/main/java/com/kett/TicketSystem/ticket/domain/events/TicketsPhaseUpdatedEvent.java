@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+public class TicketsPhaseUpdatedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Map<UUID, List<UUID>> ticketIdsByOldPhaseId;
+    private final UUID newPhaseId;
+
+    public TicketsPhaseUpdatedEvent(UUID projectId, Map<UUID, List<UUID>> ticketIdsByOldPhaseId, UUID newPhaseId) {
+        super();
+        this.projectId = projectId;
+        this.ticketIdsByOldPhaseId = ticketIdsByOldPhaseId;
+        this.newPhaseId = newPhaseId;
+    }
+}
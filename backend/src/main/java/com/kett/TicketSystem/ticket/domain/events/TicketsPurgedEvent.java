@@ -0,0 +1,18 @@
+package com.kett.TicketSystem.ticket.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class TicketsPurgedEvent extends DomainEvent {
+    private final UUID projectId;
+    private final Long purgedTicketCount;
+
+    public TicketsPurgedEvent(UUID projectId, Long purgedTicketCount) {
+        super();
+        this.projectId = projectId;
+        this.purgedTicketCount = purgedTicketCount;
+    }
+}
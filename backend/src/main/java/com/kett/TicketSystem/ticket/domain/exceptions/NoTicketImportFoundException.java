@@ -0,0 +1,7 @@
+package com.kett.TicketSystem.ticket.domain.exceptions;
+
+public class NoTicketImportFoundException extends RuntimeException {
+    public NoTicketImportFoundException(String message) {
+        super(message);
+    }
+}
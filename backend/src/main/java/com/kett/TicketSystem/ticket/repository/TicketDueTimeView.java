@@ -0,0 +1,10 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TicketDueTimeView {
+    UUID getId();
+    LocalDateTime getDueTime();
+    LocalDateTime getAnnouncedDueTime();
+}
@@ -0,0 +1,15 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// one row per assignment of a ticket, tickets without assignees have a single row with a null assigneeId
+public interface TicketExportRow {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getCreationTime();
+    LocalDateTime getDueTime();
+    UUID getPhaseId();
+    UUID getAssigneeId();
+}
@@ -0,0 +1,15 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import com.kett.TicketSystem.ticket.domain.TicketImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TicketImportCheckpointRepository extends JpaRepository<TicketImportCheckpoint, UUID> {
+    Optional<TicketImportCheckpoint> findByImportIdAndProjectId(UUID importId, UUID projectId);
+
+    Integer deleteByProjectId(UUID projectId);
+}
@@ -0,0 +1,8 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import java.util.UUID;
+
+public interface TicketPhaseView {
+    UUID getId();
+    UUID getPhaseId();
+}
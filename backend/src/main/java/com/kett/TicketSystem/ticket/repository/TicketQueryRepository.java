@@ -0,0 +1,11 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketFilter;
+
+import java.util.List;
+
+public interface TicketQueryRepository {
+    List<Ticket> findByFilter(TicketFilter filter, TicketCursor cursor, int maxResults);
+}
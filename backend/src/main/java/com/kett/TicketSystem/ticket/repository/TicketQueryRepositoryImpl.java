@@ -0,0 +1,101 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import com.kett.TicketSystem.ticket.domain.Ticket;
+import com.kett.TicketSystem.ticket.domain.TicketAssignment;
+import com.kett.TicketSystem.ticket.domain.TicketCursor;
+import com.kett.TicketSystem.ticket.domain.TicketFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class TicketQueryRepositoryImpl implements TicketQueryRepository {
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public TicketQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Ticket> findByFilter(TicketFilter filter, TicketCursor cursor, int maxResults) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Ticket> query = criteriaBuilder.createQuery(Ticket.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+
+        // the keyset of a page, read from the assignment if it is joined anyway since its index holds the same order
+        Path<LocalDateTime> creationTime = ticket.get("creationTime");
+        Path<UUID> id = ticket.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getProjectId() != null) {
+            predicates.add(criteriaBuilder.equal(ticket.<UUID>get("projectId"), filter.getProjectId()));
+        }
+        if (filter.getPhaseId() != null) {
+            predicates.add(criteriaBuilder.equal(ticket.<UUID>get("phaseId"), filter.getPhaseId()));
+        }
+        if (filter.getAssigneeId() != null) {
+            Join<Ticket, TicketAssignment> assignment = ticket.join("assignments");
+            predicates.add(criteriaBuilder.equal(assignment.get("assigneeId"), filter.getAssigneeId()));
+            if (filter.getProjectId() != null) {
+                predicates.add(criteriaBuilder.equal(assignment.get("projectId"), filter.getProjectId()));
+            }
+            creationTime = assignment.get("ticketCreationTime");
+            id = assignment.get("ticket").get("id");
+        }
+        if (filter.getDueAfter() != null) {
+            predicates.add(criteriaBuilder.greaterThan(ticket.get("dueTime"), filter.getDueAfter()));
+        }
+        if (filter.getDueBefore() != null) {
+            predicates.add(criteriaBuilder.lessThan(ticket.get("dueTime"), filter.getDueBefore()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            predicates.add(criteriaBuilder.greaterThan(ticket.get("creationTime"), filter.getCreatedAfter()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add(criteriaBuilder.lessThan(ticket.get("creationTime"), filter.getCreatedBefore()));
+        }
+        if (filter.getTitleContains() != null && !filter.getTitleContains().isEmpty()) {
+            predicates.add(criteriaBuilder.like(
+                    criteriaBuilder.lower(ticket.get("title")),
+                    "%" + escapeLikePattern(filter.getTitleContains().toLowerCase()) + "%",
+                    LIKE_ESCAPE_CHARACTER
+            ));
+        }
+        if (cursor != null) {
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(creationTime, cursor.getCreationTime()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(creationTime, cursor.getCreationTime()),
+                            criteriaBuilder.greaterThan(id, cursor.getId())
+                    )
+            ));
+        }
+
+        query
+                .select(ticket)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(
+                        criteriaBuilder.asc(creationTime),
+                        criteriaBuilder.asc(id)
+                );
+
+        return entityManager
+                .createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private String escapeLikePattern(String pattern) {
+        return pattern
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
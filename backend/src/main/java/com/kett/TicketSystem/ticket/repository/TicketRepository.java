@@ -1,22 +1,88 @@
 package com.kett.TicketSystem.ticket.repository;
 
 import com.kett.TicketSystem.ticket.domain.Ticket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
-    List<Ticket> findByPhaseId(UUID phaseId);
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketQueryRepository {
     List<Ticket> findByProjectId(UUID projectId);
-    List<Ticket> findByAssigneeIdsContaining(UUID assigneeId);
-    List<Ticket> findByPhaseIdInAndAssigneeIdsContaining(List<UUID> phaseIds, UUID assigneeId);
+
+    // the assignees are part of every ticket response, so they are fetched in the same query
+    @EntityGraph(attributePaths = "assignments")
+    Optional<Ticket> findWithAssignmentsById(UUID id);
+
+    // served by the (assigneeId, projectId) index of ticket_assignment, no ticket is loaded
+    @Query("select a.ticket.id from TicketAssignment a where a.assigneeId = :assigneeId and a.projectId = :projectId")
+    List<UUID> findIdsByAssigneeIdAndProjectId(@Param("assigneeId") UUID assigneeId, @Param("projectId") UUID projectId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.version = t.version + 1 where t.id in " +
+            "(select a.ticket.id from TicketAssignment a where a.assigneeId = :assigneeId and a.projectId = :projectId)")
+    Integer incrementVersionByAssigneeIdAndProjectId(@Param("assigneeId") UUID assigneeId, @Param("projectId") UUID projectId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TicketAssignment a where a.assigneeId = :assigneeId and a.projectId = :projectId")
+    Integer deleteAssignmentsByAssigneeIdAndProjectId(@Param("assigneeId") UUID assigneeId, @Param("projectId") UUID projectId);
+
+    @Query("select distinct t.projectId from Ticket t")
+    List<UUID> findDistinctProjectIds();
+
+    List<TicketSearchView> findSearchViewsByProjectId(UUID projectId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<TicketDueTimeView> streamDueTimeViewsByDueTimeAfter(LocalDateTime dueTime);
+
+    // the row lock decides between instances announcing the same due time, only one of them updates the row.
+    // a changed due time differs from the announced one and is announced again
+    @Modifying
+    @Query("update Ticket t set t.announcedDueTime = t.dueTime where t.id = :id and t.dueTime = :dueTime " +
+            "and (t.announcedDueTime is null or t.announcedDueTime <> t.dueTime)")
+    Integer claimOverdueAnnouncement(@Param("id") UUID id, @Param("dueTime") LocalDateTime dueTime);
+
+    // scalar rows are not attached to the persistence context, so the stream does not grow it
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id as id, t.title as title, t.description as description, t.creationTime as creationTime, " +
+            "t.dueTime as dueTime, t.phaseId as phaseId, a.assigneeId as assigneeId " +
+            "from Ticket t left join t.assignments a " +
+            "where t.projectId = :projectId " +
+            "order by t.creationTime asc, t.id asc")
+    Stream<TicketExportRow> streamExportRowsByProjectId(@Param("projectId") UUID projectId);
+
+    List<TicketPhaseView> findByIdInAndProjectId(Collection<UUID> ids, UUID projectId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.phaseId = :phaseId, t.version = t.version + 1 where t.id in :ids")
+    Integer updatePhaseIdByIdIn(@Param("ids") Collection<UUID> ids, @Param("phaseId") UUID phaseId);
 
     Boolean existsByPhaseIdEquals(UUID phaseId);
 
-    void deleteByProjectId(UUID projectId);
+    @Query("select t.id from Ticket t where t.projectId = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TicketAssignment a where a.ticket.id in :ids")
+    Integer deleteAssignmentsByTicketIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ticket t where t.id in :ids")
+    Integer deleteTicketsByIdIn(@Param("ids") Collection<UUID> ids);
 
     Long removeById(UUID id);
 }
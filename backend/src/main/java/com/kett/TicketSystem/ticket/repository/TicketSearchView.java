@@ -0,0 +1,10 @@
+package com.kett.TicketSystem.ticket.repository;
+
+import java.util.UUID;
+
+public interface TicketSearchView {
+    UUID getId();
+    UUID getProjectId();
+    String getTitle();
+    String getDescription();
+}
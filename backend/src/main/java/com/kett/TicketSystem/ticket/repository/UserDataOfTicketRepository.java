@@ -1,16 +1,25 @@
 package com.kett.TicketSystem.ticket.repository;
 
-import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.ticket.domain.consumedData.UserDataOfTicket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface UserDataOfTicketRepository extends JpaRepository<UserDataOfTicket, UUID> {
     List<UserDataOfTicket> findByUserId(UUID userId);
-    List<UserDataOfTicket> findByUserEmailEquals(EmailAddress emailAddress);
+    List<UserDataOfTicket> findByUserEmailNormalizedAddress(String normalizedAddress);
     Integer deleteByUserId(UUID userId);
+
+    List<UserDataOfTicket> findByUserIdIn(Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UserDataOfTicket u where u.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
@@ -3,10 +3,13 @@ package com.kett.TicketSystem.user.application;
 import com.kett.TicketSystem.common.DtoMapper;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.user.domain.UserDomainService;
+import com.kett.TicketSystem.user.application.dto.UserBatchPostDto;
+import com.kett.TicketSystem.user.application.dto.UserBatchResponseDto;
 import com.kett.TicketSystem.user.application.dto.UserPatchDto;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.application.dto.UserResponseDto;
 import com.kett.TicketSystem.user.domain.User;
+import com.kett.TicketSystem.user.domain.UserBatchResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -45,7 +48,15 @@ public class UserApplicationService {
         return dtoMapper.mapUserToUserResponseDto(user);
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#id))")
+    public UserBatchResponseDto addUsers(UserBatchPostDto userBatchPostDto) {
+        UserBatchResult userBatchResult = userDomainService.addUsers(
+                dtoMapper.mapUserBatchPostDtoToUserBatchEntryList(userBatchPostDto)
+        );
+
+        return dtoMapper.mapUserBatchResultToUserBatchResponseDto(userBatchResult);
+    }
+
+    @PreAuthorize("hasPermission(#id, 'USER')")
     public void patchUserById(UUID id, UserPatchDto userPatchDto) {
         userDomainService.patchUserById(
                 id,
@@ -54,7 +65,7 @@ public class UserApplicationService {
         );
     }
 
-    @PreAuthorize("hasAuthority('ROLE_USER_'.concat(#id))")
+    @PreAuthorize("hasPermission(#id, 'USER')")
     public void deleteUserById(UUID id) {
         userDomainService.deleteById(id);
     }
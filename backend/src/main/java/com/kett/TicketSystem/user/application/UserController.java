@@ -2,12 +2,15 @@ package com.kett.TicketSystem.user.application;
 
 import com.kett.TicketSystem.common.exceptions.NoParametersException;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import com.kett.TicketSystem.user.application.dto.UserBatchPostDto;
+import com.kett.TicketSystem.user.application.dto.UserBatchResponseDto;
 import com.kett.TicketSystem.user.application.dto.UserPatchDto;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.application.dto.UserResponseDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -59,6 +62,15 @@ public class UserController {
                 .body(userResponseDto);
     }
 
+    // entries that fail are listed in the response, the others are created regardless
+    // the passwords are hashed before the users are inserted, no transaction is held open meanwhile
+    @PostMapping("/batch")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<UserBatchResponseDto> createUsers(@RequestBody UserBatchPostDto userBatchPostDto) {
+        UserBatchResponseDto userBatchResponseDto = userApplicationService.addUsers(userBatchPostDto);
+        return new ResponseEntity<>(userBatchResponseDto, HttpStatus.CREATED);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<?> patchUserById(@PathVariable UUID id, @RequestBody UserPatchDto userPatchDto) {
         userApplicationService.patchUserById(id, userPatchDto);
@@ -0,0 +1,16 @@
+package com.kett.TicketSystem.user.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchErrorResponseDto {
+    private Integer index;
+    private String email;
+    private String message;
+}
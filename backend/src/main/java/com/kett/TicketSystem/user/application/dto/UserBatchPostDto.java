@@ -0,0 +1,17 @@
+package com.kett.TicketSystem.user.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchPostDto {
+    private List<UserPostDto> users = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.kett.TicketSystem.user.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponseDto {
+    private Long createdUserCount;
+    private Long failedUserCount;
+    private Long elapsedMillis;
+    private Double usersPerSecond;
+    private List<UserResponseDto> users = new ArrayList<>();
+    private List<UserBatchErrorResponseDto> errors = new ArrayList<>();
+}
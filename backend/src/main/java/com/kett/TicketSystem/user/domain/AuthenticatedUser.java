@@ -0,0 +1,33 @@
+package com.kett.TicketSystem.user.domain;
+
+import com.kett.TicketSystem.membership.domain.Role;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+// the principal of an authenticated request, keeps the project roles by project so a permission check is a map lookup
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+    private final UUID userId;
+    private final Map<UUID, Role> roleByProjectId;
+
+    public AuthenticatedUser(
+            UUID userId,
+            String email,
+            String password,
+            Collection<? extends GrantedAuthority> authorities,
+            Map<UUID, Role> roleByProjectId
+    ) {
+        super(email, password, authorities);
+        this.userId = userId;
+        this.roleByProjectId = Collections.unmodifiableMap(roleByProjectId);
+    }
+
+    public Role getRoleInProject(UUID projectId) {
+        return roleByProjectId.get(projectId);
+    }
+}
@@ -8,6 +8,7 @@ import javax.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(columnList = "normalizedAddress", unique = true))
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User {
@@ -22,7 +23,6 @@ public class User {
     private String name;
 
     @Getter
-    @Column(unique = true)
     private EmailAddress email;
 
     @Getter
@@ -0,0 +1,13 @@
+package com.kett.TicketSystem.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// an unchecked entry of a batch, it only becomes a user once it passed validation
+@Getter
+@AllArgsConstructor
+public class UserBatchEntry {
+    private final String name;
+    private final String email;
+    private final String password;
+}
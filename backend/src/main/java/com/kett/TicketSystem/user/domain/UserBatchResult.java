@@ -0,0 +1,54 @@
+package com.kett.TicketSystem.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class UserBatchResult {
+    private final List<User> createdUsers = new ArrayList<>();
+    private final List<EntryError> errors = new ArrayList<>();
+    private long elapsedNanos = 0;
+
+    void addCreatedUsers(List<User> users) {
+        createdUsers.addAll(users);
+    }
+
+    void addFailedEntry(int index, String email, String message) {
+        errors.add(new EntryError(index, email, message));
+    }
+
+    // entries fail in different steps, the errors are reported in the order of the batch
+    void complete(long elapsedNanos) {
+        errors.sort(Comparator.comparingInt(EntryError::getIndex));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getCreatedUserCount() {
+        return createdUsers.size();
+    }
+
+    public long getFailedUserCount() {
+        return errors.size();
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getUsersPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : createdUsers.size() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EntryError {
+        private final int index;
+        private final String email;
+        private final String message;
+    }
+}
@@ -1,55 +1,70 @@
 package com.kett.TicketSystem.user.domain;
 
+import com.kett.TicketSystem.common.BoundedPasswordEncoder;
+import com.kett.TicketSystem.common.EmailResolutionCache;
+import com.kett.TicketSystem.common.domainprimitives.EmailAddressException;
+import com.kett.TicketSystem.membership.domain.Membership;
 import com.kett.TicketSystem.membership.domain.MembershipDomainService;
+import com.kett.TicketSystem.membership.domain.Role;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.common.exceptions.NoUserFoundException;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import com.kett.TicketSystem.user.domain.exceptions.EmailAlreadyInUseException;
 import com.kett.TicketSystem.user.domain.exceptions.UserException;
 import com.kett.TicketSystem.user.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Transactional
 public class UserDomainService implements UserDetailsService {
+    public static final int MAX_BATCH_SIZE = 500;
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
     private final UserRepository userRepository;
     private final MembershipDomainService membershipDomainService;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
+    private final EmailResolutionCache emailResolutionCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public UserDomainService(
             UserRepository userRepository,
             MembershipDomainService membershipDomainService,
-            PasswordEncoder passwordEncoder,
-            ApplicationEventPublisher eventPublisher
+            BoundedPasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher,
+            EmailResolutionCache emailResolutionCache,
+            PlatformTransactionManager transactionManager
     ) {
         this.userRepository = userRepository;
         this.membershipDomainService = membershipDomainService;
         this.passwordEncoder = passwordEncoder;
         this.eventPublisher = eventPublisher;
+        this.emailResolutionCache = emailResolutionCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
 
     // create
 
     public User addUser(User user) throws EmailAlreadyInUseException {
-        if (userRepository.existsByEmailEquals(user.getEmail())) {
+        if (userRepository.existsByEmailNormalizedAddress(user.getEmail().getNormalizedAddress())) {
             throw new EmailAlreadyInUseException("email: " + user.getEmail().toString() + " is already in use.");
         }
 
@@ -59,6 +74,111 @@ public class UserDomainService implements UserDetailsService {
         return initializedUser;
     }
 
+    // a bad entry is reported and skipped instead of failing the whole batch. the passwords of the valid entries are
+    // hashed in parallel before the transaction, it only spans the check of the emails and the insert
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserBatchResult addUsers(List<UserBatchEntry> entries) throws UserException {
+        if (entries.isEmpty() || entries.size() > MAX_BATCH_SIZE) {
+            throw new UserException("a batch must contain between 1 and " + MAX_BATCH_SIZE + " users but had: " + entries.size());
+        }
+        long startNanos = System.nanoTime();
+        UserBatchResult result = new UserBatchResult();
+
+        // of the duplicates within the batch the first one wins
+        Map<Integer, User> userByIndex = new LinkedHashMap<>();
+        Set<String> emailsOfBatch = new HashSet<>();
+        for (int index = 0; index < entries.size(); index++) {
+            UserBatchEntry entry = entries.get(index);
+            try {
+                User user = new User(entry.getName(), entry.getEmail(), entry.getPassword());
+                if (emailsOfBatch.add(user.getEmail().getNormalizedAddress())) {
+                    userByIndex.put(index, user);
+                } else {
+                    result.addFailedEntry(index, entry.getEmail(), "email: " + user.getEmail() + " is already in use.");
+                }
+            } catch (UserException | EmailAddressException e) {
+                result.addFailedEntry(index, entry.getEmail(), e.getMessage());
+            }
+        }
+
+        List<Integer> indices = new ArrayList<>(userByIndex.keySet());
+        List<BoundedPasswordEncoder.EncodedPassword> encodedPasswords = passwordEncoder.encodeAll(
+                indices.stream().map(index -> userByIndex.get(index).getPassword()).toList()
+        );
+        for (int i = 0; i < indices.size(); i++) {
+            User user = userByIndex.get(indices.get(i));
+            BoundedPasswordEncoder.EncodedPassword encodedPassword = encodedPasswords.get(i);
+            if (encodedPassword.isEncoded()) {
+                user.setPassword(encodedPassword.encodedPassword());
+            } else {
+                result.addFailedEntry(indices.get(i), user.getEmail().toString(), encodedPassword.failure());
+                userByIndex.remove(indices.get(i));
+            }
+        }
+
+        // a signup racing the batch breaks the unique index on flush. the insert is then retried, it sees the committed
+        // email and reports that entry alone
+        for (int attempt = 1; !userByIndex.isEmpty(); attempt++) {
+            try {
+                InsertedUsers insertedUsers = transactionTemplate.execute(status -> this.insertUsers(userByIndex));
+                insertedUsers.indicesInUse().forEach(index -> {
+                    EmailAddress email = userByIndex.get(index).getEmail();
+                    result.addFailedEntry(index, email.toString(), "email: " + email + " is already in use.");
+                });
+                result.addCreatedUsers(insertedUsers.createdUsers());
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_INSERT_ATTEMPTS) {
+                    userByIndex.forEach((index, user) -> result.addFailedEntry(
+                            index,
+                            user.getEmail().toString(),
+                            "user could not be created because of concurrent signups, please retry."
+                    ));
+                    break;
+                }
+            }
+        }
+
+        result.complete(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    // runs in its own transaction, the users are copied so a rolled back attempt leaves no generated ids behind
+    private InsertedUsers insertUsers(Map<Integer, User> userByIndex) {
+        Set<String> emailsInUse = new HashSet<>(userRepository.findNormalizedAddressesIn(
+                userByIndex.values().stream().map(user -> user.getEmail().getNormalizedAddress()).toList()
+        ));
+        List<Integer> indicesInUse = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        userByIndex.forEach((index, user) -> {
+            if (emailsInUse.contains(user.getEmail().getNormalizedAddress())) {
+                indicesInUse.add(index);
+            } else {
+                users.add(new User(user.getName(), user.getEmail(), user.getPassword()));
+            }
+        });
+        if (users.isEmpty()) {
+            return new InsertedUsers(users, indicesInUse);
+        }
+
+        // the ids are generated on persist, so the inserts go out in jdbc batches. flushed here to hit the unique index
+        // inside this attempt
+        List<User> initializedUsers = userRepository.saveAll(users);
+        userRepository.flush();
+
+        Map<UUID, EmailAddress> emailAddressByUserId = new LinkedHashMap<>();
+        Map<UUID, String> nameByUserId = new HashMap<>();
+        initializedUsers.forEach(user -> {
+            emailAddressByUserId.put(user.getId(), user.getEmail());
+            nameByUserId.put(user.getId(), user.getName());
+        });
+        eventPublisher.publishEvent(new UsersCreatedEvent(emailAddressByUserId, nameByUserId));
+        return new InsertedUsers(initializedUsers, indicesInUse);
+    }
+
+    private record InsertedUsers(List<User> createdUsers, List<Integer> indicesInUse) {
+    }
+
 
     // read
 
@@ -68,14 +188,30 @@ public class UserDomainService implements UserDetailsService {
                 .orElseThrow(() -> new NoUserFoundException("could not find user with id: " + id));
     }
 
+    public List<User> getUsersByIds(Collection<UUID> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    // a resolved email is loaded by its primary key, checked against the email in case the cached id went stale
     public User getUserByEMailAddress(EmailAddress eMailAddress) throws NoUserFoundException {
+        UUID userId = this.getUserIdByEmail(eMailAddress);
         return userRepository
-                .findByEmailEquals(eMailAddress)
-                .orElseThrow(() -> new NoUserFoundException("could not find user with eMailAddress: " + eMailAddress));
+                .findById(userId)
+                .filter(user -> eMailAddress.getNormalizedAddress().equals(user.getEmail().getNormalizedAddress()))
+                .orElseGet(() -> {
+                    emailResolutionCache.invalidate(userId, eMailAddress);
+                    return this.findUserByEMailAddress(eMailAddress);
+                });
     }
 
     public UUID getUserIdByEmail(EmailAddress postingUserEmail) throws NoUserFoundException {
-        return this.getUserByEMailAddress(postingUserEmail).getId();
+        return emailResolutionCache.getUserId(postingUserEmail, () -> this.findUserByEMailAddress(postingUserEmail).getId());
+    }
+
+    private User findUserByEMailAddress(EmailAddress eMailAddress) throws NoUserFoundException {
+        return userRepository
+                .findByEmailNormalizedAddress(eMailAddress.getNormalizedAddress())
+                .orElseThrow(() -> new NoUserFoundException("could not find user with eMailAddress: " + eMailAddress));
     }
 
     public UUID getUserIdByEmail(String postingUserEmail) throws NoUserFoundException {
@@ -87,28 +223,27 @@ public class UserDomainService implements UserDetailsService {
     }
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws NoUserFoundException, UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String email) throws NoUserFoundException, UsernameNotFoundException {
         User user = this.getUserByEMailAddress(EmailAddress.fromString(email));
-        List<GrantedAuthority> grantedAuthorities = this.getAllUserAuthoritiesByUserId(user.getId());
+        List<Membership> acceptedMemberships = membershipDomainService.getAcceptedMembershipsByUserId(user.getId());
+
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_USER_" + user.getId()));
+        // copied, the principal may outlive this persistence context
+        acceptedMemberships.forEach(membership -> grantedAuthorities.add(new SimpleGrantedAuthority(membership.getAuthority())));
+
+        Map<UUID, Role> roleByProjectId = new HashMap<>();
+        acceptedMemberships.forEach(membership -> roleByProjectId.put(membership.getProjectId(), membership.getRole()));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getEmail().toString(),
                 user.getPassword(),
-                grantedAuthorities
+                grantedAuthorities,
+                roleByProjectId
         );
     }
 
-    private List<GrantedAuthority> getAllUserAuthoritiesByUserId(UUID id) {
-        List<GrantedAuthority> projectAuthorities = membershipDomainService.getProjectAuthoritiesByUserId(id);
-        SimpleGrantedAuthority userAuthority = new SimpleGrantedAuthority("ROLE_USER_" + id);
-
-        List<GrantedAuthority> allGrantedAuthorities = new ArrayList<>();
-        allGrantedAuthorities.add(userAuthority);
-        allGrantedAuthorities.addAll(projectAuthorities);
-
-        return allGrantedAuthorities;
-    }
-
 
     // update
 
@@ -120,7 +255,7 @@ public class UserDomainService implements UserDetailsService {
         }
         if (email != null) {
             EmailAddress emailAddress = EmailAddress.fromString(email);
-            if (userRepository.existsByEmailEquals(emailAddress)) {
+            if (userRepository.existsByEmailNormalizedAddress(emailAddress.getNormalizedAddress())) {
                 throw new EmailAlreadyInUseException("New email: " + emailAddress.toString() + " is already in use.");
             }
             user.setEmail(emailAddress);
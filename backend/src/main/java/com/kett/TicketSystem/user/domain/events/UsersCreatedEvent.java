@@ -0,0 +1,21 @@
+package com.kett.TicketSystem.user.domain.events;
+
+import com.kett.TicketSystem.common.domainprimitives.DomainEvent;
+import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.UUID;
+
+// published once for a whole batch instead of a UserCreatedEvent per user
+@Getter
+public class UsersCreatedEvent extends DomainEvent {
+    private final Map<UUID, EmailAddress> emailAddressByUserId;
+    private final Map<UUID, String> nameByUserId;
+
+    public UsersCreatedEvent(Map<UUID, EmailAddress> emailAddressByUserId, Map<UUID, String> nameByUserId) {
+        super();
+        this.emailAddressByUserId = emailAddressByUserId;
+        this.nameByUserId = nameByUserId;
+    }
+}
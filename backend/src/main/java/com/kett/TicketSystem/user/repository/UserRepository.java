@@ -1,17 +1,23 @@
 package com.kett.TicketSystem.user.repository;
 
-import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByEmailEquals(EmailAddress email);
-    Boolean existsByEmailEquals(EmailAddress email);
+    Optional<User> findByEmailNormalizedAddress(String normalizedAddress);
+    Boolean existsByEmailNormalizedAddress(String normalizedAddress);
+
+    @Query("select u.email.normalizedAddress from User u where u.email.normalizedAddress in :normalizedAddresses")
+    List<String> findNormalizedAddressesIn(@Param("normalizedAddresses") Collection<String> normalizedAddresses);
 
     Long removeById(UUID id);
 }
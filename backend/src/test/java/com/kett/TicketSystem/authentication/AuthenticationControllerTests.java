@@ -1,8 +1,10 @@
 package com.kett.TicketSystem.authentication;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kett.TicketSystem.authentication.application.AuthenticationController;
 import com.kett.TicketSystem.authentication.application.dto.AuthenticationPostDto;
 import com.kett.TicketSystem.authentication.domain.jwt.JwtTokenProvider;
+import com.kett.TicketSystem.authentication.domain.jwt.VerifiedTokenCache;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -18,9 +20,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import static org.junit.jupiter.api.Assertions.*;
 
+import javax.servlet.http.Cookie;
 import java.util.Objects;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +38,7 @@ public class AuthenticationControllerTests {
     private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private String name0;
     private String email0;
@@ -45,11 +51,18 @@ public class AuthenticationControllerTests {
     private String jwt1;
 
     @Autowired
-    public AuthenticationControllerTests(MockMvc mockMvc, ObjectMapper objectMapper, UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    public AuthenticationControllerTests(
+            MockMvc mockMvc,
+            ObjectMapper objectMapper,
+            UserRepository userRepository,
+            JwtTokenProvider jwtTokenProvider,
+            VerifiedTokenCache verifiedTokenCache
+    ) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @BeforeEach
@@ -110,8 +123,8 @@ public class AuthenticationControllerTests {
                         .andReturn();
 
         jwt0 = Objects.requireNonNull(postAuthenticationResult0.getResponse().getContentAsString());
-        assertEquals(email0, jwtTokenProvider.getEmailFromToken(jwt0));
-        assertTrue(jwtTokenProvider.validateToken(jwt0));
+        assertEquals(email0, jwtTokenProvider.verifyToken(jwt0).orElseThrow().getSubject());
+        assertTrue(jwtTokenProvider.verifyToken(jwt0).isPresent());
 
         AuthenticationPostDto authenticationPostDto1 = new AuthenticationPostDto(email1, password1);
         MvcResult postAuthenticationResult1 =
@@ -123,8 +136,8 @@ public class AuthenticationControllerTests {
                         .andReturn();
 
         jwt1 = Objects.requireNonNull(postAuthenticationResult1.getResponse().getContentAsString());
-        assertEquals(email1, jwtTokenProvider.getEmailFromToken(jwt1));
-        assertTrue(jwtTokenProvider.validateToken(jwt1));
+        assertEquals(email1, jwtTokenProvider.verifyToken(jwt1).orElseThrow().getSubject());
+        assertTrue(jwtTokenProvider.verifyToken(jwt1).isPresent());
     }
 
     @Test
@@ -156,4 +169,96 @@ public class AuthenticationControllerTests {
                         .andExpect(status().isNotFound())
                         .andReturn();
     }
+
+    @Test
+    public void verifiedTokenCacheTest() throws Exception {
+        AuthenticationPostDto authenticationPostDto0 = new AuthenticationPostDto(email0, password0);
+        MvcResult postAuthenticationResult0 =
+                mockMvc.perform(
+                                post("/authentications")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(authenticationPostDto0)))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        jwt0 = Objects.requireNonNull(postAuthenticationResult0.getResponse().getContentAsString());
+
+        // the token is verified once, then its claims are served from the cache
+        assertTrue(jwtTokenProvider.verifyToken(jwt0).isPresent());
+        assertEquals(1, verifiedTokenCache.getMissCount());
+        assertEquals(email0, jwtTokenProvider.verifyToken(jwt0).orElseThrow().getSubject());
+        assertEquals(1, verifiedTokenCache.getHitCount());
+
+        // a tampered token is not served from the cache and not cached either
+        String tamperedJwt0 = jwt0.substring(0, jwt0.length() - 2) + (jwt0.endsWith("AA") ? "BB" : "AA");
+        assertTrue(jwtTokenProvider.verifyToken(tamperedJwt0).isEmpty());
+        assertEquals(1, verifiedTokenCache.getSize());
+    }
+
+    @Test
+    public void refreshAuthenticationTest() throws Exception {
+        AuthenticationPostDto authenticationPostDto0 = new AuthenticationPostDto(email0, password0);
+        MvcResult postAuthenticationResult =
+                mockMvc.perform(
+                                post("/authentications")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(authenticationPostDto0)))
+                        .andExpect(status().isOk())
+                        .andExpect(cookie().httpOnly(AuthenticationController.REFRESH_TOKEN_COOKIE, true))
+                        .andExpect(cookie().path(AuthenticationController.REFRESH_TOKEN_COOKIE, "/authentications"))
+                        .andReturn();
+        Cookie refreshCookie0 = postAuthenticationResult.getResponse().getCookie(AuthenticationController.REFRESH_TOKEN_COOKIE);
+        assertNotNull(refreshCookie0);
+
+        // the refresh token is exchanged for a new access token and a new refresh token
+        MvcResult refreshResult =
+                mockMvc.perform(
+                                post("/authentications/refresh")
+                                        .cookie(refreshCookie0))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        jwt0 = refreshResult.getResponse().getContentAsString();
+        assertEquals(email0, jwtTokenProvider.verifyToken(jwt0).orElseThrow().getSubject());
+        Cookie refreshCookie1 = refreshResult.getResponse().getCookie(AuthenticationController.REFRESH_TOKEN_COOKIE);
+        assertNotNull(refreshCookie1);
+        assertNotEquals(refreshCookie0.getValue(), refreshCookie1.getValue());
+
+        // the rotated token is refused and revokes its successor as well
+        mockMvc.perform(
+                        post("/authentications/refresh")
+                                .cookie(refreshCookie0))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(
+                        post("/authentications/refresh")
+                                .cookie(refreshCookie1))
+                .andExpect(status().isUnauthorized());
+
+        // no cookie, no refresh
+        mockMvc.perform(post("/authentications/refresh"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void revokeAuthenticationTest() throws Exception {
+        AuthenticationPostDto authenticationPostDto0 = new AuthenticationPostDto(email0, password0);
+        MvcResult postAuthenticationResult =
+                mockMvc.perform(
+                                post("/authentications")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(authenticationPostDto0)))
+                        .andExpect(status().isOk())
+                        .andReturn();
+        Cookie refreshCookie = postAuthenticationResult.getResponse().getCookie(AuthenticationController.REFRESH_TOKEN_COOKIE);
+        assertNotNull(refreshCookie);
+
+        mockMvc.perform(
+                        delete("/authentications")
+                                .cookie(refreshCookie))
+                .andExpect(status().isNoContent())
+                .andExpect(cookie().maxAge(AuthenticationController.REFRESH_TOKEN_COOKIE, 0));
+
+        mockMvc.perform(
+                        post("/authentications/refresh")
+                                .cookie(refreshCookie))
+                .andExpect(status().isUnauthorized());
+    }
 }
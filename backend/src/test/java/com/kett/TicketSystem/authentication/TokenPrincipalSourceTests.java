@@ -0,0 +1,126 @@
+package com.kett.TicketSystem.authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kett.TicketSystem.authentication.domain.jwt.JwtAuthenticationFilter;
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.membership.domain.State;
+import com.kett.TicketSystem.project.domain.events.DefaultProjectCreatedEvent;
+import com.kett.TicketSystem.util.EventCatcher;
+import com.kett.TicketSystem.util.RestRequestHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "authentication.principal-source=token")
+@ActiveProfiles({ "test" })
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Transactional
+public class TokenPrincipalSourceTests {
+    private final MockMvc mockMvc;
+    private final EventCatcher eventCatcher;
+    private final RestRequestHelper restMinion;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private UUID userId0;
+    private String userEmail0;
+    private String userPassword0;
+    private UUID defaultProjectId0;
+
+    private UUID userId1;
+    private String userEmail1;
+    private String userPassword1;
+
+    @Autowired
+    public TokenPrincipalSourceTests(
+            MockMvc mockMvc,
+            ObjectMapper objectMapper,
+            EventCatcher eventCatcher,
+            JwtAuthenticationFilter jwtAuthenticationFilter
+    ) {
+        this.mockMvc = mockMvc;
+        this.eventCatcher = eventCatcher;
+        this.restMinion = new RestRequestHelper(mockMvc, objectMapper);
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    }
+
+    @BeforeEach
+    public void buildUp() throws Exception {
+        userEmail0 = "il.igatto@cat.com";
+        userPassword0 = "meowMeow1234";
+
+        eventCatcher.catchEventOfType(DefaultProjectCreatedEvent.class);
+        userId0 = restMinion.postUser("Il Gatto", userEmail0, userPassword0);
+        await().until(eventCatcher::hasCaughtEvent);
+        defaultProjectId0 = ((DefaultProjectCreatedEvent) eventCatcher.getEvent()).getProjectId();
+
+        userEmail1 = "la.volpe@fox.com";
+        userPassword1 = "fuchsFuchs5678";
+        userId1 = restMinion.postUser("La Volpe", userEmail1, userPassword1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userId0 = null;
+        userEmail0 = null;
+        userPassword0 = null;
+        defaultProjectId0 = null;
+
+        userId1 = null;
+        userEmail1 = null;
+        userPassword1 = null;
+    }
+
+    @Test
+    public void authenticateFromTokenTest() throws Exception {
+        await().until(() -> {
+            String jwt = restMinion.authenticateUser(userEmail0, userPassword0);
+            return mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", jwt))
+                    .andReturn().getResponse().getStatus() == 200;
+        });
+        String jwt0 = restMinion.authenticateUser(userEmail0, userPassword0);
+
+        // the roles in the token authorize without asking the database
+        Long databasePrincipalCount = jwtAuthenticationFilter.getDatabasePrincipalCount();
+        mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", jwt0))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", jwt0))
+                .andExpect(status().isOk());
+        assertEquals(databasePrincipalCount, jwtAuthenticationFilter.getDatabasePrincipalCount());
+    }
+
+    @Test
+    public void revokedTokenFallsBackToDatabaseTest() throws Exception {
+        String jwt1 = restMinion.authenticateUser(userEmail1, userPassword1);
+        mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", jwt1))
+                .andExpect(status().isForbidden());
+
+        // the token of user1 predates the membership, its embedded roles are revoked
+        await().until(() ->
+                mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", restMinion.authenticateUser(userEmail0, userPassword0)))
+                        .andReturn().getResponse().getStatus() == 200
+        );
+        String jwt0 = restMinion.authenticateUser(userEmail0, userPassword0);
+        UUID membershipId = restMinion.postMembership(jwt0, defaultProjectId0, userId1, Role.MEMBER);
+        restMinion.putMembershipState(jwt1, membershipId, State.ACCEPTED);
+
+        Long databasePrincipalCount = jwtAuthenticationFilter.getDatabasePrincipalCount();
+        mockMvc.perform(get("/projects/" + defaultProjectId0).header("Authorization", jwt1))
+                .andExpect(status().isOk());
+        assertEquals(databasePrincipalCount + 1, jwtAuthenticationFilter.getDatabasePrincipalCount());
+    }
+}
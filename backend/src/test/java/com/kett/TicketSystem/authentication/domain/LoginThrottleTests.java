@@ -0,0 +1,47 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.authentication.domain.exceptions.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginThrottleTests {
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    public void buildUp() {
+        loginThrottle = new LoginThrottle(3, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loginThrottle = null;
+    }
+
+    @Test
+    public void accountLimitTest() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            loginThrottle.checkLoginAttempt("il.igatto@cat.com", "10.0.0." + attempt);
+        }
+
+        // the same account from another address, and in another case
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginThrottle.checkLoginAttempt("IL.IGATTO@cat.com", "10.0.0.9"));
+        assertEquals(1, loginThrottle.getRejectedAccountAttemptCount());
+
+        loginThrottle.checkLoginAttempt("la.volpe@fox.com", "10.0.0.9");
+    }
+
+    @Test
+    public void addressLimitTest() {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            loginThrottle.checkLoginAttempt("user" + attempt + "@cat.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginThrottle.checkLoginAttempt("user9@cat.com", "10.0.0.1"));
+        assertEquals(1, loginThrottle.getRejectedAddressAttemptCount());
+
+        loginThrottle.checkLoginAttempt("user9@cat.com", "10.0.0.2");
+    }
+}
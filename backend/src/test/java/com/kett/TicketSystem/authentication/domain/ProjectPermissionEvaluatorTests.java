@@ -0,0 +1,84 @@
+package com.kett.TicketSystem.authentication.domain;
+
+import com.kett.TicketSystem.membership.domain.Role;
+import com.kett.TicketSystem.user.domain.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectPermissionEvaluatorTests {
+    private ProjectPermissionEvaluator projectPermissionEvaluator;
+
+    private UUID userId;
+    private UUID adminProjectId;
+    private UUID memberProjectId;
+    private UUID foreignProjectId;
+    private Authentication authentication;
+
+    @BeforeEach
+    public void buildUp() {
+        projectPermissionEvaluator = new ProjectPermissionEvaluator();
+
+        userId = UUID.randomUUID();
+        adminProjectId = UUID.randomUUID();
+        memberProjectId = UUID.randomUUID();
+        foreignProjectId = UUID.randomUUID();
+
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser(
+                userId,
+                "il.igatto@cat.com",
+                "password",
+                List.of(),
+                Map.of(adminProjectId, Role.ADMIN, memberProjectId, Role.MEMBER)
+        );
+        authentication = new UsernamePasswordAuthenticationToken(authenticatedUser, null, authenticatedUser.getAuthorities());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectPermissionEvaluator = null;
+
+        userId = null;
+        adminProjectId = null;
+        memberProjectId = null;
+        foreignProjectId = null;
+        authentication = null;
+    }
+
+    @Test
+    public void memberPermissionTest() {
+        assertTrue(projectPermissionEvaluator.hasPermission(authentication, adminProjectId, "MEMBER"));
+        assertTrue(projectPermissionEvaluator.hasPermission(authentication, memberProjectId, "MEMBER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, foreignProjectId, "MEMBER"));
+    }
+
+    @Test
+    public void adminPermissionTest() {
+        assertTrue(projectPermissionEvaluator.hasPermission(authentication, adminProjectId, "ADMIN"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, memberProjectId, "ADMIN"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, foreignProjectId, "ADMIN"));
+    }
+
+    @Test
+    public void userPermissionTest() {
+        assertTrue(projectPermissionEvaluator.hasPermission(authentication, userId, "USER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, UUID.randomUUID(), "USER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, adminProjectId, "USER"));
+    }
+
+    @Test
+    public void unknownTargetOrPermissionTest() {
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, null, "MEMBER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, adminProjectId.toString(), "MEMBER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(authentication, adminProjectId, "OWNER"));
+        assertFalse(projectPermissionEvaluator.hasPermission(null, adminProjectId, "MEMBER"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.kett.TicketSystem.authentication.domain.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyringTests {
+
+    @Test
+    public void sharedKeyringFileTest(@TempDir Path directory) throws Exception {
+        Path keyringFile = directory.resolve("jwt.keyring");
+
+        // the first instance creates the file, the second one signs with the same key
+        JwtKeyring jwtKeyring0 = new JwtKeyring(keyringFile.toString());
+        assertTrue(Files.exists(keyringFile));
+        JwtKeyring jwtKeyring1 = new JwtKeyring(keyringFile.toString());
+
+        JwtKeyring.JwtKey signingKey0 = jwtKeyring0.getSigningKey();
+        JwtKeyring.JwtKey signingKey1 = jwtKeyring1.getSigningKey();
+        assertEquals(signingKey0.keyId(), signingKey1.keyId());
+        assertEquals(signingKey0.secretKey(), jwtKeyring1.getVerificationKey(signingKey0.keyId()));
+
+        // nothing is due, reloading keeps the key
+        jwtKeyring1.reloadAndRotate();
+        assertEquals(signingKey0.keyId(), jwtKeyring1.getSigningKey().keyId());
+    }
+
+    @Test
+    public void inMemoryKeyringTest() {
+        JwtKeyring jwtKeyring0 = new JwtKeyring("");
+        JwtKeyring jwtKeyring1 = new JwtKeyring("");
+
+        JwtKeyring.JwtKey signingKey0 = jwtKeyring0.getSigningKey();
+        assertEquals(signingKey0.secretKey(), jwtKeyring0.getVerificationKey(signingKey0.keyId()));
+        assertNull(jwtKeyring1.getVerificationKey(signingKey0.keyId()));
+        assertNull(jwtKeyring0.getVerificationKey("unknown"));
+    }
+
+    @Test
+    public void malformedKeyringFileTest(@TempDir Path directory) throws Exception {
+        Path keyringFile = directory.resolve("jwt.keyring");
+        Files.writeString(keyringFile, "not a key\n");
+
+        assertThrows(RuntimeException.class, () -> new JwtKeyring(keyringFile.toString()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.kett.TicketSystem.common.projection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionQueueTests {
+    private TransactionTemplate transactionTemplate;
+    private Map<Integer, Integer> replica;
+    private ProjectionQueue<Integer, Integer> projectionQueue;
+
+    @BeforeEach
+    public void buildUp() {
+        // the projections below keep their state in memory, the transactions do nothing
+        transactionTemplate = new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+        replica = new ConcurrentHashMap<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (projectionQueue != null) {
+            projectionQueue.shutdown();
+        }
+        transactionTemplate = null;
+        replica = null;
+        projectionQueue = null;
+    }
+
+    @Test
+    public void coalescingTest() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch firstBatchReleased = new CountDownLatch(1);
+        projectionQueue = new ProjectionQueue<>("test", (upsertedValueByKey, deletedKeys) -> {
+            firstBatchStarted.countDown();
+            try {
+                firstBatchReleased.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            replica.putAll(upsertedValueByKey);
+            deletedKeys.forEach(replica::remove);
+        }, transactionTemplate, 500);
+
+        // the first change occupies the applying thread, everything after it piles up behind
+        projectionQueue.upsert(-1, -1);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (int version = 0; version < 100; version++) {
+            for (int key = 0; key < 100; key++) {
+                projectionQueue.upsert(key, version);
+            }
+        }
+        projectionQueue.delete(0);
+        assertEquals(100, projectionQueue.getPendingCount());
+        assertTrue(projectionQueue.getLagMillis() >= 0);
+        firstBatchReleased.countDown();
+
+        await().until(() -> projectionQueue.getPendingCount() == 0 && projectionQueue.getAppliedCount() == 101);
+        assertEquals(2, projectionQueue.getBatchCount());
+        assertEquals(10_002, projectionQueue.getEnqueuedCount());
+        assertEquals(9_901, projectionQueue.getCoalescedCount());
+        assertEquals(0, projectionQueue.getLagMillis());
+
+        // the latest change of every key won
+        assertFalse(replica.containsKey(0));
+        for (int key = 1; key < 100; key++) {
+            assertEquals(99, replica.get(key));
+        }
+    }
+
+    @Test
+    public void retryTest() {
+        AtomicInteger attempts = new AtomicInteger();
+        projectionQueue = new ProjectionQueue<>("test", (upsertedValueByKey, deletedKeys) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("replica not reachable");
+            }
+            replica.putAll(upsertedValueByKey);
+        }, transactionTemplate, 500);
+
+        projectionQueue.upsert(0, 0);
+        await().until(() -> replica.containsKey(0));
+        assertEquals(1, projectionQueue.getFailedBatchCount());
+        assertEquals(0, projectionQueue.getDroppedCount());
+        assertEquals(1, projectionQueue.getAppliedCount());
+    }
+
+    @Test
+    public void failingKeyIsIsolatedTest() throws Exception {
+        CountDownLatch firstBatchReleased = new CountDownLatch(1);
+        projectionQueue = new ProjectionQueue<>("test", (upsertedValueByKey, deletedKeys) -> {
+            try {
+                firstBatchReleased.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            if (upsertedValueByKey.containsKey(42)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            replica.putAll(upsertedValueByKey);
+        }, transactionTemplate, 500);
+
+        // one batch of 100 changes, the key 42 can never be written
+        projectionQueue.upsert(-1, -1);
+        for (int key = 0; key < 100; key++) {
+            projectionQueue.upsert(key, key);
+        }
+        firstBatchReleased.countDown();
+
+        await().atMost(15, TimeUnit.SECONDS).until(() -> projectionQueue.getDroppedCount() == 1);
+        assertEquals(100, replica.size());
+        assertFalse(replica.containsKey(42));
+        assertEquals(100, projectionQueue.getAppliedCount());
+        assertEquals(0, projectionQueue.getPendingCount());
+    }
+}
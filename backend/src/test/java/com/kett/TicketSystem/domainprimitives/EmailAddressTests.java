@@ -140,4 +140,14 @@ public class EmailAddressTests {
         assertEquals(validDomain2, EmailAddress.fromString(validAddress2).getDomain());
         assertEquals(validDomain3, EmailAddress.fromString(validAddress3).getDomain());
     }
+
+    @Test
+    public void checkNormalizedAddress() {
+        assertEquals(validAddress0, EmailAddress.fromString(validAddress0).getNormalizedAddress());
+        assertEquals("nedstark@soiaf.org", EmailAddress.fromString(validAddress3).getNormalizedAddress());
+        assertEquals(
+                EmailAddress.fromString(validAddress3).getNormalizedAddress(),
+                EmailAddress.fromString(validAddress3.toUpperCase()).getNormalizedAddress()
+        );
+    }
 }
@@ -2,6 +2,7 @@ package com.kett.TicketSystem.membership.application;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import com.kett.TicketSystem.authentication.domain.AuthenticatedUserCache;
 import com.kett.TicketSystem.membership.application.dto.MembershipPostDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPutRoleDto;
 import com.kett.TicketSystem.membership.application.dto.MembershipPutStateDto;
@@ -30,6 +31,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,6 +59,7 @@ public class MembershipControllerTests {
     private final UserRepository userRepository;
     private final MembershipDomainService membershipDomainService;
     private final MembershipRepository membershipRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     private UUID userId0;
     private String userName0;
@@ -82,7 +85,8 @@ public class MembershipControllerTests {
             ApplicationEventPublisher eventPublisher,
             UserRepository userRepository,
             MembershipDomainService membershipDomainService,
-            MembershipRepository membershipRepository
+            MembershipRepository membershipRepository,
+            AuthenticatedUserCache authenticatedUserCache
     ) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
@@ -92,6 +96,7 @@ public class MembershipControllerTests {
         this.userRepository = userRepository;
         this.membershipDomainService = membershipDomainService;
         this.membershipRepository = membershipRepository;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @BeforeEach
@@ -484,6 +489,48 @@ public class MembershipControllerTests {
         assertEquals(State.OPEN, membership.getState());
     }
 
+    @Test
+    public void authenticatedUserCacheTest() throws Exception {
+        String projectName0 = "Project 0";
+        String projectDescription0 = "Description 0";
+        UUID projectId0 = restMinion.postProject(jwt0, projectName0, projectDescription0);
+        UUID membershipId = restMinion.postMembership(jwt0, projectId0, userId1, Role.MEMBER);
+
+        // the second request is served from the cache
+        mockMvc.perform(get("/projects/" + projectId0).header("Authorization", jwt1))
+                .andExpect(status().isForbidden());
+        Long hitCount = authenticatedUserCache.getHitCount();
+        mockMvc.perform(get("/projects/" + projectId0).header("Authorization", jwt1))
+                .andExpect(status().isForbidden());
+        assertEquals(hitCount + 1, authenticatedUserCache.getHitCount());
+
+        // accepting the membership drops the cached user
+        restMinion.putMembershipState(jwt1, membershipId, State.ACCEPTED);
+        mockMvc.perform(get("/projects/" + projectId0).header("Authorization", jwt1))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/projects/" + projectId0)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Project 1\"}")
+                        .header("Authorization", jwt1))
+                .andExpect(status().isForbidden());
+
+        // so does updating its role
+        mockMvc.perform(
+                        put("/memberships/" + membershipId + "/role")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new MembershipPutRoleDto(Role.ADMIN)))
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNoContent());
+        restMinion.patchProject(jwt1, projectId0, "Project 1", projectDescription0);
+
+        // and deleting it
+        mockMvc.perform(delete("/memberships/" + membershipId).header("Authorization", jwt1))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/projects/" + projectId0).header("Authorization", jwt1))
+                .andExpect(status().isForbidden());
+        assertTrue(authenticatedUserCache.getHitRate() > 0);
+    }
+
     @Test
     public void deleteOtherMembershipAsAdminTest() throws Exception {
         String projectName0 = "Project 0";
@@ -591,6 +638,10 @@ public class MembershipControllerTests {
         eventCatcher.catchEventOfType(MembershipDeletedEvent.class);
         eventPublisher.publishEvent(new ProjectDeletedEvent(randomProjectId));
 
+        // the project is only purged once its deletion is committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
         // test event
         await().until(eventCatcher::hasCaughtEvent);
         MembershipDeletedEvent membershipDeletedEvent = (MembershipDeletedEvent) eventCatcher.getEvent();
@@ -9,6 +9,7 @@ import com.kett.TicketSystem.notification.domain.NotificationDomainService;
 import com.kett.TicketSystem.notification.domain.exceptions.NoNotificationFoundException;
 import com.kett.TicketSystem.notification.repository.NotificationRepository;
 import com.kett.TicketSystem.ticket.domain.events.TicketAssignedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketOverdueEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketUnassignedEvent;
 import com.kett.TicketSystem.user.repository.UserRepository;
 import com.kett.TicketSystem.util.RestRequestHelper;
@@ -27,6 +28,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.Cookie;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -379,4 +381,32 @@ public class NotificationControllerTests {
         assertEquals(false, notification.getIsRead());
         assertTrue(notification.getContent().contains(ticketId.toString()));
     }
+
+    @Test
+    public void consumeTicketOverdueEvent() throws Exception {
+        LocalDateTime dueTime = LocalDateTime.now().minusMinutes(1);
+        eventPublisher
+                .publishEvent(
+                        new TicketOverdueEvent(
+                                ticketId,
+                                projectId,
+                                dueTime,
+                                List.of(userId0, userId1)
+                        )
+                );
+
+        // TODO: find more stable alternative for testing
+        // shame: give services time to handle event
+        Thread.sleep(100);
+
+        List<Notification> notifications0 = notificationDomainService.getNotificationsByRecipientId(userId0);
+        assertEquals(1, notifications0.size());
+        assertTrue(notifications0.get(0).getContent().contains(ticketId.toString()));
+        assertTrue(notifications0.get(0).getContent().contains("overdue"));
+
+        List<Notification> notifications1 = notificationDomainService.getNotificationsByRecipientId(userId1);
+        assertEquals(1, notifications1.size());
+        assertEquals(userId1, notifications1.get(0).getRecipientId());
+        assertEquals(false, notifications1.get(0).getIsRead());
+    }
 }
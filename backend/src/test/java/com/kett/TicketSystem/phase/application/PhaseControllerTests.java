@@ -31,11 +31,13 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.Cookie;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -548,6 +550,10 @@ public class PhaseControllerTests {
         eventCatcher.catchEventOfType(PhaseDeletedEvent.class);
         eventPublisher.publishEvent(new ProjectDeletedEvent(buildUpProjectId));
 
+        // the project is only purged once its deletion is committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
         // test event
         await().until(eventCatcher::hasCaughtEvent);
         PhaseDeletedEvent phaseDeletedEvent = (PhaseDeletedEvent) eventCatcher.getEvent();
@@ -559,14 +565,15 @@ public class PhaseControllerTests {
 
     @Test
     public void consumeTicketCreatedEvent() {
+        // get phaseId of buildUpProject
+        UUID phaseId = phaseDomainService.getPhasesByProjectId(buildUpProjectId).get(0).getId();
+
         UUID ticketId = UUID.randomUUID();
-        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId));
+        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId, phaseId, "title", null, LocalDateTime.now()));
 
-        // get phaseId of buildUpProject
         List<Phase> phases = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals(1, phases.size());
         assertEquals("BACKLOG", phases.get(0).getName());
-        UUID phaseId = phases.get(0).getId();
 
         // test instance
         Phase phase = phaseDomainService.getPhaseById(phases.get(0).getId());
@@ -577,15 +584,16 @@ public class PhaseControllerTests {
 
     @Test
     public void consumeTicketDeletedEvent() {
+        // get phaseId of buildUpProject
+        UUID phaseId = phaseDomainService.getPhasesByProjectId(buildUpProjectId).get(0).getId();
+
         UUID ticketId = UUID.randomUUID();
-        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId));
+        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId, phaseId, "title", null, LocalDateTime.now()));
 
-        // get phaseId of buildUpProject
         List<Phase> phases = phaseDomainService.getPhasesByProjectId(buildUpProjectId);
         assertEquals("BACKLOG", phases.get(0).getName());
         assertEquals(1, phases.size());
         assertEquals(1, phases.get(0).getTicketCount());
-        UUID phaseId = phases.get(0).getId();
 
         eventPublisher.publishEvent(new TicketDeletedEvent(ticketId, buildUpProjectId, phaseId));
 
@@ -607,7 +615,7 @@ public class PhaseControllerTests {
 
         // mock post ticket
         UUID ticketId = UUID.randomUUID();
-        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId));
+        eventPublisher.publishEvent(new TicketCreatedEvent(ticketId, buildUpProjectId, userId, backlogId, "title", null, LocalDateTime.now()));
 
         assertEquals(1, phaseDomainService.getPhaseById(backlogId).getTicketCount());
         assertEquals(0, phaseDomainService.getPhaseById(doneId).getTicketCount());
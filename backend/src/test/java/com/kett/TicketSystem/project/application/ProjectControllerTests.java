@@ -29,9 +29,12 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.Cookie;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.awaitility.Awaitility.await;
@@ -170,6 +173,57 @@ public class ProjectControllerTests {
                         .andReturn();
     }
 
+    @Test
+    public void getBoardTest() throws Exception {
+        LocalDateTime dateOfTomorrow = LocalDateTime.now().plusDays(1);
+        UUID ticketId0 = restMinion.postTicket(jwt, buildUpProjectId, "first", "do stuff", dateOfTomorrow, List.of(userId));
+        UUID ticketId1 = restMinion.postTicket(jwt, buildUpProjectId, "second", "do more stuff", null, List.of());
+
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/board")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Authorization", jwt))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(buildUpProjectId.toString()))
+                .andExpect(jsonPath("$.phases.length()").value(1))
+                .andExpect(jsonPath("$.phases[0].name").value("BACKLOG"))
+                .andExpect(jsonPath("$.phases[0].tickets.length()").value(2))
+                .andExpect(jsonPath("$.phases[0].tickets[0].id").value(ticketId0.toString()))
+                .andExpect(jsonPath("$.phases[0].tickets[0].assignees[0].id").value(userId.toString()))
+                .andExpect(jsonPath("$.phases[0].tickets[0].assignees[0].name").value(userName))
+                .andExpect(jsonPath("$.phases[0].tickets[0].assignees[0].email").value(userEmail))
+                .andExpect(jsonPath("$.phases[0].tickets[1].id").value(ticketId1.toString()));
+
+        // the board is cached now and has to follow the events
+        UUID backlogId = UUID.fromString(JsonPath.parse(restMinion.getPhasesByProjectIdAsJson(jwt, buildUpProjectId)).read("$[0].id"));
+        UUID doneId = restMinion.postPhase(jwt, buildUpProjectId, "DONE", backlogId);
+        restMinion.patchTicket(jwt, ticketId1, "second, renamed", null, null, doneId, List.of(userId));
+        restMinion.patchTicket(jwt, ticketId0, null, null, null, null, List.of());
+
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/board")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Authorization", jwt))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phases.length()").value(2))
+                .andExpect(jsonPath("$.phases[0].id").value(backlogId.toString()))
+                .andExpect(jsonPath("$.phases[0].tickets.length()").value(1))
+                .andExpect(jsonPath("$.phases[0].tickets[0].assignees.length()").value(0))
+                .andExpect(jsonPath("$.phases[1].id").value(doneId.toString()))
+                .andExpect(jsonPath("$.phases[1].name").value("DONE"))
+                .andExpect(jsonPath("$.phases[1].tickets[0].id").value(ticketId1.toString()))
+                .andExpect(jsonPath("$.phases[1].tickets[0].title").value("second, renamed"))
+                .andExpect(jsonPath("$.phases[1].tickets[0].assignees[0].id").value(userId.toString()));
+
+        restMinion.postUser("Geralt", "il.brucho@netflix.com", "DiesDasAnanasiospjefosias9999023");
+        String foreignJwt = restMinion.authenticateUser("il.brucho@netflix.com", "DiesDasAnanasiospjefosias9999023");
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/board")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Authorization", foreignJwt))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     public void getNonExistingProjectTest() throws Exception {
         MvcResult getResult =
@@ -189,7 +243,9 @@ public class ProjectControllerTests {
                         delete("/projects/" + buildUpProjectId)
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .header("Authorization", jwt))
-                .andExpect(status().isNoContent())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.projectId").value(buildUpProjectId.toString()))
+                .andExpect(jsonPath("$.completed").value(false))
                 .andReturn();
 
         // test ProjectDeletedEvent
@@ -201,6 +257,38 @@ public class ProjectControllerTests {
         assertThrows(NoProjectFoundException.class, () -> projectDomainService.getProjectById(buildUpProjectId));
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteProjectInBackgroundTest() throws Exception {
+        // the modules purge the project on async threads in their own transactions, so the project has to be committed
+        MvcResult deleteResult =
+                mockMvc.perform(
+                                delete("/projects/" + buildUpProjectId)
+                                        .header("Authorization", jwt))
+                        .andExpect(status().isAccepted())
+                        .andReturn();
+        String location = deleteResult.getResponse().getHeader("Location");
+        assertNotNull(location);
+        assertTrue(location.endsWith("/projects/" + buildUpProjectId + "/deletion"));
+
+        // hidden at once
+        assertThrows(NoProjectFoundException.class, () -> projectDomainService.getProjectById(buildUpProjectId));
+
+        // removed once every module has purged its part
+        await().until(() -> projectDomainService.getDeletionJobByProjectId(buildUpProjectId).isCompleted());
+        assertFalse(projectRepository.existsById(buildUpProjectId));
+
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/deletion")
+                                .header("Authorization", jwt))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(buildUpProjectId.toString()))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.purgedMembershipCount").value(1))
+                .andExpect(jsonPath("$.purgedTicketCount").value(0))
+                .andExpect(jsonPath("$.purgedBoardRowCount").exists());
+    }
+
     @Test
     public void patchProjectTest() throws Exception {
         String newName = "Hallo";
@@ -4,17 +4,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import com.kett.TicketSystem.membership.domain.Role;
 import com.kett.TicketSystem.membership.domain.State;
+import com.kett.TicketSystem.membership.domain.events.MembershipDeletedEvent;
 import com.kett.TicketSystem.membership.repository.MembershipRepository;
+import com.kett.TicketSystem.phase.domain.Phase;
 import com.kett.TicketSystem.phase.repository.PhaseRepository;
 import com.kett.TicketSystem.project.repository.ProjectRepository;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchEntryDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPostDto;
+import com.kett.TicketSystem.ticket.application.dto.TicketBatchPutPhaseDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
+import com.kett.TicketSystem.ticket.domain.ProjectMemberCache;
 import com.kett.TicketSystem.ticket.domain.Ticket;
 import com.kett.TicketSystem.ticket.domain.TicketDomainService;
 import com.kett.TicketSystem.ticket.domain.events.TicketAssignedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketCreatedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketDeletedEvent;
 import com.kett.TicketSystem.ticket.domain.events.TicketPhaseUpdatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketUnassignedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketsCreatedEvent;
+import com.kett.TicketSystem.ticket.domain.events.TicketsPhaseUpdatedEvent;
 import com.kett.TicketSystem.ticket.domain.exceptions.NoTicketFoundException;
 import com.kett.TicketSystem.ticket.repository.TicketRepository;
 import com.kett.TicketSystem.user.repository.UserRepository;
@@ -27,11 +36,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.Cookie;
@@ -39,11 +50,18 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -58,6 +76,7 @@ public class TicketControllerTests {
     private final ApplicationEventPublisher eventPublisher;
     private final EventCatcher eventCatcher;
     private final TicketDomainService ticketDomainService;
+    private final ProjectMemberCache projectMemberCache;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
@@ -97,6 +116,7 @@ public class TicketControllerTests {
             ApplicationEventPublisher eventPublisher,
             EventCatcher eventCatcher,
             TicketDomainService ticketDomainService,
+            ProjectMemberCache projectMemberCache,
             TicketRepository ticketRepository,
             UserRepository userRepository,
             ProjectRepository projectRepository,
@@ -110,6 +130,7 @@ public class TicketControllerTests {
         this.eventPublisher = eventPublisher;
         this.eventCatcher = eventCatcher;
         this.ticketDomainService = ticketDomainService;
+        this.projectMemberCache = projectMemberCache;
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
         this.membershipRepository = membershipRepository;
@@ -204,6 +225,68 @@ public class TicketControllerTests {
                         .andReturn();
     }
 
+    @Test
+    public void ticketEntityTagTest() throws Exception {
+        UUID ticketId = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, new ArrayList<>()
+        );
+        ticketRepository.flush();
+
+        MvcResult getResult =
+                mockMvc.perform(
+                                get("/tickets/" + ticketId)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                        .andExpect(jsonPath("$.version").value(0))
+                        .andReturn();
+        String eTag = getResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult notModifiedResult =
+                mockMvc.perform(
+                                get("/tickets/" + ticketId)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .header("Authorization", jwt0)
+                                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                        .andExpect(status().isNotModified())
+                        .andReturn();
+        assertEquals("", notModifiedResult.getResponse().getContentAsString());
+
+        TicketPatchDto ticketPatchDto = new TicketPatchDto("new title", null, null, null, null);
+        mockMvc.perform(
+                        patch("/tickets/" + ticketId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(ticketPatchDto))
+                                .header("Authorization", jwt0)
+                                .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(
+                        patch("/tickets/" + ticketId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(ticketPatchDto))
+                                .header("Authorization", jwt0)
+                                .header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isNoContent());
+        ticketRepository.flush();
+
+        mockMvc.perform(
+                        get("/tickets/" + ticketId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Authorization", jwt0)
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("new title"));
+        mockMvc.perform(
+                        patch("/tickets/" + ticketId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(ticketPatchDto))
+                                .header("Authorization", jwt0)
+                                .header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     public void getTicketByPhaseIdQueryTest() throws Exception {
         UUID ticketId0 = restMinion.postTicket(
@@ -338,6 +421,165 @@ public class TicketControllerTests {
                         .andReturn();
     }
 
+    @Test
+    public void getTicketsByProjectIdQueryWithCursorTest() throws Exception {
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blub", "asdlkfjaslkdfasdf", dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId2 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, new ArrayList<>()
+        );
+
+        // first page
+        MvcResult firstPageResult =
+                mockMvc.perform(
+                                get("/tickets" )
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .queryParam("project-id", buildUpProjectId.toString())
+                                        .queryParam("limit", "2")
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$").isArray())
+                        .andExpect(jsonPath("$.length()").value(2))
+                        .andExpect(jsonPath("$[0].id").value(ticketId0.toString()))
+                        .andExpect(jsonPath("$[1].id").value(ticketId1.toString()))
+                        .andReturn();
+        String nextCursor = firstPageResult.getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER);
+        assertNotNull(nextCursor);
+
+        // second and last page
+        MvcResult secondPageResult =
+                mockMvc.perform(
+                                get("/tickets" )
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .queryParam("project-id", buildUpProjectId.toString())
+                                        .queryParam("limit", "2")
+                                        .queryParam("cursor", nextCursor)
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].id").value(ticketId2.toString()))
+                        .andReturn();
+        assertNull(secondPageResult.getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER));
+
+        // malformed cursor
+        mockMvc.perform(
+                        get("/tickets" )
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("cursor", "not-a-cursor")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTicketsByCombinedQueryTest() throws Exception {
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+
+        restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, new ArrayList<>()
+        );
+        restMinion.postTicket(
+                jwt0, buildUpProjectId, "Fix the Login Page", "asdlkfjaslkdfasdf", dateOfTomorrow.plusDays(7), assigneeIds
+        );
+        UUID ticketId2 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "login throws 500", "qwertzuiop", dateOfTomorrow, assigneeIds
+        );
+
+        mockMvc.perform(
+                        get("/tickets" )
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("assignee-id", userId1.toString())
+                                .queryParam("title", "LOGIN")
+                                .queryParam("due-before", dateOfTomorrow.plusDays(1).toString())
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ticketId2.toString()));
+
+        mockMvc.perform(
+                        get("/tickets" )
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("title", "%")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(
+                        get("/tickets" )
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("title", "login")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void searchTicketsTest() throws Exception {
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "Update dependencies", "the login page depends on an old library", dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "Login page throws 500", "happens on every second login attempt", dateOfTomorrow, new ArrayList<>()
+        );
+        restMinion.postTicket(
+                jwt0, buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, new ArrayList<>()
+        );
+
+        // title matches outrank description matches
+        mockMvc.perform(
+                        get("/tickets/search")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("q", "LOGIN page")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ticketId1.toString()))
+                .andExpect(jsonPath("$[1].id").value(ticketId0.toString()));
+
+        // paginated
+        mockMvc.perform(
+                        get("/tickets/search")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("q", "login")
+                                .queryParam("offset", "1")
+                                .queryParam("limit", "1")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ticketId0.toString()));
+
+        // patched and deleted tickets are reindexed
+        restMinion.patchTicket(jwt0, ticketId0, "Update dependencies", "nothing to see here", null, null, null);
+        mockMvc.perform(
+                        delete("/tickets/" + ticketId1)
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(
+                        get("/tickets/search")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("q", "login")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNotFound());
+
+        // only project members may search
+        mockMvc.perform(
+                        get("/tickets/search")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .queryParam("project-id", buildUpProjectId.toString())
+                                .queryParam("q", "dependencies")
+                                .header("Authorization", jwt2))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     public void postTicketTest() throws Exception {
         eventCatcher.catchEventOfType(TicketCreatedEvent.class);
@@ -377,6 +619,94 @@ public class TicketControllerTests {
         assertTrue(ticket.getCreationTime().isBefore(LocalDateTime.now()));
     }
 
+    @Test
+    public void postTicketBatchTest() throws Exception {
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+        List<TicketBatchEntryDto> ticketBatchEntryDtos = new ArrayList<>();
+        ticketBatchEntryDtos.add(new TicketBatchEntryDto(ticketTitle0, ticketDescription0, dateOfTomorrow, assigneeIds));
+        ticketBatchEntryDtos.add(new TicketBatchEntryDto("blub", "asdlkfjaslkdfasdf", dateOfTomorrow, new ArrayList<>()));
+        ticketBatchEntryDtos.add(new TicketBatchEntryDto("blab", "qwertzuiop", null, assigneeIds));
+        TicketBatchPostDto ticketBatchPostDto = new TicketBatchPostDto(buildUpProjectId, ticketBatchEntryDtos);
+
+        eventCatcher.catchEventOfType(TicketsCreatedEvent.class);
+        MvcResult postResult =
+                mockMvc.perform(
+                                post("/tickets/batch")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(ticketBatchPostDto))
+                                        .header("Authorization", jwt0))
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$").isArray())
+                        .andExpect(jsonPath("$.length()").value(3))
+                        .andExpect(jsonPath("$[0].title").value(ticketTitle0))
+                        .andExpect(jsonPath("$[0].assigneeIds[0]").value(userId1.toString()))
+                        .andExpect(jsonPath("$[1].title").value("blub"))
+                        .andExpect(jsonPath("$[2].title").value("blab"))
+                        .andReturn();
+        String postResponse = postResult.getResponse().getContentAsString();
+        UUID phaseId = UUID.fromString(JsonPath.parse(postResponse).read("$[0].phaseId"));
+
+        // test event
+        await().until(eventCatcher::hasCaughtEvent);
+        TicketsCreatedEvent ticketsCreatedEvent = (TicketsCreatedEvent) eventCatcher.getEvent();
+        assertEquals(3, ticketsCreatedEvent.getTicketIds().size());
+        assertEquals(buildUpProjectId, ticketsCreatedEvent.getProjectId());
+        assertEquals(phaseId, ticketsCreatedEvent.getPhaseId());
+        assertEquals(userId0, ticketsCreatedEvent.getUserId());
+
+        // test instances
+        assertEquals(3, phaseRepository.findById(phaseId).orElseThrow().getTicketCount());
+        ticketsCreatedEvent.getTicketIds().forEach(ticketId ->
+                assertEquals(buildUpProjectId, ticketDomainService.getTicketById(ticketId).getProjectId())
+        );
+
+        // assignee is not a project member
+        List<UUID> foreignAssigneeIds = new ArrayList<>();
+        foreignAssigneeIds.add(userId2);
+        List<TicketBatchEntryDto> invalidTicketBatchEntryDtos = new ArrayList<>();
+        invalidTicketBatchEntryDtos.add(new TicketBatchEntryDto("blub", "asdlkfjaslkdfasdf", dateOfTomorrow, new ArrayList<>()));
+        invalidTicketBatchEntryDtos.add(new TicketBatchEntryDto("blab", "qwertzuiop", dateOfTomorrow, foreignAssigneeIds));
+        mockMvc.perform(
+                        post("/tickets/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TicketBatchPostDto(buildUpProjectId, invalidTicketBatchEntryDtos)))
+                                .header("Authorization", jwt0))
+                .andExpect(status().isConflict());
+        assertEquals(3, phaseRepository.findById(phaseId).orElseThrow().getTicketCount());
+    }
+
+    @Test
+    public void projectMemberCacheTest() throws Exception {
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+
+        // first lookup loads the project, second one is served from memory
+        restMinion.postTicket(jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, assigneeIds);
+        assertEquals(1, projectMemberCache.getMissCount());
+        restMinion.postTicket(jwt0, buildUpProjectId, "blub", "asdlkfjaslkdfasdf", dateOfTomorrow, assigneeIds);
+        assertEquals(1, projectMemberCache.getMissCount());
+        assertEquals(1, projectMemberCache.getHitCount());
+
+        // not a member yet
+        List<UUID> foreignAssigneeIds = new ArrayList<>();
+        foreignAssigneeIds.add(userId2);
+        TicketPostDto ticketPostDto = new TicketPostDto(buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, foreignAssigneeIds);
+        mockMvc.perform(
+                        post("/tickets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(ticketPostDto))
+                                .header("Authorization", jwt0))
+                .andExpect(status().isConflict());
+
+        // accepted membership is applied to the cached project without reloading it
+        UUID membershipId = restMinion.postMembership(jwt0, buildUpProjectId, userId2, Role.MEMBER);
+        restMinion.putMembershipState(jwt2, membershipId, State.ACCEPTED);
+        await().until(() -> projectMemberCache.areProjectMembers(buildUpProjectId, foreignAssigneeIds));
+        restMinion.postTicket(jwt0, buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, foreignAssigneeIds);
+        assertEquals(1, projectMemberCache.getMissCount());
+    }
+
     @Test
     public void patchTicketNameAndDescriptionAndDueTimeTest() throws Exception {
         UUID ticketId = restMinion.postTicket(
@@ -478,6 +808,276 @@ public class TicketControllerTests {
         assertEquals(dateOfTomorrow, ticket.getDueTime());
     }
 
+    @Test
+    public void putTicketPhasesTest() throws Exception {
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blub", "asdlkfjaslkdfasdf", dateOfTomorrow, new ArrayList<>()
+        );
+        UUID ticketId2 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, new ArrayList<>()
+        );
+        UUID backlogId = ticketDomainService.getTicketById(ticketId0).getPhaseId();
+        UUID donePhaseId = restMinion.postPhase(jwt0, buildUpProjectId, "DONE", backlogId);
+
+        eventCatcher.catchEventOfType(TicketsPhaseUpdatedEvent.class);
+        List<UUID> ticketIds = new ArrayList<>();
+        ticketIds.add(ticketId0);
+        ticketIds.add(ticketId2);
+        mockMvc.perform(
+                        put("/tickets/batch/phase")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TicketBatchPutPhaseDto(donePhaseId, ticketIds)))
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNoContent());
+
+        // test event
+        await().until(eventCatcher::hasCaughtEvent);
+        TicketsPhaseUpdatedEvent ticketsPhaseUpdatedEvent = (TicketsPhaseUpdatedEvent) eventCatcher.getEvent();
+        assertEquals(buildUpProjectId, ticketsPhaseUpdatedEvent.getProjectId());
+        assertEquals(donePhaseId, ticketsPhaseUpdatedEvent.getNewPhaseId());
+        assertEquals(1, ticketsPhaseUpdatedEvent.getTicketIdsByOldPhaseId().size());
+        assertEquals(2, ticketsPhaseUpdatedEvent.getTicketIdsByOldPhaseId().get(backlogId).size());
+
+        // test instances
+        assertEquals(donePhaseId, ticketDomainService.getTicketById(ticketId0).getPhaseId());
+        assertEquals(backlogId, ticketDomainService.getTicketById(ticketId1).getPhaseId());
+        assertEquals(donePhaseId, ticketDomainService.getTicketById(ticketId2).getPhaseId());
+        assertEquals(1, phaseRepository.findById(backlogId).orElseThrow().getTicketCount());
+        assertEquals(2, phaseRepository.findById(donePhaseId).orElseThrow().getTicketCount());
+
+        // unknown ticket
+        List<UUID> unknownTicketIds = new ArrayList<>();
+        unknownTicketIds.add(ticketId1);
+        unknownTicketIds.add(UUID.randomUUID());
+        mockMvc.perform(
+                        put("/tickets/batch/phase")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TicketBatchPutPhaseDto(donePhaseId, unknownTicketIds)))
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNotFound());
+        assertEquals(backlogId, ticketDomainService.getTicketById(ticketId1).getPhaseId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void postTicketsConcurrentlyTest() throws Exception {
+        // the requests run on threads of their own, so the project and its phase have to be committed
+        await().until(() -> !phaseRepository.findByProjectId(buildUpProjectId).isEmpty());
+        UUID phaseId = phaseRepository.findByProjectId(buildUpProjectId).get(0).getId();
+        Long phaseVersion = phaseRepository.findById(phaseId).orElseThrow().getVersion();
+
+        int ticketCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(ticketCount);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<UUID>> ticketIds = new ArrayList<>();
+        for (int i = 0; i < ticketCount; i++) {
+            String title = ticketTitle0 + " " + i;
+            ticketIds.add(executorService.submit(() -> {
+                startSignal.await();
+                return restMinion.postTicket(jwt0, buildUpProjectId, title, ticketDescription0, null, new ArrayList<>());
+            }));
+        }
+        startSignal.countDown();
+
+        // every request is created, none of them conflicts on the ticket count of the shared phase
+        for (Future<UUID> ticketId : ticketIds) {
+            assertNotNull(ticketId.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        Phase phase = phaseRepository.findById(phaseId).orElseThrow();
+        assertEquals(ticketCount, phase.getTicketCount());
+        assertEquals(phaseVersion, phase.getVersion());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportTicketsByProjectIdTest() throws Exception {
+        // the export is written on an async thread in its own transaction, so the tickets have to be committed
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, assigneeIds
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blub, \"blab\"", "qwertzuiop", null, new ArrayList<>()
+        );
+
+        // ndjson
+        MvcResult ndjsonResult =
+                mockMvc.perform(
+                                get("/projects/" + buildUpProjectId + "/tickets/export")
+                                        .queryParam("format", "ndjson")
+                                        .header("Authorization", jwt0))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        String ndjsonResponse =
+                mockMvc.perform(asyncDispatch(ndjsonResult))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        String[] ndjsonLines = ndjsonResponse.split("\n");
+        assertEquals(2, ndjsonLines.length);
+        assertEquals(ticketId0.toString(), JsonPath.parse(ndjsonLines[0]).read("$.id"));
+        assertEquals(ticketTitle0, JsonPath.parse(ndjsonLines[0]).read("$.title"));
+        assertEquals(userId1.toString(), JsonPath.parse(ndjsonLines[0]).read("$.assigneeIds[0]"));
+        assertEquals(ticketId1.toString(), JsonPath.parse(ndjsonLines[1]).read("$.id"));
+        assertEquals(0, (Integer) JsonPath.parse(ndjsonLines[1]).read("$.assigneeIds.length()"));
+
+        // csv
+        MvcResult csvResult =
+                mockMvc.perform(
+                                get("/projects/" + buildUpProjectId + "/tickets/export")
+                                        .queryParam("format", "csv")
+                                        .header("Authorization", jwt1))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        String csvResponse =
+                mockMvc.perform(asyncDispatch(csvResult))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        String[] csvLines = csvResponse.split("\r\n");
+        assertEquals(3, csvLines.length);
+        assertEquals("id,title,description,creationTime,dueTime,phaseId,assigneeIds", csvLines[0]);
+        assertTrue(csvLines[1].startsWith(ticketId0.toString() + "," + ticketTitle0 + "," + ticketDescription0 + ","));
+        assertTrue(csvLines[1].endsWith("," + userId1));
+        assertTrue(csvLines[2].startsWith(ticketId1.toString() + ",\"blub, \"\"blab\"\"\",qwertzuiop,"));
+
+        // not a project member
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/tickets/export")
+                                .header("Authorization", jwt2))
+                .andExpect(status().isForbidden());
+
+        // unknown format
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/tickets/export")
+                                .queryParam("format", "xml")
+                                .header("Authorization", jwt0))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void importTicketsTest() throws Exception {
+        UUID importId = UUID.randomUUID();
+        String ndjsonBody =
+                "{\"title\":\"" + ticketTitle0 + "\",\"description\":\"" + ticketDescription0 + "\",\"assigneeIds\":[\"" + userId1 + "\"]}\n" +
+                "{\"title\":\"\"}\n" +
+                "not json\n" +
+                "{\"title\":\"blub\",\"assigneeIds\":[\"" + userId2 + "\"]}\n" +
+                "\n" +
+                "{\"title\":\"blab\",\"dueTime\":\"" + dateOfTomorrow + "\"}\n";
+
+        mockMvc.perform(
+                        post("/projects/" + buildUpProjectId + "/tickets/import")
+                                .contentType("application/x-ndjson")
+                                .queryParam("import-id", importId.toString())
+                                .content(ndjsonBody)
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importId").value(importId.toString()))
+                .andExpect(jsonPath("$.processedRowCount").value(5))
+                .andExpect(jsonPath("$.skippedRowCount").value(0))
+                .andExpect(jsonPath("$.importedTicketCount").value(2))
+                .andExpect(jsonPath("$.failedRowCount").value(3))
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].rowNumber").value(2))
+                .andExpect(jsonPath("$.errors[1].rowNumber").value(3))
+                .andExpect(jsonPath("$.errors[2].rowNumber").value(4));
+        assertEquals(2, ticketRepository.findByProjectId(buildUpProjectId).size());
+
+        // resuming a finished import skips every row
+        mockMvc.perform(
+                        post("/projects/" + buildUpProjectId + "/tickets/import")
+                                .contentType("application/x-ndjson")
+                                .queryParam("import-id", importId.toString())
+                                .content(ndjsonBody)
+                                .header("Authorization", jwt0))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skippedRowCount").value(5))
+                .andExpect(jsonPath("$.importedTicketCount").value(0));
+        assertEquals(2, ticketRepository.findByProjectId(buildUpProjectId).size());
+
+        // progress
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/tickets/imports/" + importId)
+                                .header("Authorization", jwt1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedRowCount").value(5))
+                .andExpect(jsonPath("$.importedTicketCount").value(2))
+                .andExpect(jsonPath("$.failedRowCount").value(3))
+                .andExpect(jsonPath("$.completed").value(true));
+
+        // csv
+        String csvBody = "title,description,assigneeIds\r\n\"blub, \"\"blab\"\"\",\"two\nlines\"," + userId1 + "\r\n";
+        mockMvc.perform(
+                        post("/projects/" + buildUpProjectId + "/tickets/import")
+                                .contentType("text/csv")
+                                .content(csvBody)
+                                .header("Authorization", jwt1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedTicketCount").value(1))
+                .andExpect(jsonPath("$.failedRowCount").value(0));
+        assertTrue(
+                ticketRepository
+                        .findByProjectId(buildUpProjectId)
+                        .stream()
+                        .anyMatch(ticket -> ticket.getTitle().equals("blub, \"blab\"") && ticket.getDescription().equals("two\nlines"))
+        );
+
+        // not a project member
+        mockMvc.perform(
+                        post("/projects/" + buildUpProjectId + "/tickets/import")
+                                .contentType("application/x-ndjson")
+                                .content(ndjsonBody)
+                                .header("Authorization", jwt2))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(
+                        get("/projects/" + buildUpProjectId + "/tickets/imports/" + UUID.randomUUID())
+                                .header("Authorization", jwt0))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void unassignOnMembershipDeletedTest() throws Exception {
+        // the event is handled asynchronously in its own transaction, so the tickets have to be committed
+        List<UUID> assigneeIds = new ArrayList<>();
+        assigneeIds.add(userId1);
+        UUID ticketId0 = restMinion.postTicket(
+                jwt0, buildUpProjectId, ticketTitle0, ticketDescription0, dateOfTomorrow, assigneeIds
+        );
+        UUID ticketId1 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blub", "asdlkfjaslkdfasdf", dateOfTomorrow, assigneeIds
+        );
+        UUID ticketId2 = restMinion.postTicket(
+                jwt0, buildUpProjectId, "blab", "qwertzuiop", dateOfTomorrow, new ArrayList<>()
+        );
+        Long version0 = ticketDomainService.getTicketById(ticketId0).getVersion();
+        Long version2 = ticketDomainService.getTicketById(ticketId2).getVersion();
+
+        eventCatcher.catchEventOfType(TicketUnassignedEvent.class);
+        eventPublisher.publishEvent(new MembershipDeletedEvent(UUID.randomUUID(), buildUpProjectId, userId1));
+
+        // test event
+        await().until(eventCatcher::hasCaughtEvent);
+        TicketUnassignedEvent ticketUnassignedEvent = (TicketUnassignedEvent) eventCatcher.getEvent();
+        assertEquals(buildUpProjectId, ticketUnassignedEvent.getProjectId());
+        assertEquals(userId1, ticketUnassignedEvent.getAssigneeId());
+        assertTrue(ticketUnassignedEvent.getTicketId().equals(ticketId0) || ticketUnassignedEvent.getTicketId().equals(ticketId1));
+
+        // test instances
+        await().until(() -> ticketRepository.findIdsByAssigneeIdAndProjectId(userId1, buildUpProjectId).isEmpty());
+        assertEquals(version0 + 1, ticketDomainService.getTicketById(ticketId0).getVersion());
+        assertEquals(version2, ticketDomainService.getTicketById(ticketId2).getVersion());
+    }
+
     @Test
     public void deleteTicketTest() throws Exception {
         UUID ticketId = restMinion.postTicket(
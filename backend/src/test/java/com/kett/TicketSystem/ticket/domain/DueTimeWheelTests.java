@@ -0,0 +1,91 @@
+package com.kett.TicketSystem.ticket.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DueTimeWheelTests {
+    private long startTick;
+    private DueTimeWheel dueTimeWheel;
+
+    private UUID ticketId0;
+    private UUID ticketId1;
+    private UUID ticketId2;
+
+    @BeforeEach
+    public void buildUp() {
+        startTick = 1_700_000_000L;
+        dueTimeWheel = new DueTimeWheel(startTick);
+
+        ticketId0 = UUID.randomUUID();
+        ticketId1 = UUID.randomUUID();
+        ticketId2 = UUID.randomUUID();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        startTick = 0;
+        dueTimeWheel = null;
+
+        ticketId0 = null;
+        ticketId1 = null;
+        ticketId2 = null;
+    }
+
+    @Test
+    public void scheduleAndExpireTest() {
+        assertTrue(dueTimeWheel.schedule(ticketId0, startTick + 1));
+        assertTrue(dueTimeWheel.schedule(ticketId1, startTick + 5));
+        assertEquals(2, dueTimeWheel.getSize());
+
+        assertEquals(List.of(ticketId0), dueTimeWheel.advanceTo(startTick + 1));
+        assertTrue(dueTimeWheel.advanceTo(startTick + 4).isEmpty());
+        assertEquals(List.of(ticketId1), dueTimeWheel.advanceTo(startTick + 10));
+        assertEquals(0, dueTimeWheel.getSize());
+    }
+
+    @Test
+    public void schedulePastTickTest() {
+        assertFalse(dueTimeWheel.schedule(ticketId0, startTick));
+        assertFalse(dueTimeWheel.schedule(ticketId0, startTick - 100));
+        assertEquals(0, dueTimeWheel.getSize());
+    }
+
+    @Test
+    public void cascadeTest() {
+        // one entry per level, the last one beyond the reach of the top level
+        long[] dueTicks = { startTick + 70, startTick + 5_000, startTick + 300_000, startTick + 100_000_000_000L };
+        UUID[] ticketIds = { ticketId0, ticketId1, ticketId2, UUID.randomUUID() };
+        for (int i = 0; i < dueTicks.length; i++) {
+            dueTimeWheel.schedule(ticketIds[i], dueTicks[i]);
+        }
+
+        for (int i = 0; i < dueTicks.length - 1; i++) {
+            assertTrue(dueTimeWheel.advanceTo(dueTicks[i] - 1).isEmpty());
+            assertEquals(List.of(ticketIds[i]), dueTimeWheel.advanceTo(dueTicks[i]));
+        }
+        assertEquals(1, dueTimeWheel.getSize());
+        assertEquals(dueTicks[3], dueTimeWheel.getDueTick(ticketIds[3]).orElseThrow());
+    }
+
+    @Test
+    public void rescheduleAndCancelTest() {
+        dueTimeWheel.schedule(ticketId0, startTick + 10);
+        dueTimeWheel.schedule(ticketId1, startTick + 10);
+        dueTimeWheel.schedule(ticketId2, startTick + 10);
+
+        dueTimeWheel.schedule(ticketId0, startTick + 20);
+        dueTimeWheel.cancel(ticketId1);
+        assertEquals(startTick + 20, dueTimeWheel.getDueTick(ticketId0).orElseThrow());
+        assertTrue(dueTimeWheel.getDueTick(ticketId1).isEmpty());
+
+        assertEquals(List.of(ticketId2), dueTimeWheel.advanceTo(startTick + 10));
+        assertEquals(Set.of(ticketId0), Set.copyOf(dueTimeWheel.advanceTo(startTick + 20)));
+    }
+}
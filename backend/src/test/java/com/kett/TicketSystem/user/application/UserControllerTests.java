@@ -5,6 +5,7 @@ import com.jayway.jsonpath.JsonPath;
 import com.kett.TicketSystem.authentication.application.dto.AuthenticationPostDto;
 import com.kett.TicketSystem.common.domainprimitives.EmailAddress;
 import com.kett.TicketSystem.common.exceptions.NoUserFoundException;
+import com.kett.TicketSystem.user.application.dto.UserBatchPostDto;
 import com.kett.TicketSystem.user.application.dto.UserPatchDto;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import com.kett.TicketSystem.user.domain.User;
@@ -12,6 +13,7 @@ import com.kett.TicketSystem.user.domain.UserDomainService;
 import com.kett.TicketSystem.user.domain.events.UserCreatedEvent;
 import com.kett.TicketSystem.user.domain.events.UserDeletedEvent;
 import com.kett.TicketSystem.user.domain.events.UserPatchedEvent;
+import com.kett.TicketSystem.user.domain.events.UsersCreatedEvent;
 import com.kett.TicketSystem.user.repository.UserRepository;
 import com.kett.TicketSystem.util.EventCatcher;
 import org.junit.jupiter.api.AfterEach;
@@ -27,6 +29,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import javax.servlet.http.Cookie;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -221,6 +224,71 @@ public class UserControllerTests {
         assertEquals(email1, userCreatedEvent1.getEmailAddress().toString());
     }
 
+    @Test
+    public void postUserBatchTest() throws Exception {
+        UserBatchPostDto userBatchPostDto = new UserBatchPostDto(List.of(
+                new UserPostDto(name0, email0, password0),
+                new UserPostDto(name1, email1, password1),
+                new UserPostDto(name2, email2, password2),              // invalid email
+                new UserPostDto(name4, email4.toUpperCase(), password4), // already in use
+                new UserPostDto(name0, email0, password1)               // duplicate within the batch
+        ));
+
+        eventCatcher.catchEventOfType(UsersCreatedEvent.class);
+        MvcResult result =
+                mockMvc.perform(
+                                post("/users/batch")
+                                        .header("Authorization", jwt4)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(userBatchPostDto)))
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$.createdUserCount").value(2))
+                        .andExpect(jsonPath("$.failedUserCount").value(3))
+                        .andExpect(jsonPath("$.elapsedMillis").exists())
+                        .andExpect(jsonPath("$.usersPerSecond").exists())
+                        .andExpect(jsonPath("$.users[0].email").value(email0))
+                        .andExpect(jsonPath("$.users[1].email").value(email1))
+                        .andExpect(jsonPath("$.errors[0].index").value(2))
+                        .andExpect(jsonPath("$.errors[1].index").value(3))
+                        .andExpect(jsonPath("$.errors[2].index").value(4))
+                        .andReturn();
+
+        // test instances
+        String response = result.getResponse().getContentAsString();
+        UUID id0 = UUID.fromString(JsonPath.parse(response).read("$.users[0].id"));
+        UUID id1 = UUID.fromString(JsonPath.parse(response).read("$.users[1].id"));
+        assertEquals(name0, userDomainService.getUserById(id0).getName());
+        assertEquals(name1, userDomainService.getUserById(id1).getName());
+
+        // test UsersCreatedEvent
+        await().until(eventCatcher::hasCaughtEvent);
+        UsersCreatedEvent usersCreatedEvent = (UsersCreatedEvent) eventCatcher.getEvent();
+        assertEquals(List.of(id0, id1), List.copyOf(usersCreatedEvent.getEmailAddressByUserId().keySet()));
+
+        // the passwords were hashed, the created users can log in
+        AuthenticationPostDto authenticationPostDto1 = new AuthenticationPostDto(email1, password1);
+        mockMvc.perform(
+                        post("/authentications")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(authenticationPostDto1)))
+                .andExpect(status().isOk());
+
+        // empty batch
+        mockMvc.perform(
+                        post("/users/batch")
+                                .header("Authorization", jwt4)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new UserBatchPostDto(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        // not authenticated
+        mockMvc.perform(
+                        post("/users/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(userBatchPostDto)))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     public void postInvalidUserTests() throws Exception {
 
@@ -275,6 +343,14 @@ public class UserControllerTests {
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(duplicatePostDto)))
                 .andExpect(status().isConflict());
+
+        // emails are compared case insensitively
+        UserPostDto duplicateUpperCasePostDto = new UserPostDto(name0, email4.toUpperCase(), password0);
+        mockMvc.perform(
+                        post("/users")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(duplicateUpperCasePostDto)))
+                .andExpect(status().isConflict());
     }
 
     @Test
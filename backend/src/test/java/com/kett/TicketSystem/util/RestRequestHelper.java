@@ -14,6 +14,7 @@ import com.kett.TicketSystem.ticket.application.dto.TicketPatchDto;
 import com.kett.TicketSystem.ticket.application.dto.TicketPostDto;
 import com.kett.TicketSystem.user.application.dto.UserPostDto;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -101,6 +102,13 @@ public class RestRequestHelper {
                                         .contentType(MediaType.APPLICATION_JSON))
                         .andReturn();
         String userPostResponse = userPostResult.getResponse().getContentAsString();
+
+        // the replicas of the users are only written once the user is committed
+        if (TestTransaction.isActive()) {
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            TestTransaction.start();
+        }
         return UUID.fromString(JsonPath.parse(userPostResponse).read("$.id"));
     }
     public void deleteUser(String jwt, UUID userId) throws Exception {
@@ -160,7 +168,7 @@ public class RestRequestHelper {
                                 delete("/projects/" + projectId)
                                         .contentType(MediaType.APPLICATION_JSON)
                                         .header("Authorization", jwt))
-                        .andExpect(status().isNoContent())
+                        .andExpect(status().isAccepted())
                         .andReturn();
     }
 